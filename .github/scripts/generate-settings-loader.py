@@ -0,0 +1,266 @@
+#!/usr/bin/env python3
+"""
+Generate src/ramscoop/LunaSettingsLoader.java from data/config/LunaSettings.csv.
+
+Every setting row of the CSV must either be bound to a ModPlugin field in
+BINDINGS below or be listed in UNUSED, and every binding must name a row of a
+supported type; otherwise generation fails (javac then checks that the field's
+Java type matches). The generated loader
+reads each key once, clamps numbers to the CSV's minValue/maxValue, applies the
+binding's scale and falls back to the legacy keys in ALIASES.
+
+Usage:
+  python3 .github/scripts/generate-settings-loader.py          # (re)write the loader
+  python3 .github/scripts/generate-settings-loader.py --check  # exit 1 if it is out of date
+
+Exit code 1 on any error; prints helpful diagnostics.
+"""
+import csv
+import sys
+from pathlib import Path
+
+repo_root = Path(__file__).resolve().parents[2]
+CSV_PATH = repo_root / 'data' / 'config' / 'LunaSettings.csv'
+OUT_PATH = repo_root / 'src' / 'ramscoop' / 'LunaSettingsLoader.java'
+
+# fieldID -> (ModPlugin field, divisor applied after clamping, required)
+# A required key that cannot be read fails the whole load, so it is retried
+# later (LunaLib not ready yet); others keep their previous value.
+BINDINGS = {
+    'ramscoop_enable_fuel': ('enable_fuel', None, True),
+    'ramscoop_enable_supplies': ('enable_supplies', None, True),
+    'nebula_fuel_per_day': ('fuel_per_day', 100, True),
+    'ramscoop_toggle_default_on': ('scoop_toggle_default_on', None, False),
+    'ramscoop_enable_npc_fleets': ('enable_npc_fleets', None, False),
+    'ramscoop_npc_fleets_per_frame': ('npc_fleets_per_frame', None, False),
+    'nebula_percent_fuel_limit': ('nebula_percent_fuel_limit', 100, False),
+    'nebula_hard_fuel_limit': ('nebula_hard_fuel_limit', None, False),
+    'nebula_fuel_cap_margin': ('nebula_fuel_cap_margin', None, False),
+    'ramscoop_percent_supply_limit': ('percent_supply_limit', None, False),
+    'ramscoop_hard_supply_limit': ('hard_supply_limit', None, False),
+    'ramscoop_supply_per_crew': ('supplies_per_crew', None, False),
+    'nebula_crew_usage': ('crew_usage', None, False),
+    'nebula_no_crew_gen': ('no_crew_gen', None, False),
+    'nebula_no_crew_rate_percent': ('no_crew_rate_percent', 100, False),
+    'nebula_no_crew_rate_flat': ('no_crew_rate_flat', None, False),
+    'corona_enable_fuel': ('corona_enable_fuel', None, False),
+    'corona_fuel_per_day': ('corona_fuel_per_day', 100, False),
+    'corona_caps_reuse': ('corona_caps_reuse', None, False),
+    'corona_percent_fuel_limit': ('corona_percent_fuel_limit', 100, False),
+    'corona_hard_fuel_limit': ('corona_hard_fuel_limit', None, False),
+    'corona_fuel_cap_margin': ('corona_fuel_cap_margin', None, False),
+    'hyperspace_enable_fuel': ('hyperspace_enable_fuel', None, False),
+    'hyperspace_fuel_per_day': ('hyperspace_fuel_per_day', 100, False),
+    'hyperspace_percent_fuel_limit': ('hyperspace_percent_fuel_limit', 100, False),
+    'hyperspace_hard_fuel_limit': ('hyperspace_hard_fuel_limit', None, False),
+    'hyperspace_fuel_cap_margin': ('hyperspace_fuel_cap_margin', None, False),
+    'ramscoop_enable_visual_feedback': ('enable_visual_feedback', None, False),
+    'ramscoop_floating_text_scale': ('floating_text_duration', None, False),
+    'ramscoop_notify_nebula_entry': ('notify_nebula_entry', None, False),
+    'ramscoop_notify_nebula_exit': ('notify_nebula_exit', None, False),
+    'ramscoop_notify_corona_entry': ('notify_corona_entry', None, False),
+    'ramscoop_notify_corona_exit': ('notify_corona_exit', None, False),
+    'ramscoop_color_nebula_active_v2': ('color_nebula_active', None, False),
+    'ramscoop_color_nebula_inactive_v2': ('color_nebula_inactive', None, False),
+    'ramscoop_color_corona_active_v2': ('color_corona_active', None, False),
+    'ramscoop_color_corona_inactive_v2': ('color_corona_inactive', None, False),
+}
+
+# Legacy keys read (in order) when the CSV key has no value
+ALIASES = {
+    'nebula_crew_usage': ['ramscoop_crew_usage'],
+    'nebula_no_crew_gen': ['ramscoop_no_crew_gen'],
+    'nebula_no_crew_rate_percent': ['ramscoop_no_crew_rate_percent'],
+    'nebula_no_crew_rate_flat': ['ramscoop_no_crew_rate_flat'],
+}
+
+# CSV rows the code intentionally does not read
+UNUSED = {'nebula_enable_fuel'}
+
+# CSV fieldType -> reader method
+TYPES = {
+    'Boolean': 'readBoolean',
+    'Double': 'readDouble',
+    'Int': 'readInt',
+    'Radio': 'readString',
+    'String': 'readString',
+    'Color': 'readColor',
+}
+
+errors = []
+
+
+def read_rows():
+    with CSV_PATH.open(newline='') as fh:
+        lines = [ln for ln in fh.read().splitlines() if ln.strip() and not ln.strip().startswith('#')]
+    rows = []
+    for row in list(csv.reader(lines))[1:]:
+        if len(row) != 9 or not row[0].strip():
+            continue
+        field_id, _, field_type, _, _, _, min_v, max_v, _ = [c.strip() for c in row]
+        if field_type == 'Header':
+            continue
+        rows.append((field_id, field_type, min_v, max_v))
+    return rows
+
+
+def java_number(value, int_type):
+    return str(int(float(value))) if int_type else repr(float(value))
+
+
+def statement(field_id, field_type, min_v, max_v):
+    field, divisor, required = BINDINGS[field_id]
+    reader = TYPES[field_type]
+    var = {'Boolean': 'b', 'Double': 'd', 'Int': 'i', 'Color': 'c'}.get(field_type, 's')
+    out = [f'        {var} = {reader}("{field_id}");']
+    for alias in ALIASES.get(field_id, []):
+        out.append(f'        if ({var} == null)')
+        out.append(f'            {var} = {reader}("{alias}");')
+    value = var
+    if field_type in ('Double', 'Int') and min_v and max_v:
+        int_type = field_type == 'Int'
+        value = f'clamp({var}, {java_number(min_v, int_type)}, {java_number(max_v, int_type)})'
+    if field_type == 'Double':
+        value = f'(float) {value}' + (f' / {divisor}f' if divisor else '')
+    if required:
+        out.append(f'        if ({var} == null)')
+        out.append(f'            throw new IllegalStateException("LunaLib setting \'{field_id}\' is not available");')
+        out.append(f'        ModPlugin.{field} = {value};')
+    else:
+        out.append(f'        if ({var} != null)')
+        out.append(f'            ModPlugin.{field} = {value};')
+    return out
+
+
+def generate(rows):
+    by_id = {r[0]: r for r in rows}
+    for field_id, field_type, _, _ in rows:
+        if field_id not in BINDINGS and field_id not in UNUSED:
+            errors.append(f"CSV field '{field_id}' is neither bound in BINDINGS nor listed in UNUSED")
+        if field_type not in TYPES:
+            errors.append(f"CSV field '{field_id}' has unsupported type '{field_type}'")
+    for field_id in BINDINGS:
+        if field_id not in by_id:
+            errors.append(f"binding '{field_id}' has no row in {CSV_PATH.relative_to(repo_root)}")
+    for field_id in ALIASES:
+        if field_id not in BINDINGS:
+            errors.append(f"alias entry '{field_id}' is not a bound field")
+    if errors:
+        return None
+
+    # Required keys first, so a failed load has not assigned anything yet
+    ordered = [r for r in rows if r[0] in BINDINGS and BINDINGS[r[0]][2]]
+    ordered += [r for r in rows if r[0] in BINDINGS and not BINDINGS[r[0]][2]]
+    body = []
+    for field_id, field_type, min_v, max_v in ordered:
+        body.extend(statement(field_id, field_type, min_v, max_v))
+
+    return TEMPLATE.replace('@BODY@', '\n'.join(body))
+
+
+TEMPLATE = '''// Generated by .github/scripts/generate-settings-loader.py from
+// data/config/LunaSettings.csv. Do not edit; change the CSV or the generator's
+// binding table and run `npm run generate:settings`.
+package ramscoop;
+
+import java.awt.Color;
+import lunalib.lunaSettings.LunaSettings;
+
+/**
+ * Reads every LunaLib setting of this mod into the {@link ModPlugin} loading
+ * fields. Each key is fetched once; numbers are clamped to the CSV's slider
+ * range and percent sliders are converted to fractions. Legacy keys are read
+ * only when the current key has no value. A key that cannot be read keeps the
+ * field's previous value, except the required ones, which fail the load.
+ */
+final class LunaSettingsLoader {
+
+    private LunaSettingsLoader() {
+    }
+
+    static void load() {
+        Boolean b;
+        Double d;
+        Integer i;
+        String s;
+        Color c;
+@BODY@
+    }
+
+    private static Boolean readBoolean(String key) {
+        try {
+            return LunaSettings.getBoolean(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Double readDouble(String key) {
+        try {
+            return LunaSettings.getDouble(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Integer readInt(String key) {
+        try {
+            return LunaSettings.getInt(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static String readString(String key) {
+        try {
+            return LunaSettings.getString(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Color readColor(String key) {
+        try {
+            return LunaSettings.getColor(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    private static int clamp(int v, int min, int max) {
+        return Math.max(min, Math.min(max, v));
+    }
+}
+'''
+
+
+def main():
+    check = '--check' in sys.argv[1:]
+    source = generate(read_rows())
+    if source is None:
+        print('Settings loader generation failed with the following problems:')
+        for e in errors:
+            print(' -', e)
+        sys.exit(1)
+    rel = OUT_PATH.relative_to(repo_root)
+    current = OUT_PATH.read_text(encoding='utf-8') if OUT_PATH.exists() else None
+    if check:
+        if current != source:
+            print(f'{rel} is out of date with LunaSettings.csv; run: python3 .github/scripts/generate-settings-loader.py')
+            sys.exit(1)
+        print(f'{rel} is up to date')
+        sys.exit(0)
+    if current != source:
+        OUT_PATH.write_text(source, encoding='utf-8', newline='\n')
+        print(f'Wrote {rel}')
+    else:
+        print(f'{rel} already up to date')
+    sys.exit(0)
+
+
+if __name__ == '__main__':
+    main()
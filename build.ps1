@@ -123,6 +123,22 @@ if ($lunaLibJarDir -and (Test-Path $lunaLibJarDir)) {
 # Build the classpath string (use platform-appropriate separator)
 $CLASSPATH_STR = $CLASSPATH -join $cpSep
 
+# Regenerate the LunaLib settings loader from data/config/LunaSettings.csv.
+# Without Python the committed src/ramscoop/LunaSettingsLoader.java is used as is.
+$python = Get-Command python3 -ErrorAction SilentlyContinue
+if (-not $python) { $python = Get-Command python -ErrorAction SilentlyContinue }
+# The Windows Store aliases under WindowsApps only open the Store; treat them as missing
+if ($python -and $python.Source -like "*WindowsApps*") { $python = $null }
+if ($python) {
+    & $python.Source "$PWD/.github/scripts/generate-settings-loader.py"
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "Settings loader generation failed!" -ForegroundColor Red
+        exit 1
+    }
+} else {
+    Write-Host "WARNING: Python not found; using the committed LunaSettingsLoader.java" -ForegroundColor Yellow
+}
+
 # Compile Java files
 Write-Host "Compiling Java files..." -ForegroundColor Cyan
 # Expand Java source files to a list so javac receives individual paths (wildcards behave differently on linux pwsh)
@@ -0,0 +1,153 @@
+package ramscoop;
+
+import ramscoop.fake.FakeWorld;
+
+/**
+ * Test that the steady-state {@code Ramscoop.advance()} tick allocates nothing:
+ * in deep space, in a nebula, in a vanilla and a modded corona, in hyperspace
+ * and while suspended at the caps, and with the tick metrics turned on. Each
+ * case runs with the fleet parked (catch-up evaluations) and with it patrolling
+ * through the same terrain (full terrain checks every evaluation).
+ * Each world is warmed up first (first-tick indexing, JIT), then the thread's
+ * allocated bytes are read across many frames, with both skipped frames and
+ * full evaluations. Each window spans several of the terrain index's
+ * revalidations, so those are covered too. Needs the stand-in Starsector API,
+ * so it is compiled
+ * with the benchmarks rather than with the API-free tests in src/test/java.
+ * Run with: java -cp build/bench ramscoop.AdvanceAllocationTest
+ */
+public class AdvanceAllocationTest {
+
+    private static final int WARMUP_FRAMES = 200000;
+    private static final int MEASURED_FRAMES = 20000;
+    private static final int WINDOWS = 5;
+
+    public static void main(String[] args) {
+        System.out.println("Running AdvanceAllocationTest...");
+
+        try {
+            if (RamscoopBenchmark.allocatedBytes() < 0) {
+                System.out.println("⚠️ Thread allocation counter not available on this JVM; skipped");
+                return;
+            }
+            testDeepSpaceTickAllocatesNothing();
+            testNebulaTickAllocatesNothing();
+            testCoronaTickAllocatesNothing();
+            testModdedCoronaTickAllocatesNothing();
+            testHyperspaceTickAllocatesNothing();
+            testSuspendedTickAllocatesNothing();
+            testMetricsEnabledTickAllocatesNothing();
+            System.out.println("✅ All AdvanceAllocationTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public static void testDeepSpaceTickAllocatesNothing() {
+        assertNoAllocation("deep space", FakeWorld.deepSpace(), true);
+        assertNoAllocation("deep space, moving", FakeWorld.deepSpace().moving(), true);
+    }
+
+    public static void testNebulaTickAllocatesNothing() {
+        assertNoAllocation("nebula", FakeWorld.nebula(), true);
+        assertNoAllocation("nebula, moving", FakeWorld.nebula().moving(), true);
+    }
+
+    public static void testCoronaTickAllocatesNothing() {
+        assertNoAllocation("corona", FakeWorld.corona(), true);
+        assertNoAllocation("corona, moving", FakeWorld.corona().moving(), true);
+    }
+
+    /**
+     * Corona from a plugin subclass: detected through the cached probes instead
+     * of the ring table. Moving, so the fuel check does not pass on catch-up alone
+     */
+    public static void testModdedCoronaTickAllocatesNothing() {
+        assertNoAllocation("modded corona", FakeWorld.moddedCorona(), true);
+        FakeWorld w = FakeWorld.moddedCorona().moving();
+        assertNoAllocation("modded corona, moving", w, true);
+        if (w.player.getFakeCargo().getFuelAdded() <= 0) {
+            throw new RuntimeException("modded corona, moving: not detected, no fuel was added");
+        }
+    }
+
+    public static void testHyperspaceTickAllocatesNothing() {
+        assertNoAllocation("hyperspace", FakeWorld.hyperspace(), true);
+        assertNoAllocation("hyperspace, moving", FakeWorld.hyperspace().moving(), true);
+    }
+
+    /**
+     * Fleet at its caps: the tick re-checks the suspension inputs and, with
+     * visual feedback on, the terrain for the enter/exit cues
+     */
+    public static void testSuspendedTickAllocatesNothing() {
+        assertNoAllocation("suspended", capped(FakeWorld.nebula()), false);
+        assertNoAllocation("suspended, moving", capped(FakeWorld.nebula().moving()), false);
+    }
+
+    /**
+     * Tick metrics on: timing and counting write to preallocated arrays only
+     */
+    public static void testMetricsEnabledTickAllocatesNothing() {
+        ModPlugin.setMetricsEnabled(true);
+        try {
+            assertNoAllocation("metrics enabled", FakeWorld.nebula(), true);
+            assertNoAllocation("metrics enabled, moving", FakeWorld.nebula().moving(), true);
+            if (ModPlugin.getMetrics().getTicks() == 0) {
+                throw new RuntimeException("metrics enabled: no ticks were counted");
+            }
+        } finally {
+            ModPlugin.setMetricsEnabled(false);
+            ModPlugin.resetMetrics();
+        }
+    }
+
+    private static FakeWorld capped(FakeWorld w) {
+        w.player.getFakeCargo().setFuel(w.player.getFakeCargo().getMaxFuel());
+        w.player.getFakeCargo().setSupplies(w.player.getFakeCargo().getMaxCapacity());
+        return w;
+    }
+
+    private static void assertNoAllocation(String what, FakeWorld w, boolean frozen) {
+        w.player.getFakeCargo().setFrozen(frozen);
+        RamscoopBenchmark.applicationLoad();
+        Ramscoop script = new Ramscoop();
+        run(w, script, WARMUP_FRAMES);
+        // Best of several windows: a per-tick allocation shows up in every window,
+        // while one-off JIT activity on this thread does not
+        long overhead = counterOverhead();
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < WINDOWS; i++) {
+            long before = RamscoopBenchmark.allocatedBytes();
+            run(w, script, MEASURED_FRAMES);
+            allocated = Math.min(allocated, RamscoopBenchmark.allocatedBytes() - before - overhead);
+        }
+        if (allocated > 0) {
+            throw new RuntimeException(what + ": " + allocated + " bytes allocated over " + MEASURED_FRAMES
+                    + " frames, expected 0");
+        }
+    }
+
+    // Reading the counter allocates a little itself (the MXBean call's arrays);
+    // the smallest cost once warmed up
+    private static long counterOverhead() {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 20000; i++) {
+            long a = RamscoopBenchmark.allocatedBytes();
+            long b = RamscoopBenchmark.allocatedBytes();
+            best = Math.min(best, b - a);
+        }
+        return best;
+    }
+
+    // Mix of 60 fps frames (mostly skipped) and one-second frames (always evaluated)
+    private static void run(FakeWorld w, Ramscoop script, int frames) {
+        for (int i = 0; i < frames; i++) {
+            float amount = (i & 7) == 0 ? AdaptiveTickScheduler.MAX_INTERVAL : 1f / 60f;
+            w.sector.getFakeClock().advance(amount);
+            w.player.move(amount);
+            script.advance(amount);
+        }
+    }
+}
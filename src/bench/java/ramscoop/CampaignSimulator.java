@@ -0,0 +1,357 @@
+package ramscoop;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.lwjgl.util.vector.Vector2f;
+import ramscoop.fake.FakeCargo;
+import ramscoop.fake.FakeClock;
+import ramscoop.fake.FakeFleet;
+import ramscoop.fake.FakeLocation;
+import ramscoop.fake.FakePlanet;
+import ramscoop.fake.FakeSector;
+import ramscoop.fake.FakeTerrain;
+import ramscoop.fake.FakeWorld;
+
+/**
+ * Headless campaign simulation of the player script. Flies the player fleet
+ * along a path through a fake system with a nebula and a star corona (or
+ * through a patch of deep-hyperspace clouds), for many
+ * simulated days at a given frame time (with jitter) and time acceleration,
+ * while the fleet burns fuel and supplies. Alongside the script, the
+ * simulator keeps its own reference ledger. Each frame it applies the
+ * documented rules (rates, caps, corona precedence, hyperspace) exactly, using the terrain
+ * the fleet is in during that frame. For a parked fleet this reduces to the
+ * closed form {@code min(start + rate * days, cap)}.
+ * <p>
+ * The script samples terrain at its ticks, so each terrain boundary crossing
+ * may be credited up to one tick interval early or late. A run passes when
+ * the script's total fuel and supplies added stay within that bound of the
+ * reference, and the script's generation ledger accounts for exactly what it
+ * added (checked for runs shorter than the ledger's ring). CPU time per
+ * simulated day is reported for each run.
+ * <p>
+ * Usage (from the project root, compiled like the benchmarks):
+ * {@code java -cp build/bench ramscoop.CampaignSimulator [--days N] [filter...]}
+ */
+public class CampaignSimulator {
+
+    // Burn while flying, per day; keeps the fleet from sitting at its caps
+    private static final float FUEL_BURN_PER_DAY = 30f;
+    private static final float SUPPLY_BURN_PER_DAY = 8f;
+    // Minimum crew of FakeWorld.playerFleet
+    private static final float MIN_CREW = 200f;
+    // Frame-time jitter (fraction of the nominal frame)
+    private static final float JITTER = 0.2f;
+
+    /** Fleet position at {@code t} seconds of (accelerated) campaign time. */
+    interface FlightPath {
+        void position(double t, Vector2f out);
+    }
+
+    static final class Run {
+        final String name;
+        final FlightPath path;
+        final float frame;
+        final float acceleration;
+        final boolean hyperspace;
+
+        Run(String name, FlightPath path, float frame, float acceleration) {
+            this(name, path, frame, acceleration, false);
+        }
+
+        Run(String name, FlightPath path, float frame, float acceleration, boolean hyperspace) {
+            this.name = name;
+            this.path = path;
+            this.frame = frame;
+            this.acceleration = acceleration;
+            this.hyperspace = hyperspace;
+        }
+    }
+
+    static final class Outcome {
+        long frames;
+        int crossings;
+        double fuelAdded;
+        double suppliesAdded;
+        double expectedFuel;
+        double expectedSupplies;
+        double fuelBound;
+        double supplyBound;
+        double cpuNanosPerDay;
+        // Totals from the generation ledger; NaN when the run outlasts its ring
+        double ledgerFuel = Double.NaN;
+        double ledgerSupplies = Double.NaN;
+
+        boolean withinBound() {
+            return Math.abs(fuelAdded - expectedFuel) <= fuelBound
+                    && Math.abs(suppliesAdded - expectedSupplies) <= supplyBound;
+        }
+
+        // float sums per day: allow a small relative error
+        boolean ledgerMatches() {
+            if (Double.isNaN(ledgerFuel))
+                return true;
+            return Math.abs(ledgerFuel - fuelAdded) <= 0.01 + 1e-4 * fuelAdded
+                    && Math.abs(ledgerSupplies - suppliesAdded) <= 0.01 + 1e-4 * suppliesAdded;
+        }
+
+        boolean passed() {
+            return withinBound() && ledgerMatches();
+        }
+
+        String result() {
+            if (!withinBound())
+                return "OUT OF BOUND";
+            return ledgerMatches() ? "ok" : "LEDGER MISMATCH";
+        }
+    }
+
+    // System layout: star at the origin with a corona band, nebula to the east
+    static final float STAR_RADIUS = 600f;
+    static final float CORONA_BAND = 400f;
+    static final float NEBULA_X = 20000f;
+    static final int NEBULA_TILES = 40;
+    static final float NEBULA_TILE = 400f;
+    // Hyperspace: cloud cells filling a band around the origin
+    static final float CLOUD_HALF_WIDTH = 4000f;
+
+    static List<Run> runs() {
+        FlightPath parkedNebula = fixed(NEBULA_X, 0f);
+        FlightPath parkedDeepSpace = fixed(-30000f, 0f);
+        FlightPath crossNebula = shuttle(NEBULA_X - 14000f, NEBULA_X + 14000f, 250f);
+        FlightPath coronaOrbit = orbit(STAR_RADIUS + 200f, 0.02);
+        FlightPath coronaFlyby = shuttle(-6000f, 6000f, 300f);
+        FlightPath tour = shuttle(-4000f, NEBULA_X + 10000f, 400f);
+        FlightPath parkedClouds = fixed(0f, 0f);
+        FlightPath crossClouds = shuttle(-10000f, 10000f, 300f);
+
+        float[] frames = { 1f / 30f, 1f / 60f, 1f / 144f };
+        float[] accelerations = { 1f, 3f };
+        List<Run> list = new ArrayList<Run>();
+        for (float frame : frames) {
+            for (float accel : accelerations) {
+                String suffix = String.format(Locale.ROOT, "@%dfps x%.0f", Math.round(1f / frame), accel);
+                list.add(new Run("parked-nebula " + suffix, parkedNebula, frame, accel));
+                list.add(new Run("parked-deep-space " + suffix, parkedDeepSpace, frame, accel));
+                list.add(new Run("cross-nebula " + suffix, crossNebula, frame, accel));
+                list.add(new Run("corona-orbit " + suffix, coronaOrbit, frame, accel));
+                list.add(new Run("corona-flyby " + suffix, coronaFlyby, frame, accel));
+                list.add(new Run("tour " + suffix, tour, frame, accel));
+                list.add(new Run("parked-clouds " + suffix, parkedClouds, frame, accel, true));
+                list.add(new Run("cross-clouds " + suffix, crossClouds, frame, accel, true));
+            }
+        }
+        return list;
+    }
+
+    public static void main(String[] args) {
+        double days = 60;
+        List<String> filters = new ArrayList<String>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--days".equals(args[i]) && i + 1 < args.length) {
+                days = Double.parseDouble(args[++i]);
+            } else {
+                filters.add(args[i]);
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-30s %10s %5s %20s %20s %12s %s", "run", "frames",
+                "cross", "fuel (sim/exp)", "supplies (sim/exp)", "cpu us/day", "result"));
+        int failures = 0;
+        long totalFrames = 0;
+        for (Run run : runs()) {
+            if (!matches(run.name, filters))
+                continue;
+            Outcome o = simulate(run, days, 12345L);
+            totalFrames += o.frames;
+            if (!o.passed()) {
+                failures++;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-30s %10d %5d %9.1f/%-10.1f %9.1f/%-10.1f %12.1f %s",
+                    run.name, o.frames, o.crossings, o.fuelAdded, o.expectedFuel, o.suppliesAdded,
+                    o.expectedSupplies, o.cpuNanosPerDay / 1000.0, o.result()));
+        }
+        System.out.println(totalFrames + " frames simulated");
+        if (failures > 0) {
+            System.err.println("❌ " + failures + " run(s) drifted from the reference beyond the sampling bound"
+                    + " or disagree with the ledger");
+            System.exit(1);
+        }
+        System.out.println("✅ All runs within the sampling bound of the reference");
+    }
+
+    static Outcome simulate(Run run, double days, long seed) {
+        FakeSector sector = FakeWorld.install(true);
+        FakeLocation system = sector.addSystem("sim");
+        FakePlanet star = system.addPlanet(new FakePlanet(0f, 0f, STAR_RADIUS, true));
+        FakeTerrain corona = system.addTerrain(FakeTerrain.corona(star, CORONA_BAND));
+        FakeTerrain nebula = system.addTerrain(FakeTerrain.nebula(NEBULA_X, 0f, NEBULA_TILES, NEBULA_TILES,
+                NEBULA_TILE));
+        FakeLocation hyperspace = sector.getFakeHyperspace();
+        FakeTerrain clouds = hyperspace.addTerrain(FakeTerrain.hyperspace(0f, 0f, 400, 300, 200f));
+        ((FakeTerrain.Hyperspace) clouds.getPlugin()).fill(-CLOUD_HALF_WIDTH, -30000f, CLOUD_HALF_WIDTH, 30000f);
+        FakeFleet player = FakeWorld.playerFleet(0f, 0f);
+        (run.hyperspace ? hyperspace : system).addFleet(player);
+        sector.setPlayerFleet(player);
+        FakeCargo cargo = player.getFakeCargo();
+        FakeClock clock = sector.getFakeClock();
+
+        RamscoopBenchmark.applicationLoad();
+        ModPlugin.loadLedger(sector);
+        Ramscoop script = new Ramscoop();
+        RamscoopConfig cfg = ModPlugin.getConfig();
+        GenerationRates rates = new GenerationRates();
+        rates.update(cfg, cargo.getMaxFuel(), cargo.getMaxCapacity());
+
+        Random random = new Random(seed);
+        Vector2f pos = new Vector2f();
+        Vector2f previous = new Vector2f();
+        run.path.position(0, previous);
+        // The reference fleet's own cargo levels; burn is applied to both fleets alike
+        float refFuelLevel = cargo.getFuel();
+        float refSupplyLevel = cargo.getSupplies();
+        int state = -1;
+        Outcome o = new Outcome();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        double t = 0;
+        double endSeconds = days * FakeClock.SECONDS_PER_DAY;
+        while (t < endSeconds) {
+            float amount = run.frame * (1f + JITTER * (2f * random.nextFloat() - 1f)) * run.acceleration;
+            t += amount;
+            run.path.position(t, pos);
+            player.getVelocity().set((pos.x - previous.x) / amount, (pos.y - previous.y) / amount);
+            player.getLocation().set(pos.x, pos.y);
+            previous.set(pos.x, pos.y);
+
+            // Terrain during this frame; the game applies the nebula burn modifier likewise
+            boolean inClouds = run.hyperspace && clouds.getPlugin().containsEntity(player);
+            boolean inNebula = !run.hyperspace && nebula.getPlugin().containsEntity(player);
+            boolean inCorona = !run.hyperspace && inCorona(corona, player);
+            player.setNebulaModifier(inNebula);
+            int now = inCorona ? 2 : inNebula ? 1 : inClouds ? 3 : 0;
+            if (state >= 0 && now != state) {
+                o.crossings++;
+            }
+            state = now;
+
+            // Consumption on both ledgers, then the reference accrual for this frame
+            float frameDays = clock.convertToDays(amount);
+            if (player.getVelocity().lengthSquared() > 0f) {
+                cargo.setFuel(Math.max(0f, cargo.getFuel() - FUEL_BURN_PER_DAY * frameDays));
+                cargo.setSupplies(Math.max(0f, cargo.getSupplies() - SUPPLY_BURN_PER_DAY * frameDays));
+                refFuelLevel = Math.max(0f, refFuelLevel - FUEL_BURN_PER_DAY * frameDays);
+                refSupplyLevel = Math.max(0f, refSupplyLevel - SUPPLY_BURN_PER_DAY * frameDays);
+            }
+            float fuelAdd = 0f;
+            float supplyAdd = 0f;
+            if (inCorona) {
+                if (cfg.enable_fuel && cfg.corona_enable_fuel)
+                    fuelAdd = clamp(rates.coronaFuelPerDay * frameDays, rates.coronaFuelTarget - refFuelLevel);
+            } else if (inClouds) {
+                if (cfg.enable_fuel && cfg.hyperspace_enable_fuel)
+                    fuelAdd = clamp(rates.hyperspaceFuelPerDay * frameDays,
+                            rates.hyperspaceFuelTarget - refFuelLevel);
+            } else if (inNebula) {
+                if (cfg.enable_supplies) {
+                    float spaceLeft = cargo.getMaxCapacity() - refSupplyLevel;
+                    supplyAdd = clamp(rates.suppliesPerDay(cargo.getCrew(), MIN_CREW) * frameDays,
+                            Math.min(rates.supplyCap - refSupplyLevel, spaceLeft));
+                }
+                if (cfg.enable_fuel)
+                    fuelAdd = clamp(rates.nebulaFuelPerDay * frameDays, rates.nebulaFuelTarget - refFuelLevel);
+            }
+            refFuelLevel += fuelAdd;
+            refSupplyLevel += supplyAdd;
+            o.expectedFuel += fuelAdd;
+            o.expectedSupplies += supplyAdd;
+            double fuelBefore = cargo.getFuelAdded();
+            double suppliesBefore = cargo.getSuppliesAdded();
+
+            clock.advance(amount);
+            script.advance(amount);
+            o.frames++;
+
+            o.fuelAdded += cargo.getFuelAdded() - fuelBefore;
+            o.suppliesAdded += cargo.getSuppliesAdded() - suppliesBefore;
+        }
+        o.cpuNanosPerDay = (threads.getCurrentThreadCpuTime() - cpuStart) / days;
+        // What is still pending reaches the cargo when the game saves
+        double fuelBefore = cargo.getFuelAdded();
+        double suppliesBefore = cargo.getSuppliesAdded();
+        script.flushPending();
+        o.fuelAdded += cargo.getFuelAdded() - fuelBefore;
+        o.suppliesAdded += cargo.getSuppliesAdded() - suppliesBefore;
+        if (days < GenerationLedger.DAYS) {
+            GenerationLedger ledger = ModPlugin.getLedger();
+            o.ledgerFuel = 0;
+            o.ledgerSupplies = 0;
+            for (int d = 0; d <= ledger.getLatestDay(); d++) {
+                o.ledgerFuel += ledger.getNebulaFuel(d) + ledger.getCoronaFuel(d) + ledger.getHyperspaceFuel(d);
+                o.ledgerSupplies += ledger.getNebulaSupplies(d);
+            }
+        }
+
+        // One tick interval of credit per crossing (plus one for start/end), at the highest rate
+        double tickDays = clock.convertToDays(AdaptiveTickScheduler.MAX_INTERVAL + 2f * run.frame * run.acceleration);
+        double maxFuelRate = Math.max(Math.max(rates.nebulaFuelPerDay, rates.coronaFuelPerDay),
+                rates.hyperspaceFuelPerDay);
+        o.fuelBound = (o.crossings + 2) * maxFuelRate * tickDays + 1.0;
+        o.supplyBound = (o.crossings + 2) * rates.suppliesPerDay(cargo.getCrew(), MIN_CREW) * tickDays + 1.0;
+        return o;
+    }
+
+    // The vanilla corona band (the plugin's own containment, fleet radius included)
+    private static boolean inCorona(FakeTerrain corona, FakeFleet fleet) {
+        return corona.getPlugin().containsEntity(fleet);
+    }
+
+    private static float clamp(float add, float room) {
+        float v = Math.min(add, room);
+        return v > 0f ? v : 0f;
+    }
+
+    static FlightPath fixed(final float x, final float y) {
+        return new FlightPath() {
+            public void position(double t, Vector2f out) {
+                out.set(x, y);
+            }
+        };
+    }
+
+    /** Back and forth along the x axis between {@code from} and {@code to} at {@code speed} units/s. */
+    static FlightPath shuttle(final float from, final float to, final float speed) {
+        return new FlightPath() {
+            public void position(double t, Vector2f out) {
+                double span = to - from;
+                double d = (t * speed) % (2 * span);
+                double x = d <= span ? from + d : to - (d - span);
+                out.set((float) x, 0f);
+            }
+        };
+    }
+
+    /** Circle of {@code radius} around the origin at {@code omega} radians/s. */
+    static FlightPath orbit(final float radius, final double omega) {
+        return new FlightPath() {
+            public void position(double t, Vector2f out) {
+                out.set((float) (radius * Math.cos(omega * t)), (float) (radius * Math.sin(omega * t)));
+            }
+        };
+    }
+
+    private static boolean matches(String name, List<String> filters) {
+        if (filters.isEmpty())
+            return true;
+        for (String f : filters) {
+            if (name.contains(f))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,336 @@
+package ramscoop;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import lunalib.lunaSettings.LunaSettings;
+import ramscoop.fake.FakeWorld;
+
+/**
+ * Throughput and allocation benchmarks for the per-frame script and the
+ * settings reload, run against the stand-in Starsector API in src/bench/stubs
+ * and the fakes in ramscoop.fake. Each scenario is warmed up, then measured in
+ * fixed-length rounds; the median round gives ops/s and the thread's allocated
+ * bytes give bytes/op. Results are compared with src/bench/baseline.properties
+ * and the run exits non-zero on a regression.
+ * <p>
+ * Usage (from the project root, after compiling as in docs/BENCHMARKS.md):
+ * {@code java -cp build/bench ramscoop.RamscoopBenchmark [--update-baseline] [--quick] [filter...]}
+ */
+public class RamscoopBenchmark {
+
+    private static final String BASELINE_PATH = "src/bench/baseline.properties";
+    // Frame time for advance() scenarios: the longest scheduler interval, so
+    // every op is a full evaluation rather than a skipped frame
+    private static final float FRAME = AdaptiveTickScheduler.MAX_INTERVAL;
+    // A round may be this much slower than the baseline before it fails; CI
+    // machines vary, so only large drops count
+    private static final double THROUGHPUT_TOLERANCE = Double
+            .parseDouble(System.getProperty("bench.tolerance", "0.5"));
+    // Allowed growth in bytes/op: 25% plus a small absolute slack for JIT noise
+    private static final double ALLOCATION_TOLERANCE = 0.25;
+    private static final double ALLOCATION_SLACK = 16.0;
+
+    /** One benchmarked operation with its own fresh world. */
+    abstract static class Scenario {
+        final String name;
+
+        Scenario(String name) {
+            this.name = name;
+        }
+
+        abstract void setUp();
+
+        abstract void op();
+    }
+
+    /**
+     * advance() of the player script, one full evaluation per op; cargo never
+     * fills up. A parked fleet mostly takes the catch-up path; a moving one
+     * runs the full terrain checks every op.
+     */
+    static final class AdvanceScenario extends Scenario {
+        private final String world;
+        private final boolean metrics;
+        private final boolean moving;
+        private FakeWorld w;
+        private Ramscoop script;
+
+        AdvanceScenario(String name, String world) {
+            this(name, world, false, false);
+        }
+
+        AdvanceScenario(String name, String world, boolean metrics, boolean moving) {
+            super(name);
+            this.world = world;
+            this.metrics = metrics;
+            this.moving = moving;
+        }
+
+        void setUp() {
+            if ("deepSpace".equals(world)) {
+                w = FakeWorld.deepSpace();
+            } else if ("nebula".equals(world)) {
+                w = FakeWorld.nebula();
+            } else if ("corona".equals(world)) {
+                w = FakeWorld.corona();
+            } else if ("moddedCorona".equals(world)) {
+                w = FakeWorld.moddedCorona();
+            } else if ("hyperspace".equals(world)) {
+                w = FakeWorld.hyperspace();
+            } else {
+                w = FakeWorld.manyTerrains(40);
+            }
+            if (moving) {
+                w.moving();
+            }
+            w.player.getFakeCargo().setFrozen(true);
+            applicationLoad();
+            ModPlugin.setMetricsEnabled(metrics);
+            ModPlugin.resetMetrics();
+            script = new Ramscoop();
+        }
+
+        void op() {
+            w.sector.getFakeClock().advance(FRAME);
+            w.player.move(FRAME);
+            script.advance(FRAME);
+        }
+    }
+
+    /** ModPlugin.reloadSettings(); optionally after a LunaLib "settings saved" event. */
+    static final class ReloadScenario extends Scenario {
+        private final boolean changed;
+
+        ReloadScenario(String name, boolean changed) {
+            super(name);
+            this.changed = changed;
+        }
+
+        void setUp() {
+            FakeWorld.deepSpace();
+            applicationLoad();
+            ModPlugin.reloadSettings();
+        }
+
+        void op() {
+            if (changed) {
+                LunaSettings.fireSettingsChanged(ModPlugin.MOD_ID);
+            }
+            ModPlugin.reloadSettings();
+        }
+    }
+
+    private static boolean applicationLoaded = false;
+
+    // Once per JVM, like the game: registers the LunaLib listener
+    static void applicationLoad() {
+        if (!applicationLoaded) {
+            applicationLoaded = true;
+            new ModPlugin().onApplicationLoad();
+        }
+    }
+
+    static final class Result {
+        final String name;
+        final double opsPerSec;
+        final double bytesPerOp;
+
+        Result(String name, double opsPerSec, double bytesPerOp) {
+            this.name = name;
+            this.opsPerSec = opsPerSec;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    static List<Scenario> scenarios() {
+        List<Scenario> list = new ArrayList<Scenario>();
+        list.add(new AdvanceScenario("advance.deepSpace", "deepSpace"));
+        list.add(new AdvanceScenario("advance.nebula", "nebula"));
+        list.add(new AdvanceScenario("advance.corona", "corona"));
+        list.add(new AdvanceScenario("advance.hyperspace", "hyperspace"));
+        list.add(new AdvanceScenario("advance.manyTerrains", "manyTerrains"));
+        list.add(new AdvanceScenario("advance.nebula.metrics", "nebula", true, false));
+        list.add(new AdvanceScenario("advance.deepSpace.moving", "deepSpace", false, true));
+        list.add(new AdvanceScenario("advance.nebula.moving", "nebula", false, true));
+        list.add(new AdvanceScenario("advance.corona.moving", "corona", false, true));
+        list.add(new AdvanceScenario("advance.moddedCorona.moving", "moddedCorona", false, true));
+        list.add(new AdvanceScenario("advance.hyperspace.moving", "hyperspace", false, true));
+        list.add(new AdvanceScenario("advance.manyTerrains.moving", "manyTerrains", false, true));
+        list.add(new AdvanceScenario("advance.nebula.metrics.moving", "nebula", true, true));
+        list.add(new ReloadScenario("reloadSettings.unchanged", false));
+        list.add(new ReloadScenario("reloadSettings.changed", true));
+        return list;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean update = false;
+        boolean quick = false;
+        List<String> filters = new ArrayList<String>();
+        for (String a : args) {
+            if ("--update-baseline".equals(a)) {
+                update = true;
+            } else if ("--quick".equals(a)) {
+                quick = true;
+            } else {
+                filters.add(a);
+            }
+        }
+        int warmupRounds = quick ? 2 : 5;
+        int rounds = quick ? 3 : 10;
+        long roundMillis = quick ? 100 : 200;
+
+        List<Result> results = new ArrayList<Result>();
+        for (Scenario s : scenarios()) {
+            if (!matches(s.name, filters))
+                continue;
+            s.setUp();
+            results.add(measure(s, warmupRounds, rounds, roundMillis));
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-28s %16s %12s", "benchmark", "ops/s", "bytes/op"));
+        for (Result r : results) {
+            System.out.println(String.format(Locale.ROOT, "%-28s %16.0f %12.1f", r.name, r.opsPerSec, r.bytesPerOp));
+        }
+
+        Properties baseline = loadBaseline();
+        if (update) {
+            for (Result r : results) {
+                baseline.setProperty(r.name + ".ops", String.format(Locale.ROOT, "%.0f", r.opsPerSec));
+                baseline.setProperty(r.name + ".bytes", String.format(Locale.ROOT, "%.1f", r.bytesPerOp));
+            }
+            writeBaseline(baseline);
+            System.out.println("Baseline written to " + BASELINE_PATH);
+            return;
+        }
+
+        List<String> regressions = compare(results, baseline);
+        if (!regressions.isEmpty()) {
+            System.err.println("❌ Benchmark regressions:");
+            for (String r : regressions) {
+                System.err.println("  - " + r);
+            }
+            System.exit(1);
+        }
+        System.out.println("✅ No benchmark regressions against " + BASELINE_PATH);
+    }
+
+    static Result measure(Scenario s, int warmupRounds, int rounds, long roundMillis) {
+        for (int i = 0; i < warmupRounds; i++) {
+            runRound(s, roundMillis);
+        }
+        double[] rates = new double[rounds];
+        long ops = 0;
+        long allocBefore = allocatedBytes();
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            long n = runRound(s, roundMillis);
+            rates[i] = n / ((System.nanoTime() - start) / 1e9);
+            ops += n;
+        }
+        long allocAfter = allocatedBytes();
+        Arrays.sort(rates);
+        double bytesPerOp = allocBefore < 0 ? -1 : (double) (allocAfter - allocBefore) / ops;
+        return new Result(s.name, rates[rounds / 2], bytesPerOp);
+    }
+
+    // Run ops until the round's time is up; the clock is read every 256 ops
+    private static long runRound(Scenario s, long roundMillis) {
+        long deadline = System.nanoTime() + roundMillis * 1000000L;
+        long n = 0;
+        do {
+            for (int i = 0; i < 256; i++) {
+                s.op();
+            }
+            n += 256;
+        } while (System.nanoTime() < deadline);
+        return n;
+    }
+
+    /** Bytes allocated by this thread so far, or -1 if the JVM cannot tell. */
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    static List<String> compare(List<Result> results, Properties baseline) {
+        List<String> regressions = new ArrayList<String>();
+        for (Result r : results) {
+            String ops = baseline.getProperty(r.name + ".ops");
+            String bytes = baseline.getProperty(r.name + ".bytes");
+            if (ops == null || bytes == null) {
+                System.out.println("(no baseline for " + r.name + ")");
+                continue;
+            }
+            double minOps = Double.parseDouble(ops) * (1 - THROUGHPUT_TOLERANCE);
+            if (r.opsPerSec < minOps) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.0f ops/s is below %.0f (baseline %s)", r.name,
+                        r.opsPerSec, minOps, ops));
+            }
+            double maxBytes = Double.parseDouble(bytes) * (1 + ALLOCATION_TOLERANCE) + ALLOCATION_SLACK;
+            if (r.bytesPerOp >= 0 && r.bytesPerOp > maxBytes) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.1f bytes/op is above %.1f (baseline %s)", r.name,
+                        r.bytesPerOp, maxBytes, bytes));
+            }
+        }
+        return regressions;
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties p = new Properties();
+        File f = new File(BASELINE_PATH);
+        if (f.exists()) {
+            InputStream in = new FileInputStream(f);
+            try {
+                p.load(in);
+            } finally {
+                in.close();
+            }
+        }
+        return p;
+    }
+
+    // Sorted and without the timestamp Properties.store adds, so diffs stay readable
+    private static void writeBaseline(Properties baseline) throws IOException {
+        List<String> keys = new ArrayList<String>(baseline.stringPropertyNames());
+        Collections.sort(keys);
+        StringBuilder sb = new StringBuilder();
+        sb.append("# RamscoopBenchmark baseline (ops/s, bytes/op); regenerate with --update-baseline\n");
+        for (String k : keys) {
+            sb.append(k).append('=').append(baseline.getProperty(k)).append('\n');
+        }
+        OutputStream out = new FileOutputStream(BASELINE_PATH);
+        try {
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static boolean matches(String name, List<String> filters) {
+        if (filters.isEmpty())
+            return true;
+        for (String f : filters) {
+            if (name.contains(f))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.CargoAPI;
+
+/**
+ * Cargo with fuel, supplies and crew. With {@link #setFrozen(boolean)} the
+ * additions are only counted, so a benchmark fleet never reaches its caps.
+ */
+public class FakeCargo implements CargoAPI {
+    private float fuel;
+    private float supplies;
+    private int crew;
+    private float maxFuel;
+    private float maxCapacity;
+    private float otherCargo = 0f;
+    private boolean frozen = false;
+    private double fuelAdded = 0;
+    private double suppliesAdded = 0;
+    private int writes = 0;
+
+    public FakeCargo(float fuel, float maxFuel, float supplies, float maxCapacity, int crew) {
+        this.fuel = fuel;
+        this.maxFuel = maxFuel;
+        this.supplies = supplies;
+        this.maxCapacity = maxCapacity;
+        this.crew = crew;
+    }
+
+    public float getFuel() { return fuel; }
+    public float getSupplies() { return supplies; }
+    public int getCrew() { return crew; }
+    public float getMaxFuel() { return maxFuel; }
+    public float getMaxCapacity() { return maxCapacity; }
+    public float getSpaceLeft() { return Math.max(0f, maxCapacity - supplies - otherCargo); }
+
+    public void addFuel(float q) {
+        fuelAdded += q;
+        writes++;
+        if (!frozen) {
+            fuel = Math.min(maxFuel, fuel + q);
+        }
+    }
+
+    public void addSupplies(float q) {
+        suppliesAdded += q;
+        writes++;
+        if (!frozen) {
+            supplies += q;
+        }
+    }
+
+    public void setFrozen(boolean frozen) { this.frozen = frozen; }
+    public void setFuel(float fuel) { this.fuel = fuel; }
+    public void setSupplies(float supplies) { this.supplies = supplies; }
+    public void setCrew(int crew) { this.crew = crew; }
+    public void setOtherCargo(float otherCargo) { this.otherCargo = otherCargo; }
+    public double getFuelAdded() { return fuelAdded; }
+    public double getSuppliesAdded() { return suppliesAdded; }
+    public int getWrites() { return writes; }
+}
@@ -0,0 +1,23 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.CampaignClockAPI;
+
+/** Campaign clock: 10 real seconds per day, timestamps in milliseconds of game time. */
+public class FakeClock implements CampaignClockAPI {
+    public static final float SECONDS_PER_DAY = 10f;
+    private static final double MILLIS_PER_DAY = 86400000.0;
+
+    private long timestamp = 0L;
+
+    public float convertToDays(float realSeconds) { return realSeconds / SECONDS_PER_DAY; }
+    public long getTimestamp() { return timestamp; }
+    public float getElapsedDaysSince(long ts) { return (float) ((timestamp - ts) / MILLIS_PER_DAY); }
+    public int getCycle() { return 206 + (int) (getDays() / 360); }
+    public int getMonth() { return 1 + (int) (getDays() % 360) / 30; }
+    public int getDay() { return 1 + (int) (getDays() % 30); }
+
+    /** Advance by {@code realSeconds} of unpaused campaign time. */
+    public void advance(float realSeconds) { timestamp += (long) (convertToDays(realSeconds) * MILLIS_PER_DAY); }
+
+    public double getDays() { return timestamp / MILLIS_PER_DAY; }
+}
@@ -0,0 +1,45 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.LocationAPI;
+import com.fs.starfarer.api.campaign.OrbitAPI;
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import com.fs.starfarer.api.campaign.rules.MemoryAPI;
+import java.awt.Color;
+import org.lwjgl.util.vector.Vector2f;
+
+/** Plain entity: position, velocity, radius, memory. Base of the other fakes. */
+public class FakeEntity implements SectorEntityToken {
+    private static int nextId = 0;
+
+    private final String id;
+    private final Vector2f location = new Vector2f();
+    private final Vector2f velocity = new Vector2f();
+    private final FakeMemory memory = new FakeMemory();
+    private float radius;
+    private LocationAPI containingLocation;
+    private OrbitAPI orbit;
+    private boolean expired = false;
+    private int floatingTexts = 0;
+
+    public FakeEntity(float x, float y, float radius) {
+        this.id = "fake_" + (nextId++);
+        this.location.set(x, y);
+        this.radius = radius;
+    }
+
+    public Vector2f getLocation() { return location; }
+    public Vector2f getVelocity() { return velocity; }
+    public float getRadius() { return radius; }
+    public LocationAPI getContainingLocation() { return containingLocation; }
+    public boolean isExpired() { return expired; }
+    public boolean isAlive() { return !expired; }
+    public String getId() { return id; }
+    public OrbitAPI getOrbit() { return orbit; }
+    public MemoryAPI getMemoryWithoutUpdate() { return memory; }
+    public void addFloatingText(String text, Color color, float duration) { floatingTexts++; }
+
+    public void setContainingLocation(LocationAPI loc) { containingLocation = loc; }
+    public void setOrbit(OrbitAPI orbit) { this.orbit = orbit; }
+    public void setExpired(boolean expired) { this.expired = expired; }
+    public int getFloatingTextCount() { return floatingTexts; }
+}
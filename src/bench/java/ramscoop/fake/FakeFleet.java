@@ -0,0 +1,97 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.CampaignFleetAPI;
+import com.fs.starfarer.api.campaign.CargoAPI;
+import com.fs.starfarer.api.campaign.FleetDataAPI;
+import com.fs.starfarer.api.combat.MutableStat.StatMod;
+import com.fs.starfarer.api.combat.StatBonus;
+import com.fs.starfarer.api.fleet.FleetMemberAPI;
+import com.fs.starfarer.api.fleet.MutableFleetStatsAPI;
+import java.util.ArrayList;
+import java.util.List;
+import org.lwjgl.util.vector.Vector2f;
+
+/** Fleet with cargo, crew requirements, a member count and a max-burn stat. */
+public class FakeFleet extends FakeEntity implements CampaignFleetAPI {
+    // Key/source the vanilla nebula terrain uses for its max-burn modifier
+    public static final String NEBULA_MOD_KEY = "nebula_stat_mod_1";
+
+    private final FakeCargo cargo;
+    private final boolean player;
+    private final StatBonus maxBurn = new StatBonus();
+    private final MutableFleetStatsAPI stats = new MutableFleetStatsAPI() {
+        public StatBonus getFleetwideMaxBurnMod() { return maxBurn; }
+    };
+    private final Data data = new Data();
+    private float minCrew;
+    private int members;
+    private boolean station = false;
+    private float patrolFrom;
+    private float patrolTo;
+
+    public FakeFleet(float x, float y, FakeCargo cargo, float minCrew, int members, boolean player) {
+        super(x, y, 50f);
+        this.cargo = cargo;
+        this.minCrew = minCrew;
+        this.members = members;
+        this.player = player;
+    }
+
+    public FleetDataAPI getFleetData() { return data; }
+    public CargoAPI getCargo() { return cargo; }
+    public FakeCargo getFakeCargo() { return cargo; }
+    public MutableFleetStatsAPI getStats() { return stats; }
+    public boolean isPlayerFleet() { return player; }
+    public boolean isStationMode() { return station; }
+    public int getFleetPoints() { return members * 5; }
+
+    public void setStation(boolean station) { this.station = station; }
+
+    /**
+     * Fly back and forth along x between {@code from} and {@code to} at
+     * {@code speed} units per second; {@link #move(float)} advances the fleet.
+     */
+    public void patrol(float from, float to, float speed) {
+        patrolFrom = from;
+        patrolTo = to;
+        getVelocity().set(speed, 0f);
+    }
+
+    /** Move by the velocity over {@code seconds}, turning at the patrol ends; parked fleets stay put. */
+    public void move(float seconds) {
+        Vector2f v = getVelocity();
+        if (v.x == 0f)
+            return;
+        Vector2f p = getLocation();
+        p.x += v.x * seconds;
+        if ((v.x > 0f && p.x >= patrolTo) || (v.x < 0f && p.x <= patrolFrom)) {
+            p.x = v.x > 0f ? patrolTo : patrolFrom;
+            v.x = -v.x;
+        }
+    }
+    public void setMembers(int members) { this.members = members; }
+
+    /** Add or remove the nebula max-burn modifier, as nebula terrain does. */
+    public void setNebulaModifier(boolean present) {
+        if (present) {
+            maxBurn.getMultBonuses().put(NEBULA_MOD_KEY, new StatMod(NEBULA_MOD_KEY, 0.5f));
+        } else {
+            maxBurn.getMultBonuses().remove(NEBULA_MOD_KEY);
+        }
+    }
+
+    /** Add unrelated burn modifiers, as other mods and skills do. */
+    public void addOtherModifiers(int count) {
+        for (int i = 0; i < count; i++) {
+            String key = "other_mod_" + i;
+            maxBurn.getMultBonuses().put(key, new StatMod(key, 1.1f));
+        }
+    }
+
+    private final class Data implements FleetDataAPI {
+        public float getMinCrew() { return minCrew; }
+        public CampaignFleetAPI getFleet() { return FakeFleet.this; }
+        public int getNumMembers() { return members; }
+        public List<FleetMemberAPI> getMembersListCopy() { return new ArrayList<FleetMemberAPI>(); }
+    }
+}
@@ -0,0 +1,69 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.CampaignFleetAPI;
+import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
+import com.fs.starfarer.api.campaign.PlanetAPI;
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import com.fs.starfarer.api.campaign.StarSystemAPI;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Star system (or hyperspace) holding terrain, planets and fleets. */
+public class FakeLocation implements StarSystemAPI {
+    private final String id;
+    private final boolean hyperspace;
+    private final List<CampaignTerrainAPI> terrain = new ArrayList<CampaignTerrainAPI>();
+    private final List<PlanetAPI> planets = new ArrayList<PlanetAPI>();
+    private final List<CampaignFleetAPI> fleets = new ArrayList<CampaignFleetAPI>();
+    private final List<SectorEntityToken> entities = new ArrayList<SectorEntityToken>();
+
+    public FakeLocation(String id, boolean hyperspace) {
+        this.id = id;
+        this.hyperspace = hyperspace;
+    }
+
+    /** A copy, like the game's (allocates on every call). */
+    public List<CampaignTerrainAPI> getTerrainCopy() { return new ArrayList<CampaignTerrainAPI>(terrain); }
+    /** The live list, like the game's (no copy). */
+    public List<SectorEntityToken> getAllEntities() { return entities; }
+    public List<PlanetAPI> getPlanets() { return planets; }
+    public List<CampaignFleetAPI> getFleets() { return fleets; }
+    public boolean isHyperspace() { return hyperspace; }
+    public String getId() { return id; }
+
+    public FakeTerrain addTerrain(FakeTerrain t) {
+        t.setContainingLocation(this);
+        terrain.add(t);
+        entities.add(t);
+        return t;
+    }
+
+    public void removeTerrain(FakeTerrain t) {
+        terrain.remove(t);
+        entities.remove(t);
+    }
+
+    public FakePlanet addPlanet(FakePlanet p) {
+        p.setContainingLocation(this);
+        planets.add(p);
+        entities.add(p);
+        return p;
+    }
+
+    public FakeFleet addFleet(FakeFleet f) {
+        if (f.getContainingLocation() instanceof FakeLocation) {
+            ((FakeLocation) f.getContainingLocation()).fleets.remove(f);
+            ((FakeLocation) f.getContainingLocation()).entities.remove(f);
+        }
+        f.setContainingLocation(this);
+        fleets.add(f);
+        entities.add(f);
+        return f;
+    }
+
+    public void removeFleet(FakeFleet f) {
+        fleets.remove(f);
+        entities.remove(f);
+        f.setContainingLocation(null);
+    }
+}
@@ -0,0 +1,18 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.rules.MemoryAPI;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Memory backed by a map; missing booleans read as false, like the game. */
+public class FakeMemory implements MemoryAPI {
+    private final Map<String, Object> values = new HashMap<String, Object>();
+
+    public boolean getBoolean(String key) {
+        Object v = values.get(key);
+        return v instanceof Boolean && (Boolean) v;
+    }
+
+    public boolean contains(String key) { return values.containsKey(key); }
+    public void set(String key, Object value) { values.put(key, value); }
+}
@@ -0,0 +1,15 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.PlanetAPI;
+
+/** Planet or star. */
+public class FakePlanet extends FakeEntity implements PlanetAPI {
+    private final boolean star;
+
+    public FakePlanet(float x, float y, float radius, boolean star) {
+        super(x, y, radius);
+        this.star = star;
+    }
+
+    public boolean isStar() { return star; }
+}
@@ -0,0 +1,55 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.EveryFrameScript;
+import com.fs.starfarer.api.campaign.CampaignClockAPI;
+import com.fs.starfarer.api.campaign.CampaignFleetAPI;
+import com.fs.starfarer.api.campaign.LocationAPI;
+import com.fs.starfarer.api.campaign.SectorAPI;
+import com.fs.starfarer.api.campaign.StarSystemAPI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Sector with systems, hyperspace, a player fleet, a clock and transient scripts. */
+public class FakeSector implements SectorAPI {
+    private final FakeClock clock = new FakeClock();
+    private final FakeLocation hyperspace = new FakeLocation("hyperspace", true);
+    private final List<StarSystemAPI> systems = new ArrayList<StarSystemAPI>();
+    private final List<EveryFrameScript> scripts = new ArrayList<EveryFrameScript>();
+    private final Map<String, Object> persistentData = new HashMap<String, Object>();
+    private CampaignFleetAPI playerFleet;
+
+    public CampaignFleetAPI getPlayerFleet() { return playerFleet; }
+    public CampaignClockAPI getClock() { return clock; }
+    public void addTransientScript(EveryFrameScript script) { scripts.add(script); }
+    public Map<String, Object> getPersistentData() { return persistentData; }
+    public List<StarSystemAPI> getStarSystems() { return systems; }
+    public LocationAPI getHyperspace() { return hyperspace; }
+
+    /** A copy, like the game's. */
+    public List<LocationAPI> getAllLocations() {
+        List<LocationAPI> all = new ArrayList<LocationAPI>(systems);
+        all.add(hyperspace);
+        return all;
+    }
+
+    public FakeClock getFakeClock() { return clock; }
+    public FakeLocation getFakeHyperspace() { return hyperspace; }
+    public List<EveryFrameScript> getScripts() { return scripts; }
+    public void setPlayerFleet(CampaignFleetAPI fleet) { playerFleet = fleet; }
+
+    public FakeLocation addSystem(String id) {
+        FakeLocation system = new FakeLocation(id, false);
+        systems.add(system);
+        return system;
+    }
+
+    /** Advance the clock and every transient script by one frame. */
+    public void advance(float amount) {
+        clock.advance(amount);
+        for (int i = 0; i < scripts.size(); i++) {
+            scripts.get(i).advance(amount);
+        }
+    }
+}
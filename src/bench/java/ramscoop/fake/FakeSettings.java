@@ -0,0 +1,59 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.ModManagerAPI;
+import com.fs.starfarer.api.SettingsAPI;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Settings and mod manager. {@code loadJSON} reads the file from the working
+ * directory with the game's lenient syntax ({@code #} comments, bare leading
+ * decimal points); only flat objects of booleans, numbers and strings are
+ * supported, which is all settings.json uses.
+ */
+public class FakeSettings implements SettingsAPI, ModManagerAPI {
+    private static final Pattern ENTRY = Pattern
+            .compile("\"([^\"]+)\"\\s*:\\s*(\"([^\"]*)\"|true|false|-?[0-9]*\\.?[0-9]+)");
+
+    private final Set<String> enabledMods = new HashSet<String>();
+
+    public FakeSettings(boolean lunaLib) {
+        if (lunaLib) {
+            enabledMods.add("lunalib");
+        }
+    }
+
+    public ModManagerAPI getModManager() { return this; }
+    public boolean isModEnabled(String id) { return enabledMods.contains(id); }
+
+    public JSONObject loadJSON(String filename, String id) throws IOException, JSONException {
+        StringBuilder text = new StringBuilder();
+        for (String line : Files.readAllLines(Paths.get(filename), StandardCharsets.UTF_8)) {
+            int hash = line.indexOf('#');
+            text.append(hash >= 0 ? line.substring(0, hash) : line).append('\n');
+        }
+        JSONObject json = new JSONObject();
+        Matcher m = ENTRY.matcher(text);
+        while (m.find()) {
+            String raw = m.group(2);
+            Object value;
+            if (m.group(3) != null) {
+                value = m.group(3);
+            } else if ("true".equals(raw) || "false".equals(raw)) {
+                value = Boolean.valueOf(raw);
+            } else {
+                value = Double.valueOf(raw);
+            }
+            json.put(m.group(1), value);
+        }
+        return json;
+    }
+}
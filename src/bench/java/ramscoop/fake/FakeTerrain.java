@@ -0,0 +1,167 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
+import com.fs.starfarer.api.campaign.CampaignTerrainPlugin;
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import com.fs.starfarer.api.impl.campaign.terrain.BaseRingTerrain;
+import com.fs.starfarer.api.impl.campaign.terrain.HyperspaceTerrainPlugin;
+import com.fs.starfarer.api.impl.campaign.terrain.NebulaTerrainPlugin;
+import com.fs.starfarer.api.impl.campaign.terrain.StarCoronaTerrainPlugin;
+import java.util.Arrays;
+import org.lwjgl.util.vector.Vector2f;
+
+/** Terrain entity with a type id and a plugin; factory methods for the kinds Ramscoop cares about. */
+public class FakeTerrain extends FakeEntity implements CampaignTerrainAPI {
+    private final String type;
+    private final CampaignTerrainPlugin plugin;
+
+    public FakeTerrain(float x, float y, String type, CampaignTerrainPlugin plugin) {
+        super(x, y, 0f);
+        this.type = type;
+        this.plugin = plugin;
+    }
+
+    public String getType() { return type; }
+    public CampaignTerrainPlugin getPlugin() { return plugin; }
+
+    /** Nebula of {@code w x h} tiles centred on (x, y), every tile filled. */
+    public static FakeTerrain nebula(float x, float y, int w, int h, float tileSize) {
+        Nebula plugin = new Nebula(w, h, tileSize);
+        FakeTerrain t = new FakeTerrain(x, y, "nebula", plugin);
+        plugin.terrain = t;
+        return t;
+    }
+
+    /** Hyperspace cloud grid of {@code w x h} tiles centred on (x, y), every tile empty. */
+    public static FakeTerrain hyperspace(float x, float y, int w, int h, float tileSize) {
+        Hyperspace plugin = new Hyperspace(w, h, tileSize);
+        FakeTerrain t = new FakeTerrain(x, y, "hyperspace", plugin);
+        plugin.terrain = t;
+        return t;
+    }
+
+    /**
+     * Vanilla corona band around {@code star}: from the star's surface out to
+     * {@code band} beyond it (the stand-in plugin class itself, as the game uses).
+     */
+    public static FakeTerrain corona(SectorEntityToken star, float band) {
+        StarCoronaTerrainPlugin plugin = new StarCoronaTerrainPlugin();
+        FakeTerrain t = new FakeTerrain(star.getLocation().x, star.getLocation().y, "star_corona", plugin);
+        plugin.init("star_corona", t, new BaseRingTerrain.RingParams(band, star.getRadius() + band / 2f, star));
+        return t;
+    }
+
+    /** Corona from a mod's subclass of the vanilla plugin; only reachable through the probes. */
+    public static FakeTerrain moddedCorona(SectorEntityToken star, float band) {
+        ModdedCorona plugin = new ModdedCorona(star, star.getRadius() + band / 2f, band);
+        return new FakeTerrain(star.getLocation().x, star.getLocation().y, "modded_corona", plugin);
+    }
+
+    /** Asteroid belt (a ring Ramscoop must ignore). */
+    public static FakeTerrain asteroidBelt(SectorEntityToken centre, float radius, float width) {
+        Ring plugin = new Ring(centre, radius, width);
+        return new FakeTerrain(centre.getLocation().x, centre.getLocation().y, "asteroid_belt", plugin);
+    }
+
+    /** Tiled nebula; same grid layout as the vanilla plugin (centred, -1 = empty). */
+    public static final class Nebula extends NebulaTerrainPlugin {
+        private FakeTerrain terrain;
+
+        Nebula(int w, int h, float tileSize) {
+            this.tiles = new int[w][h];
+            this.tileSize = tileSize;
+        }
+
+        public void setTile(int x, int y, boolean filled) { tiles[x][y] = filled ? 0 : -1; }
+
+        @Override
+        public boolean containsEntity(SectorEntityToken other) { return containsPoint(other.getLocation(), 0f); }
+
+        @Override
+        public boolean containsPoint(Vector2f point, float radius) { return inGrid(terrain, tiles, tileSize, point); }
+    }
+
+    /** Hyperspace grid; same layout as the nebula, filled tiles are deep-hyperspace clouds. */
+    public static final class Hyperspace extends HyperspaceTerrainPlugin {
+        private FakeTerrain terrain;
+
+        Hyperspace(int w, int h, float tileSize) {
+            this.tiles = new int[w][h];
+            this.tileSize = tileSize;
+            for (int[] column : tiles) {
+                Arrays.fill(column, -1);
+            }
+        }
+
+        public void setTile(int x, int y, boolean filled) { tiles[x][y] = filled ? 0 : -1; }
+
+        /** Fill the tiles whose centres lie in the world rectangle [x0, x1] x [y0, y1]. */
+        public void fill(float x0, float y0, float x1, float y1) {
+            float left = terrain.getLocation().x - tiles.length * tileSize / 2f;
+            float bottom = terrain.getLocation().y - tiles[0].length * tileSize / 2f;
+            for (int xi = 0; xi < tiles.length; xi++) {
+                float cx = left + (xi + 0.5f) * tileSize;
+                for (int yi = 0; yi < tiles[xi].length; yi++) {
+                    float cy = bottom + (yi + 0.5f) * tileSize;
+                    if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) {
+                        tiles[xi][yi] = 0;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean containsEntity(SectorEntityToken other) { return containsPoint(other.getLocation(), 0f); }
+
+        @Override
+        public boolean containsPoint(Vector2f point, float radius) { return inGrid(terrain, tiles, tileSize, point); }
+    }
+
+    /** Modded corona ring: contains entities whose centre lies inside the band. */
+    public static final class ModdedCorona extends StarCoronaTerrainPlugin {
+        ModdedCorona(SectorEntityToken star, float middleRadius, float band) {
+            params = new RingParams();
+            params.relatedEntity = star;
+            params.middleRadius = middleRadius;
+            params.bandWidthInEngine = band;
+        }
+
+        @Override
+        public boolean containsEntity(SectorEntityToken other) { return containsPoint(other.getLocation(), 0f); }
+
+        @Override
+        public boolean containsPoint(Vector2f point, float radius) { return inBand(params, point); }
+    }
+
+    /** Plain ring terrain. */
+    public static final class Ring extends BaseRingTerrain {
+        Ring(SectorEntityToken centre, float middleRadius, float band) {
+            params = new RingParams();
+            params.relatedEntity = centre;
+            params.middleRadius = middleRadius;
+            params.bandWidthInEngine = band;
+        }
+
+        @Override
+        public boolean containsEntity(SectorEntityToken other) { return containsPoint(other.getLocation(), 0f); }
+
+        @Override
+        public boolean containsPoint(Vector2f point, float radius) { return inBand(params, point); }
+    }
+
+    // Grid centred on the terrain entity, negative tiles empty
+    static boolean inGrid(FakeTerrain terrain, int[][] tiles, float tileSize, Vector2f point) {
+        float left = terrain.getLocation().x - tiles.length * tileSize / 2f;
+        float bottom = terrain.getLocation().y - tiles[0].length * tileSize / 2f;
+        int xi = (int) Math.floor((point.x - left) / tileSize);
+        int yi = (int) Math.floor((point.y - bottom) / tileSize);
+        return xi >= 0 && yi >= 0 && xi < tiles.length && yi < tiles[0].length && tiles[xi][yi] >= 0;
+    }
+
+    static boolean inBand(BaseRingTerrain.RingParams p, Vector2f point) {
+        float dx = point.x - p.relatedEntity.getLocation().x;
+        float dy = point.y - p.relatedEntity.getLocation().y;
+        float d = (float) Math.sqrt(dx * dx + dy * dy);
+        return Math.abs(d - p.middleRadius) <= p.bandWidthInEngine / 2f;
+    }
+}
@@ -0,0 +1,127 @@
+package ramscoop.fake;
+
+import com.fs.starfarer.api.Global;
+
+/**
+ * Ready-made sectors for benchmarks and simulations. Each factory installs a
+ * fresh {@link FakeSector} and {@link FakeSettings} into {@link Global} and
+ * places the player fleet at the origin of a system built for the scenario.
+ * The fleet is parked; {@link #moving()} sets it patrolling through the same
+ * terrain instead, so every evaluation runs the full terrain checks.
+ */
+public final class FakeWorld {
+    public final FakeSector sector;
+    public final FakeLocation system;
+    public final FakeFleet player;
+    public final FakePlanet star;
+    // Half-width of a patrol that stays in the scenario's terrain
+    private final float patrolSpan;
+
+    // Typical in-system fleet speed (units per second)
+    public static final float PATROL_SPEED = 100f;
+
+    private FakeWorld(FakeSector sector, FakeLocation system, FakeFleet player, FakePlanet star, float patrolSpan) {
+        this.sector = sector;
+        this.system = system;
+        this.player = player;
+        this.star = star;
+        this.patrolSpan = patrolSpan;
+    }
+
+    /**
+     * Set the player patrolling along x around its start at {@link #PATROL_SPEED},
+     * without leaving the scenario's terrain. Callers move it each frame with
+     * {@link FakeFleet#move(float)}.
+     */
+    public FakeWorld moving() {
+        float x = player.getLocation().x;
+        player.patrol(x - patrolSpan, x + patrolSpan, PATROL_SPEED);
+        return this;
+    }
+
+    /** Install an empty sector; {@code lunaLib} decides whether LunaLib counts as enabled. */
+    public static FakeSector install(boolean lunaLib) {
+        FakeSector sector = new FakeSector();
+        Global.setSector(sector);
+        Global.setSettings(new FakeSettings(lunaLib));
+        return sector;
+    }
+
+    /** A typical player fleet: 2000 fuel, 3000 cargo, 400 crew (200 required). */
+    public static FakeFleet playerFleet(float x, float y) {
+        FakeFleet fleet = new FakeFleet(x, y, new FakeCargo(100f, 2000f, 100f, 3000f, 400), 200f, 12, true);
+        fleet.getMemoryWithoutUpdate().set("$ramscoop_enabled", true);
+        return fleet;
+    }
+
+    /** Player far from the only star; no terrain in reach. */
+    public static FakeWorld deepSpace() {
+        FakeSector sector = install(true);
+        FakeLocation system = sector.addSystem("deep_space");
+        FakePlanet star = system.addPlanet(new FakePlanet(20000f, 20000f, 600f, true));
+        return place(sector, system, star, 0f, 0f, 2000f);
+    }
+
+    /** Player inside a 40x40 tile nebula, carrying the nebula burn modifier. */
+    public static FakeWorld nebula() {
+        FakeSector sector = install(true);
+        FakeLocation system = sector.addSystem("nebula");
+        system.addTerrain(FakeTerrain.nebula(0f, 0f, 40, 40, 400f));
+        FakeWorld world = place(sector, system, null, 0f, 0f, 2000f);
+        world.player.setNebulaModifier(true);
+        return world;
+    }
+
+    /** Player inside the corona band of a star. */
+    public static FakeWorld corona() {
+        FakeSector sector = install(true);
+        FakeLocation system = sector.addSystem("corona");
+        FakePlanet star = system.addPlanet(new FakePlanet(0f, 0f, 600f, true));
+        system.addTerrain(FakeTerrain.corona(star, 400f));
+        return place(sector, system, star, 800f, 0f, 100f);
+    }
+
+    /** As {@link #corona()}, but the corona comes from a mod's subclass of the vanilla plugin. */
+    public static FakeWorld moddedCorona() {
+        FakeSector sector = install(true);
+        FakeLocation system = sector.addSystem("modded_corona");
+        FakePlanet star = system.addPlanet(new FakePlanet(0f, 0f, 600f, true));
+        system.addTerrain(FakeTerrain.moddedCorona(star, 400f));
+        return place(sector, system, star, 800f, 0f, 100f);
+    }
+
+    /** Player in hyperspace, inside a patch of deep-hyperspace clouds on a 400x300 tile grid. */
+    public static FakeWorld hyperspace() {
+        FakeSector sector = install(true);
+        FakeLocation hyperspace = sector.getFakeHyperspace();
+        FakeTerrain grid = hyperspace.addTerrain(FakeTerrain.hyperspace(0f, 0f, 400, 300, 200f));
+        ((FakeTerrain.Hyperspace) grid.getPlugin()).fill(-4000f, -4000f, 4000f, 4000f);
+        return place(sector, hyperspace, null, 0f, 0f, 2000f);
+    }
+
+    /**
+     * Player in open space of a busy system: {@code rings} asteroid belts, one
+     * corona, a distant nebula patch and unrelated burn modifiers on the fleet.
+     */
+    public static FakeWorld manyTerrains(int rings) {
+        FakeSector sector = install(true);
+        FakeLocation system = sector.addSystem("busy");
+        FakePlanet star = system.addPlanet(new FakePlanet(0f, 0f, 600f, true));
+        system.addTerrain(FakeTerrain.corona(star, 400f));
+        for (int i = 0; i < rings; i++) {
+            system.addTerrain(FakeTerrain.asteroidBelt(star, 3000f + i * 500f, 200f));
+        }
+        system.addTerrain(FakeTerrain.nebula(-30000f, -30000f, 10, 10, 400f));
+        FakeWorld world = place(sector, system, star, 3250f, 0f, 100f);
+        world.player.addOtherModifiers(12);
+        return world;
+    }
+
+    private static FakeWorld place(FakeSector sector, FakeLocation system, FakePlanet star, float x, float y,
+            float patrolSpan) {
+        FakeFleet player = playerFleet(x, y);
+        system.addFleet(player);
+        sector.setPlayerFleet(player);
+        return new FakeWorld(sector, system, player, star, patrolSpan);
+    }
+}
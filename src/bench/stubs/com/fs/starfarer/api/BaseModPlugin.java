@@ -0,0 +1,7 @@
+package com.fs.starfarer.api;
+public class BaseModPlugin {
+    public void onApplicationLoad() throws Exception {}
+    public void onGameLoad(boolean newGame) {}
+    public void beforeGameSave() {}
+    public void afterGameSave() {}
+}
@@ -0,0 +1,6 @@
+package com.fs.starfarer.api;
+public interface EveryFrameScript {
+    boolean isDone();
+    boolean runWhilePaused();
+    void advance(float amount);
+}
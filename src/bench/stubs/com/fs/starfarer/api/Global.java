@@ -0,0 +1,12 @@
+package com.fs.starfarer.api;
+import com.fs.starfarer.api.campaign.SectorAPI;
+import org.apache.log4j.Logger;
+public class Global {
+    private static SectorAPI sector;
+    private static SettingsAPI settings;
+    public static SectorAPI getSector() { return sector; }
+    public static void setSector(SectorAPI s) { sector = s; }
+    public static SettingsAPI getSettings() { return settings; }
+    public static void setSettings(SettingsAPI s) { settings = s; }
+    public static Logger getLogger(Class c) { return Logger.getLogger(c); }
+}
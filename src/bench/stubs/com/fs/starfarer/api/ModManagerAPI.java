@@ -0,0 +1,2 @@
+package com.fs.starfarer.api;
+public interface ModManagerAPI { boolean isModEnabled(String id); }
@@ -0,0 +1,6 @@
+package com.fs.starfarer.api;
+import org.json.JSONObject;
+public interface SettingsAPI {
+    JSONObject loadJSON(String filename, String id) throws java.io.IOException, org.json.JSONException;
+    ModManagerAPI getModManager();
+}
@@ -0,0 +1,9 @@
+package com.fs.starfarer.api.campaign;
+public interface CampaignClockAPI {
+    float convertToDays(float realSeconds);
+    long getTimestamp();
+    float getElapsedDaysSince(long timestamp);
+    int getCycle();
+    int getMonth();
+    int getDay();
+}
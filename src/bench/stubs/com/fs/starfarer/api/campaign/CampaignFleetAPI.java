@@ -0,0 +1,10 @@
+package com.fs.starfarer.api.campaign;
+import com.fs.starfarer.api.fleet.MutableFleetStatsAPI;
+public interface CampaignFleetAPI extends SectorEntityToken {
+    FleetDataAPI getFleetData();
+    CargoAPI getCargo();
+    MutableFleetStatsAPI getStats();
+    boolean isPlayerFleet();
+    boolean isStationMode();
+    int getFleetPoints();
+}
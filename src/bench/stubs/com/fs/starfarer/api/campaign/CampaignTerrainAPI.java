@@ -0,0 +1,5 @@
+package com.fs.starfarer.api.campaign;
+public interface CampaignTerrainAPI extends SectorEntityToken {
+    String getType();
+    CampaignTerrainPlugin getPlugin();
+}
@@ -0,0 +1,6 @@
+package com.fs.starfarer.api.campaign;
+import org.lwjgl.util.vector.Vector2f;
+public interface CampaignTerrainPlugin {
+    boolean containsEntity(SectorEntityToken other);
+    boolean containsPoint(Vector2f point, float radius);
+}
@@ -0,0 +1,6 @@
+package com.fs.starfarer.api.campaign;
+public interface CargoAPI {
+    float getFuel(); float getSupplies(); int getCrew();
+    float getMaxFuel(); float getMaxCapacity(); float getSpaceLeft();
+    void addFuel(float q); void addSupplies(float q);
+}
@@ -0,0 +1,9 @@
+package com.fs.starfarer.api.campaign;
+import java.util.List;
+import com.fs.starfarer.api.fleet.FleetMemberAPI;
+public interface FleetDataAPI {
+    float getMinCrew();
+    CampaignFleetAPI getFleet();
+    int getNumMembers();
+    List<FleetMemberAPI> getMembersListCopy();
+}
@@ -0,0 +1,10 @@
+package com.fs.starfarer.api.campaign;
+import java.util.List;
+public interface LocationAPI {
+    List<CampaignTerrainAPI> getTerrainCopy();
+    List<SectorEntityToken> getAllEntities();
+    List<PlanetAPI> getPlanets();
+    List<CampaignFleetAPI> getFleets();
+    boolean isHyperspace();
+    String getId();
+}
@@ -0,0 +1,13 @@
+package com.fs.starfarer.api.campaign;
+import com.fs.starfarer.api.EveryFrameScript;
+import java.util.List;
+import java.util.Map;
+public interface SectorAPI {
+    CampaignFleetAPI getPlayerFleet();
+    CampaignClockAPI getClock();
+    void addTransientScript(EveryFrameScript script);
+    Map<String, Object> getPersistentData();
+    List<StarSystemAPI> getStarSystems();
+    LocationAPI getHyperspace();
+    List<LocationAPI> getAllLocations();
+}
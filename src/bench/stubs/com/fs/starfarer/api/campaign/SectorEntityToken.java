@@ -0,0 +1,15 @@
+package com.fs.starfarer.api.campaign;
+import org.lwjgl.util.vector.Vector2f;
+import com.fs.starfarer.api.campaign.rules.MemoryAPI;
+public interface SectorEntityToken {
+    Vector2f getLocation();
+    Vector2f getVelocity();
+    float getRadius();
+    LocationAPI getContainingLocation();
+    boolean isExpired();
+    boolean isAlive();
+    String getId();
+    OrbitAPI getOrbit();
+    MemoryAPI getMemoryWithoutUpdate();
+    void addFloatingText(String text, java.awt.Color color, float duration);
+}
@@ -0,0 +1,2 @@
+package com.fs.starfarer.api.campaign;
+public interface StarSystemAPI extends LocationAPI {}
@@ -0,0 +1,6 @@
+package com.fs.starfarer.api.campaign.rules;
+public interface MemoryAPI {
+    boolean getBoolean(String key);
+    boolean contains(String key);
+    void set(String key, Object value);
+}
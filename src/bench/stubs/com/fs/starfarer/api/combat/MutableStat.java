@@ -0,0 +1,7 @@
+package com.fs.starfarer.api.combat;
+public class MutableStat {
+    public static class StatMod {
+        public String source; public float value;
+        public StatMod(String source, float value) { this.source = source; this.value = value; }
+    }
+}
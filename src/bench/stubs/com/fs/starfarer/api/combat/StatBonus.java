@@ -0,0 +1,6 @@
+package com.fs.starfarer.api.combat;
+import java.util.HashMap;
+public class StatBonus {
+    private final HashMap<String, MutableStat.StatMod> multBonuses = new HashMap<String, MutableStat.StatMod>();
+    public HashMap<String, MutableStat.StatMod> getMultBonuses() { return multBonuses; }
+}
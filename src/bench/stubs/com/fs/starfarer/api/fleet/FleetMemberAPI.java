@@ -0,0 +1,2 @@
+package com.fs.starfarer.api.fleet;
+public interface FleetMemberAPI { String getId(); }
@@ -0,0 +1,3 @@
+package com.fs.starfarer.api.fleet;
+import com.fs.starfarer.api.combat.StatBonus;
+public interface MutableFleetStatsAPI { StatBonus getFleetwideMaxBurnMod(); }
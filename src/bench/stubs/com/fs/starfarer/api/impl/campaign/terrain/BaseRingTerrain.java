@@ -0,0 +1,25 @@
+package com.fs.starfarer.api.impl.campaign.terrain;
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import org.lwjgl.util.vector.Vector2f;
+public class BaseRingTerrain extends BaseTerrain {
+    public static class RingParams {
+        public float bandWidthInEngine; public float middleRadius; public SectorEntityToken relatedEntity;
+        public RingParams() {}
+        public RingParams(float bandWidthInEngine, float middleRadius, SectorEntityToken relatedEntity) {
+            this.bandWidthInEngine = bandWidthInEngine; this.middleRadius = middleRadius; this.relatedEntity = relatedEntity;
+        }
+    }
+    public RingParams params;
+    public RingParams getRingParams() { return params; }
+    public void init(String terrainId, SectorEntityToken entity, Object param) { super.init(terrainId, entity, param); params = (RingParams) param; }
+    // Band around the terrain entity, widened by the other entity's radius
+    public boolean containsEntity(SectorEntityToken other) { return containsPoint(other.getLocation(), other.getRadius()); }
+    public boolean containsPoint(Vector2f point, float radius) {
+        if (params == null || entity == null) return false;
+        float dx = point.x - entity.getLocation().x, dy = point.y - entity.getLocation().y;
+        float dist = (float) Math.sqrt(dx * dx + dy * dy);
+        if (dist > params.middleRadius + params.bandWidthInEngine / 2f + radius) return false;
+        if (dist < params.middleRadius - params.bandWidthInEngine / 2f - radius) return false;
+        return true;
+    }
+}
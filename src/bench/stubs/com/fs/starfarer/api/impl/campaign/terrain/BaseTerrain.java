@@ -0,0 +1,9 @@
+package com.fs.starfarer.api.impl.campaign.terrain;
+import com.fs.starfarer.api.campaign.*;
+import org.lwjgl.util.vector.Vector2f;
+public class BaseTerrain implements CampaignTerrainPlugin {
+    protected SectorEntityToken entity;
+    public void init(String terrainId, SectorEntityToken entity, Object param) { this.entity = entity; }
+    public boolean containsEntity(SectorEntityToken other) { return false; }
+    public boolean containsPoint(Vector2f point, float radius) { return false; }
+}
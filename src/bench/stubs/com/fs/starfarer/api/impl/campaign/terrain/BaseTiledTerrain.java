@@ -0,0 +1,6 @@
+package com.fs.starfarer.api.impl.campaign.terrain;
+public class BaseTiledTerrain extends BaseTerrain {
+    protected int[][] tiles; protected float tileSize;
+    public int[][] getTiles() { return tiles; }
+    public float getTileSize() { return tileSize; }
+}
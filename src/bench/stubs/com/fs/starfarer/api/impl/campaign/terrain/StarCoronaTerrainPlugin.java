@@ -0,0 +1,2 @@
+package com.fs.starfarer.api.impl.campaign.terrain;
+public class StarCoronaTerrainPlugin extends BaseRingTerrain {}
@@ -0,0 +1,11 @@
+package com.fs.starfarer.api.util;
+public class IntervalUtil {
+    private float minInterval, maxInterval, interval, elapsed; private boolean elapsedFlag;
+    public IntervalUtil(float min, float max) { setInterval(min, max); }
+    public void setInterval(float min, float max) { minInterval = min; maxInterval = max; interval = min + (max - min) * (float) Math.random(); }
+    public void advance(float amount) { elapsedFlag = false; elapsed += amount; if (elapsed >= interval) { elapsed -= interval; interval = minInterval + (maxInterval - minInterval) * (float) Math.random(); elapsedFlag = true; } }
+    public boolean intervalElapsed() { return elapsedFlag; }
+    public float getElapsed() { return elapsed; }
+    public float getIntervalDuration() { return interval; }
+    public void setElapsed(float e) { elapsed = e; }
+}
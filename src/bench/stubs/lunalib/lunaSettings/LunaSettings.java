@@ -0,0 +1,73 @@
+package lunalib.lunaSettings;
+
+import java.awt.Color;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stand-in for LunaLib's settings API. Values start at the defaults declared in
+ * data/config/LunaSettings.csv (read from the working directory) and can be
+ * overridden with {@link #set}; {@link #fireSettingsChanged} notifies the
+ * registered listeners the way saving the LunaLib menu does.
+ */
+public class LunaSettings {
+    private static final String CSV_PATH = "data/config/LunaSettings.csv";
+    private static final Map<String, Object> values = new HashMap<String, Object>();
+    private static final List<LunaSettingsListener> listeners = new ArrayList<LunaSettingsListener>();
+    private static boolean loaded = false;
+
+    public static Boolean getBoolean(String mod, String id) { return (Boolean) value(id); }
+    public static Double getDouble(String mod, String id) { return (Double) value(id); }
+    public static Integer getInt(String mod, String id) { return (Integer) value(id); }
+    public static String getString(String mod, String id) { Object v = value(id); return v != null ? v.toString() : null; }
+    public static Color getColor(String mod, String id) { return (Color) value(id); }
+    public static void addSettingsListener(LunaSettingsListener l) { listeners.add(l); }
+
+    /** Override a value (stand-in only). */
+    public static void set(String id, Object value) { load(); values.put(id, value); }
+
+    /** Notify listeners as if the player saved the settings of {@code modID} (stand-in only). */
+    public static void fireSettingsChanged(String modID) {
+        for (LunaSettingsListener l : listeners) {
+            l.settingsChanged(modID);
+        }
+    }
+
+    private static Object value(String id) { load(); return values.get(id); }
+
+    private static synchronized void load() {
+        if (loaded)
+            return;
+        loaded = true;
+        try (BufferedReader reader = new BufferedReader(new FileReader(CSV_PATH))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#") || line.startsWith(","))
+                    continue;
+                String[] cols = line.split(",", 5);
+                if (cols.length < 4)
+                    continue;
+                String id = cols[0];
+                String type = cols[2];
+                String def = cols[3];
+                if ("Boolean".equals(type)) {
+                    values.put(id, Boolean.valueOf(def));
+                } else if ("Double".equals(type)) {
+                    values.put(id, Double.valueOf(def));
+                } else if ("Int".equals(type)) {
+                    values.put(id, Integer.valueOf(def));
+                } else if ("Color".equals(type)) {
+                    values.put(id, Color.decode(def));
+                } else if (!"Header".equals(type)) {
+                    values.put(id, def);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read " + CSV_PATH + " (run from the project root)", e);
+        }
+    }
+}
@@ -0,0 +1,2 @@
+package lunalib.lunaSettings;
+public interface LunaSettingsListener { void settingsChanged(String modID); }
@@ -0,0 +1,18 @@
+package org.apache.log4j;
+
+/** Stand-in logger; info is printed only with -Dstandin.log=info. */
+public class Logger {
+    private static final boolean INFO = "info".equals(System.getProperty("standin.log"));
+    private final String name; private Logger(String n) { name = n; }
+    public static Logger getLogger(Class c) { return new Logger(c.getSimpleName()); }
+    public void info(Object m) { if (INFO) System.out.println("INFO " + name + " " + m); }
+    public void info(Object m, Throwable t) { info(m); }
+    public void warn(Object m) { System.out.println("WARN " + name + " " + m); }
+    public void warn(Object m, Throwable t) { System.out.println("WARN " + name + " " + m); }
+    public void error(Object m) { System.out.println("ERROR " + name + " " + m); }
+    public void error(Object m, Throwable t) { System.out.println("ERROR " + name + " " + m); }
+    public void debug(Object m) {}
+    public void debug(Object m, Throwable t) {}
+    public boolean isDebugEnabled() { return false; }
+    public boolean isInfoEnabled() { return INFO; }
+}
@@ -0,0 +1,17 @@
+package org.json;
+import java.util.*;
+public class JSONObject {
+    private final Map<String, Object> map = new HashMap<String, Object>();
+    public JSONObject() {}
+    public JSONObject put(String k, Object v) { map.put(k, v); return this; }
+    public boolean has(String k) { return map.containsKey(k); }
+    public Object get(String k) throws JSONException { if (!map.containsKey(k)) throw new JSONException("JSONObject[" + k + "] not found."); return map.get(k); }
+    public boolean getBoolean(String k) throws JSONException { return (Boolean) get(k); }
+    public double getDouble(String k) throws JSONException { return ((Number) get(k)).doubleValue(); }
+    public int getInt(String k) throws JSONException { return ((Number) get(k)).intValue(); }
+    public String getString(String k) throws JSONException { return get(k).toString(); }
+    public boolean optBoolean(String k, boolean d) { Object o = map.get(k); return o instanceof Boolean ? (Boolean) o : d; }
+    public double optDouble(String k, double d) { Object o = map.get(k); return o instanceof Number ? ((Number) o).doubleValue() : d; }
+    public String optString(String k, String d) { Object o = map.get(k); return o != null ? o.toString() : d; }
+    public Iterator keys() { return map.keySet().iterator(); }
+}
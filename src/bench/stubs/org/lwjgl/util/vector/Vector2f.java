@@ -0,0 +1,9 @@
+package org.lwjgl.util.vector;
+public class Vector2f {
+    public float x, y;
+    public Vector2f() {}
+    public Vector2f(float x, float y) { this.x = x; this.y = y; }
+    public float length() { return (float) Math.sqrt(x * x + y * y); }
+    public float lengthSquared() { return x * x + y * y; }
+    public Vector2f set(float x, float y) { this.x = x; this.y = y; return this; }
+}
@@ -0,0 +1,187 @@
+package ramscoop;
+
+/**
+ * Structure-of-arrays accrual for many fleets at once. Callers load each
+ * fleet's scalars into a slot (fuel, max fuel, supplies, cargo capacity, free
+ * space, crew, minimum crew and the days to credit) with its terrain state in
+ * two bitsets, then {@link #compute(RamscoopConfig)} works out the fuel and
+ * supply deltas for every slot in one loop over primitive arrays. Callers then
+ * write back only the non-zero deltas.
+ * <p>
+ * The maths matches the per-fleet path ({@link GenerationRates} and
+ * {@link SupplyMode}): corona takes precedence and only yields fuel; a nebula
+ * yields supplies and fuel up to their caps.
+ * <p>
+ * This class deliberately has no Starsector API dependencies.
+ */
+final class AccrualBatch {
+
+    private int size = 0;
+    private int capacity;
+
+    private float[] fuel;
+    private float[] maxFuel;
+    private float[] supplies;
+    private float[] cargoCapacity;
+    private float[] spaceLeft;
+    private float[] crew;
+    private float[] minCrew;
+    private float[] days;
+    // Terrain state, one bit per slot
+    private long[] nebulaBits;
+    private long[] coronaBits;
+
+    private float[] fuelDelta;
+    private float[] supplyDelta;
+
+    AccrualBatch(int initialCapacity) {
+        allocate(Math.max(64, initialCapacity));
+    }
+
+    /** Drop all slots; the arrays are kept for reuse. */
+    void clear() {
+        for (int w = 0, n = words(size); w < n; w++) {
+            nebulaBits[w] = 0L;
+            coronaBits[w] = 0L;
+        }
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Load one fleet; returns its slot index. */
+    int add(float fuel, float maxFuel, float supplies, float cargoCapacity, float spaceLeft, float crew,
+            float minCrew, float days, boolean inNebula, boolean inCorona) {
+        if (size == capacity) {
+            grow();
+        }
+        int i = size++;
+        this.fuel[i] = fuel;
+        this.maxFuel[i] = maxFuel;
+        this.supplies[i] = supplies;
+        this.cargoCapacity[i] = cargoCapacity;
+        this.spaceLeft[i] = spaceLeft;
+        this.crew[i] = crew;
+        this.minCrew[i] = minCrew;
+        this.days[i] = days;
+        if (inNebula) {
+            nebulaBits[i >>> 6] |= 1L << i;
+        }
+        if (inCorona) {
+            coronaBits[i >>> 6] |= 1L << i;
+        }
+        return i;
+    }
+
+    /** Compute the fuel and supply deltas of every slot. */
+    void compute(RamscoopConfig cfg) {
+        final boolean nebulaFuel = cfg.enable_fuel;
+        final boolean coronaFuel = cfg.enable_fuel && cfg.corona_enable_fuel;
+        final boolean nebulaSupplies = cfg.enable_supplies;
+        final SupplyMode mode = cfg.supply_mode;
+        final float perCrew = cfg.supplies_per_crew;
+
+        for (int i = 0; i < size; i++) {
+            float df = 0f;
+            float ds = 0f;
+            long bit = 1L << i;
+            float max = maxFuel[i];
+            float d = days[i];
+            if ((coronaBits[i >>> 6] & bit) != 0L) {
+                if (coronaFuel) {
+                    float room = cfg.coronaFuelTarget(max) - fuel[i];
+                    float perDay = (float) Math.floor((double) (max * cfg.corona_fuel_per_day));
+                    df = Math.min(perDay * d, room);
+                }
+            } else if ((nebulaBits[i >>> 6] & bit) != 0L) {
+                if (nebulaSupplies && spaceLeft[i] > 0f) {
+                    float room = Math.min(cfg.supplyCap(cargoCapacity[i]) - supplies[i], spaceLeft[i]);
+                    float perDay;
+                    switch (mode) {
+                        case EXTRA_CREW:
+                            perDay = crew[i] > minCrew[i] ? (crew[i] - minCrew[i]) * perCrew : 0f;
+                            break;
+                        case ALL_CREW:
+                            perDay = crew[i] * perCrew;
+                            break;
+                        case NO_CREW_PERCENT:
+                            perDay = (float) Math.floor((double) (cargoCapacity[i] * cfg.no_crew_rate_percent));
+                            break;
+                        case NO_CREW_FLAT:
+                            perDay = cfg.no_crew_rate_flat;
+                            break;
+                        default:
+                            perDay = 0f;
+                    }
+                    ds = Math.min(perDay * d, room);
+                }
+                if (nebulaFuel) {
+                    float room = cfg.nebulaFuelTarget(max) - fuel[i];
+                    float perDay = (float) Math.floor((double) (max * cfg.fuel_per_day));
+                    df = Math.min(perDay * d, room);
+                }
+            }
+            fuelDelta[i] = df > 0f ? df : 0f;
+            supplyDelta[i] = ds > 0f ? ds : 0f;
+        }
+    }
+
+    /** Fuel to add to a slot after {@link #compute}; 0 means no write. */
+    float fuelDelta(int slot) {
+        return fuelDelta[slot];
+    }
+
+    /** Supplies to add to a slot after {@link #compute}; 0 means no write. */
+    float supplyDelta(int slot) {
+        return supplyDelta[slot];
+    }
+
+    private static int words(int slots) {
+        return (slots + 63) >>> 6;
+    }
+
+    private void allocate(int n) {
+        capacity = n;
+        fuel = new float[n];
+        maxFuel = new float[n];
+        supplies = new float[n];
+        cargoCapacity = new float[n];
+        spaceLeft = new float[n];
+        crew = new float[n];
+        minCrew = new float[n];
+        days = new float[n];
+        nebulaBits = new long[words(n)];
+        coronaBits = new long[words(n)];
+        fuelDelta = new float[n];
+        supplyDelta = new float[n];
+    }
+
+    private void grow() {
+        int n = capacity * 2;
+        fuel = copy(fuel, n);
+        maxFuel = copy(maxFuel, n);
+        supplies = copy(supplies, n);
+        cargoCapacity = copy(cargoCapacity, n);
+        spaceLeft = copy(spaceLeft, n);
+        crew = copy(crew, n);
+        minCrew = copy(minCrew, n);
+        days = copy(days, n);
+        fuelDelta = copy(fuelDelta, n);
+        supplyDelta = copy(supplyDelta, n);
+        long[] nb = new long[words(n)];
+        long[] cb = new long[words(n)];
+        System.arraycopy(nebulaBits, 0, nb, 0, nebulaBits.length);
+        System.arraycopy(coronaBits, 0, cb, 0, coronaBits.length);
+        nebulaBits = nb;
+        coronaBits = cb;
+        capacity = n;
+    }
+
+    private static float[] copy(float[] a, int n) {
+        float[] b = new float[n];
+        System.arraycopy(a, 0, b, 0, a.length);
+        return b;
+    }
+}
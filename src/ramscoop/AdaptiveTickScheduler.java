@@ -0,0 +1,72 @@
+package ramscoop;
+
+import java.util.Random;
+
+/**
+ * Decides when the next full evaluation should run. The base cadence matches
+ * the old {@code IntervalUtil(0.09f, 0.11f)}; after each evaluation the caller
+ * reports how far the fleet is from the nearest boundary where its terrain state
+ * could change and how fast it is moving, and the next interval is stretched to
+ * the time-to-contact (with a safety factor), up to {@link #MAX_INTERVAL}.
+ * <p>
+ * Time between evaluations is not lost: the caller accumulates the frame time
+ * and credits all of it on the next evaluation, so a longer interval only
+ * means fewer, larger accrual steps while the terrain state cannot change.
+ */
+final class AdaptiveTickScheduler {
+
+    // Base cadence (seconds), same as the previous fixed interval
+    static final float BASE_MIN = 0.09f;
+    static final float BASE_MAX = 0.11f;
+    // Longest stretch between evaluations (seconds); bounds toggle/cue latency
+    static final float MAX_INTERVAL = 1.0f;
+    // Only use this fraction of the time-to-contact so the boundary is never overshot
+    static final float SAFETY_FACTOR = 0.5f;
+    // Below this speed (units/second) the fleet is treated as stationary
+    static final float MIN_SPEED = 1f;
+
+    private final Random random = new Random();
+    private float elapsed = 0f;
+    private float interval;
+
+    AdaptiveTickScheduler() {
+        interval = baseInterval();
+    }
+
+    /** Advance by the frame time; returns true when an evaluation is due. */
+    boolean advance(float amount) {
+        elapsed += amount;
+        if (elapsed < interval)
+            return false;
+        elapsed = 0f;
+        return true;
+    }
+
+    /**
+     * Plan the next evaluation from the distance (world units) to the nearest
+     * boundary that could change containment and the fleet speed (units per
+     * second). Pass 0 for {@code clearance} to force the base cadence.
+     */
+    void scheduleNext(float clearance, float speed) {
+        float base = baseInterval();
+        if (clearance <= 0f) {
+            interval = base;
+            return;
+        }
+        float timeToContact = speed < MIN_SPEED ? Float.MAX_VALUE : clearance / speed;
+        interval = Math.max(base, Math.min(MAX_INTERVAL, timeToContact * SAFETY_FACTOR));
+    }
+
+    /** Drop any stretch so the next evaluation comes at the base cadence. */
+    void reset() {
+        interval = Math.min(interval, baseInterval());
+    }
+
+    float getInterval() {
+        return interval;
+    }
+
+    private float baseInterval() {
+        return BASE_MIN + (BASE_MAX - BASE_MIN) * random.nextFloat();
+    }
+}
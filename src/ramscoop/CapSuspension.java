@@ -0,0 +1,95 @@
+package ramscoop;
+
+/**
+ * Suspended state for a fleet that cannot gain anything more: fuel is at or
+ * above every enabled fuel target and supplies are capped (or cannot be
+ * generated). While suspended the tick skips generation entirely and only
+ * checks the cheap inputs that could change the outcome: fuel/supplies being
+ * consumed, cargo space freeing up, crew, fleet composition or max fuel
+ * changing, a new location, a new config snapshot, or the scoop toggle. Terrain is still
+ * evaluated for the enter/exit cues when visual feedback is on.
+ */
+final class CapSuspension {
+
+    private boolean suspended = false;
+    private float fuel;
+    private float supplies;
+    private float spaceLeft;
+    private int crew;
+    private int members;
+    private float maxFuel;
+    private Object location;
+    private RamscoopConfig config;
+    private boolean scoopEnabled;
+
+    /**
+     * True when no terrain state could produce fuel or supplies for this fleet:
+     * each resource is disabled, toggled off, capped, or has a zero rate.
+     */
+    static boolean isSaturated(RamscoopConfig cfg, GenerationRates rates, boolean scoopEnabled, float fuel,
+            float supplies, float spaceLeft, float crew, float minCrew) {
+        if (!scoopEnabled)
+            return true;
+        if (cfg.enable_fuel) {
+            // Any terrain below its own target with a non-zero rate can still
+            // generate; corona and hyperspace only count if enabled
+            if (rates.nebulaFuelPerDay > 0f && fuel < rates.nebulaFuelTarget)
+                return false;
+            if (cfg.corona_enable_fuel && rates.coronaFuelPerDay > 0f && fuel < rates.coronaFuelTarget)
+                return false;
+            if (cfg.hyperspace_enable_fuel && rates.hyperspaceFuelPerDay > 0f && fuel < rates.hyperspaceFuelTarget)
+                return false;
+        }
+        if (cfg.enable_supplies) {
+            if (supplies < rates.supplyCap && spaceLeft > 0f && rates.suppliesPerDay(crew, minCrew) > 0f)
+                return false;
+        }
+        return true;
+    }
+
+    boolean isSuspended() {
+        return suspended;
+    }
+
+    /** Enter the suspended state, remembering the inputs that would end it. */
+    void suspend(float fuel, float supplies, float spaceLeft, int crew, int members, float maxFuel,
+            Object location, RamscoopConfig config, boolean scoopEnabled) {
+        this.suspended = true;
+        this.fuel = fuel;
+        this.supplies = supplies;
+        this.spaceLeft = spaceLeft;
+        this.crew = crew;
+        this.members = members;
+        this.maxFuel = maxFuel;
+        this.location = location;
+        this.config = config;
+        this.scoopEnabled = scoopEnabled;
+    }
+
+    /**
+     * True if the fleet is still saturated: nothing was consumed, no space freed,
+     * and crew, fleet size, max fuel (refits), location, config and toggle are
+     * unchanged. Fuel or supplies going up (purchases, salvage) keeps the fleet
+     * capped.
+     */
+    boolean holds(float fuel, float supplies, float spaceLeft, int crew, int members, float maxFuel,
+            Object location, RamscoopConfig config, boolean scoopEnabled) {
+        return suspended
+                && fuel >= this.fuel
+                && supplies >= this.supplies
+                && spaceLeft <= this.spaceLeft
+                && crew == this.crew
+                && members == this.members
+                && maxFuel == this.maxFuel
+                && location == this.location
+                && config == this.config
+                && scoopEnabled == this.scoopEnabled;
+    }
+
+    /** Leave the suspended state; the next tick runs the full evaluation. */
+    void resume() {
+        suspended = false;
+        location = null;
+        config = null;
+    }
+}
@@ -0,0 +1,104 @@
+package ramscoop;
+
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import org.lwjgl.util.vector.Vector2f;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-plugin-class cache of the containsEntity/containsPoint probes used by the
+ * corona scan. Each terrain plugin class is resolved once into MethodHandles;
+ * classes that expose neither method are remembered as unsupported so the scan
+ * skips them without repeating the reflective lookup (and the exception) every
+ * tick.
+ */
+final class CoronaProbeCache {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    // Erased call-site types so invokeExact can be used without boxing
+    private static final MethodType ENTITY_CALL = MethodType.methodType(boolean.class, Object.class,
+            SectorEntityToken.class);
+    private static final MethodType POINT_CALL = MethodType.methodType(boolean.class, Object.class, Vector2f.class);
+
+    /** Resolved probe handles for one plugin class; a null handle means "not available". */
+    static final class Probe {
+        final MethodHandle containsEntity;
+        final MethodHandle containsPoint;
+
+        Probe(MethodHandle containsEntity, MethodHandle containsPoint) {
+            this.containsEntity = containsEntity;
+            this.containsPoint = containsPoint;
+        }
+
+        boolean isSupported() {
+            return containsEntity != null || containsPoint != null;
+        }
+    }
+
+    private static final Probe UNSUPPORTED = new Probe(null, null);
+
+    private final Map<Class<?>, Probe> probes = new HashMap<Class<?>, Probe>();
+
+    /**
+     * Return the cached probe for the given plugin class, resolving it on first
+     * use.
+     */
+    Probe probeFor(Class<?> pluginClass) {
+        Probe probe = probes.get(pluginClass);
+        if (probe == null) {
+            probe = resolve(pluginClass);
+            probes.put(pluginClass, probe);
+        }
+        return probe;
+    }
+
+    /**
+     * Test whether the plugin reports the entity as inside its terrain. Mirrors the
+     * previous reflective logic: containsEntity first, then containsPoint on the
+     * entity location.
+     */
+    boolean contains(Object plugin, SectorEntityToken entity) {
+        if (plugin == null || entity == null)
+            return false;
+        Probe probe = probeFor(plugin.getClass());
+        if (!probe.isSupported())
+            return false;
+        if (probe.containsEntity != null) {
+            try {
+                if ((boolean) probe.containsEntity.invokeExact(plugin, entity))
+                    return true;
+            } catch (Throwable ignored) {
+            }
+        }
+        if (probe.containsPoint != null) {
+            try {
+                if ((boolean) probe.containsPoint.invokeExact(plugin, entity.getLocation()))
+                    return true;
+            } catch (Throwable ignored) {
+            }
+        }
+        return false;
+    }
+
+    private static Probe resolve(Class<?> pluginClass) {
+        MethodHandle entity = find(pluginClass, "containsEntity", SectorEntityToken.class, ENTITY_CALL);
+        MethodHandle point = find(pluginClass, "containsPoint", Vector2f.class, POINT_CALL);
+        if (entity == null && point == null)
+            return UNSUPPORTED;
+        return new Probe(entity, point);
+    }
+
+    private static MethodHandle find(Class<?> pluginClass, String name, Class<?> argType, MethodType callType) {
+        try {
+            Method m = pluginClass.getMethod(name, argType);
+            return LOOKUP.unreflect(m).asType(callType);
+        } catch (Throwable notSupported) {
+            // Missing method, inaccessible class or a non-boolean return type
+            return null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ramscoop;
+
+import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import com.fs.starfarer.api.impl.campaign.terrain.BaseRingTerrain;
+
+/**
+ * Geometry of the vanilla corona rings of the current location, for a typed
+ * corona check without the plugin probes. Each ring's inner and outer radius
+ * ({@code middleRadius -/+ bandWidthInEngine / 2}) is read once when
+ * {@link CoronaTerrainIndex} rebuilds; containment is then a squared-distance
+ * band test against the terrain entity's centre, widened by the fleet's
+ * radius the same way the plugin's own {@code containsEntity} does. A bounding
+ * box around all rings rejects most positions first.
+ * <p>
+ * Rings around an orbiting entity (binary stars) have their centres refreshed
+ * on each update; static rings are never re-read. The star distance fallback
+ * skips stars that have a ring here, so their corona is the real band rather
+ * than the star radius plus {@link StarProximityTable#CORONA_BUFFER}.
+ */
+final class CoronaRingTable {
+
+    private CoronaTerrainIndex source = null;
+    private int builtFrom = -1;
+    private CampaignTerrainAPI[] terrains = new CampaignTerrainAPI[0];
+    private SectorEntityToken[] related = new SectorEntityToken[0];
+    private float[] centreX = new float[0];
+    private float[] centreY = new float[0];
+    private float[] inner = new float[0];
+    private float[] outer = new float[0];
+    private boolean anyOrbiting = false;
+    private int count = 0;
+    // Incremented on every rebuild, so the star table knows when to follow
+    private int rebuilds = 0;
+
+    // Bounding box of every ring's outer circle
+    private float minX, minY, maxX, maxY;
+
+    /**
+     * Follow {@code index}, which must already be updated for the current
+     * location: rebuilds after the index did, refreshes orbiting centres
+     * otherwise.
+     */
+    void update(CoronaTerrainIndex index) {
+        if (index != source || index.getRebuilds() != builtFrom) {
+            rebuild(index);
+        } else if (anyOrbiting) {
+            refreshCentres();
+        }
+    }
+
+    /** True if a point with the given radius overlaps any ring's band. */
+    boolean contains(float x, float y, float radius) {
+        if (x < minX - radius || x > maxX + radius || y < minY - radius || y > maxY + radius)
+            return false;
+        for (int i = 0; i < count; i++) {
+            float dx = x - centreX[i];
+            float dy = y - centreY[i];
+            float d2 = dx * dx + dy * dy;
+            float out = outer[i] + radius;
+            if (d2 > out * out)
+                continue;
+            float in = inner[i] - radius;
+            if (in <= 0f || d2 >= in * in)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Distance from the point to the nearest ring edge, inner or outer (how far
+     * the fleet must move before the result can flip). {@link Float#MAX_VALUE}
+     * without rings. Used for tick scheduling only.
+     */
+    float clearance(float x, float y) {
+        float best = Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float dx = x - centreX[i];
+            float dy = y - centreY[i];
+            float d = (float) Math.sqrt(dx * dx + dy * dy);
+            float gap = Math.abs(d - outer[i]);
+            if (inner[i] > 0f) {
+                gap = Math.min(gap, Math.abs(d - inner[i]));
+            }
+            if (gap < best) {
+                best = gap;
+            }
+        }
+        return best;
+    }
+
+    /** True if a ring belongs to {@code entity} (its params' related entity). */
+    boolean surrounds(SectorEntityToken entity) {
+        for (int i = 0; i < count; i++) {
+            if (related[i] == entity)
+                return true;
+        }
+        return false;
+    }
+
+    /** True if any ring's centre can move on its own. */
+    boolean hasMovingRings() {
+        return anyOrbiting;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int getRebuilds() {
+        return rebuilds;
+    }
+
+    private void rebuild(CoronaTerrainIndex index) {
+        source = index;
+        builtFrom = index.getRebuilds();
+        rebuilds++;
+        anyOrbiting = false;
+        int n = index.ringCount();
+        terrains = new CampaignTerrainAPI[n];
+        related = new SectorEntityToken[n];
+        centreX = new float[n];
+        centreY = new float[n];
+        inner = new float[n];
+        outer = new float[n];
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            CampaignTerrainAPI t = index.getRing(i);
+            try {
+                BaseRingTerrain.RingParams p = ((BaseRingTerrain) t.getPlugin()).getRingParams();
+                if (p == null)
+                    continue;
+                terrains[count] = t;
+                related[count] = p.relatedEntity;
+                inner[count] = Math.max(0f, p.middleRadius - p.bandWidthInEngine / 2f);
+                outer[count] = p.middleRadius + p.bandWidthInEngine / 2f;
+                // The terrain entity follows its star; it only moves if the star does
+                SectorEntityToken mover = p.relatedEntity != null ? p.relatedEntity : t;
+                if (mover.getOrbit() != null) {
+                    anyOrbiting = true;
+                }
+                count++;
+            } catch (Throwable ignored) {
+            }
+        }
+        refreshCentres();
+    }
+
+    private void refreshCentres() {
+        // An inverted box rejects everything until at least one ring is added
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        maxX = -Float.MAX_VALUE;
+        maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float x = terrains[i].getLocation().x;
+            float y = terrains[i].getLocation().y;
+            centreX[i] = x;
+            centreY[i] = y;
+            float r = outer[i];
+            minX = Math.min(minX, x - r);
+            minY = Math.min(minY, y - r);
+            maxX = Math.max(maxX, x + r);
+            maxY = Math.max(maxY, y + r);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package ramscoop;
+
+import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
+import com.fs.starfarer.api.campaign.LocationAPI;
+import com.fs.starfarer.api.campaign.SectorEntityToken;
+import com.fs.starfarer.api.impl.campaign.terrain.StarCoronaTerrainPlugin;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Classification cache for the corona scan. Holds only the terrains of the
+ * current location that look like a corona (by terrain type or plugin class
+ * name) and rebuilds when the location changes, when a cached terrain
+ * expires, or when a revalidation every {@link #REVALIDATE_INTERVAL} seconds
+ * sees a different terrain set (a corona or nebula added to the current
+ * location). Between rebuilds the per-tick cost depends only on the handful of
+ * candidates, not on every asteroid field and ring band in the system, and
+ * nothing is allocated: the terrain list is only copied on a rebuild, and the
+ * revalidation walks the location's entity list in place, comparing the
+ * terrain count and each terrain's identity with those of the last rebuild.
+ * <p>
+ * Coronas whose plugin is exactly the vanilla {@link StarCoronaTerrainPlugin}
+ * are kept apart as rings: {@link CoronaRingTable} tests them from their ring
+ * geometry, so only other (modded) corona terrains go through the probes.
+ * <p>
+ * The rebuild also keeps the location's nebula terrains, which the nebula
+ * detector queries directly and the tick scheduler uses to know whether a
+ * nebula boundary could be nearby.
+ */
+final class CoronaTerrainIndex {
+
+    // How often (seconds) to check for added/removed terrains while staying in
+    // the same location
+    static final float REVALIDATE_INTERVAL = 30f;
+
+    private LocationAPI location = null;
+    private CampaignTerrainAPI[] candidates = new CampaignTerrainAPI[4];
+    private int count = 0;
+    private CampaignTerrainAPI[] nebulas = new CampaignTerrainAPI[2];
+    private int nebulaCount = 0;
+    private CampaignTerrainAPI[] rings = new CampaignTerrainAPI[2];
+    private int ringCount = 0;
+    // Incremented on every rebuild, so dependent tables know when to follow
+    private int rebuilds = 0;
+    // Every terrain of the location at the last rebuild, in entity-list order,
+    // for the revalidation
+    private CampaignTerrainAPI[] known = new CampaignTerrainAPI[8];
+    private int knownCount = 0;
+    private float revalidateTimer = 0f;
+
+    /**
+     * Make sure the index describes {@code loc}; true if it was rebuilt. No
+     * periodic revalidation, for callers that revisit locations anyway.
+     */
+    boolean update(LocationAPI loc) {
+        return update(loc, 0f);
+    }
+
+    /**
+     * Make sure the index describes {@code loc}; true if it was rebuilt.
+     * {@code elapsed} is the time (seconds) since the previous call and drives
+     * the periodic revalidation.
+     */
+    boolean update(LocationAPI loc, float elapsed) {
+        if (loc != location) {
+            rebuild(loc);
+            return true;
+        }
+        if (loc == null)
+            return false;
+        for (int i = 0; i < count; i++) {
+            if (candidates[i].isExpired()) {
+                rebuild(loc);
+                return true;
+            }
+        }
+        for (int i = 0; i < nebulaCount; i++) {
+            if (nebulas[i].isExpired()) {
+                rebuild(loc);
+                return true;
+            }
+        }
+        for (int i = 0; i < ringCount; i++) {
+            if (rings[i].isExpired()) {
+                rebuild(loc);
+                return true;
+            }
+        }
+        revalidateTimer += elapsed;
+        if (revalidateTimer >= REVALIDATE_INTERVAL) {
+            revalidateTimer = 0f;
+            if (terrainChanged(loc)) {
+                rebuild(loc);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Drop all cached state; the next update rebuilds from scratch. */
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            candidates[i] = null;
+        }
+        count = 0;
+        for (int i = 0; i < nebulaCount; i++) {
+            nebulas[i] = null;
+        }
+        nebulaCount = 0;
+        for (int i = 0; i < ringCount; i++) {
+            rings[i] = null;
+        }
+        ringCount = 0;
+        for (int i = 0; i < knownCount; i++) {
+            known[i] = null;
+        }
+        knownCount = 0;
+        location = null;
+        revalidateTimer = 0f;
+    }
+
+    /** Corona candidates that need the probes (not vanilla rings). */
+    int size() {
+        return count;
+    }
+
+    CampaignTerrainAPI get(int index) {
+        return candidates[index];
+    }
+
+    /** True if the indexed location has at least one nebula-like terrain. */
+    boolean hasNebula() {
+        return nebulaCount > 0;
+    }
+
+    int nebulaCount() {
+        return nebulaCount;
+    }
+
+    CampaignTerrainAPI getNebula(int index) {
+        return nebulas[index];
+    }
+
+    /** Vanilla corona rings of the location. */
+    int ringCount() {
+        return ringCount;
+    }
+
+    CampaignTerrainAPI getRing(int index) {
+        return rings[index];
+    }
+
+    LocationAPI getLocation() {
+        return location;
+    }
+
+    int getRebuilds() {
+        return rebuilds;
+    }
+
+    private void rebuild(LocationAPI loc) {
+        clear();
+        rebuilds++;
+        location = loc;
+        if (loc == null)
+            return;
+        List<CampaignTerrainAPI> terrain = loc.getTerrainCopy();
+        if (terrain == null)
+            return;
+        recordKnown(loc);
+        for (int i = 0, n = terrain.size(); i < n; i++) {
+            CampaignTerrainAPI t = terrain.get(i);
+            if (isVanillaCorona(t)) {
+                addRing(t);
+            } else if (looksCorona(t)) {
+                add(t);
+            } else if (looksNebula(t)) {
+                addNebula(t);
+            }
+        }
+    }
+
+    private void add(CampaignTerrainAPI t) {
+        if (count == candidates.length) {
+            CampaignTerrainAPI[] grown = new CampaignTerrainAPI[count * 2];
+            System.arraycopy(candidates, 0, grown, 0, count);
+            candidates = grown;
+        }
+        candidates[count++] = t;
+    }
+
+    private void addNebula(CampaignTerrainAPI t) {
+        if (nebulaCount == nebulas.length) {
+            CampaignTerrainAPI[] grown = new CampaignTerrainAPI[nebulaCount * 2];
+            System.arraycopy(nebulas, 0, grown, 0, nebulaCount);
+            nebulas = grown;
+        }
+        nebulas[nebulaCount++] = t;
+    }
+
+    private void addRing(CampaignTerrainAPI t) {
+        if (ringCount == rings.length) {
+            CampaignTerrainAPI[] grown = new CampaignTerrainAPI[ringCount * 2];
+            System.arraycopy(rings, 0, grown, 0, ringCount);
+            rings = grown;
+        }
+        rings[ringCount++] = t;
+    }
+
+    // Same terrain count as the last rebuild and the same terrain at each
+    // position; walks the live entity list, so nothing is copied
+    private boolean terrainChanged(LocationAPI loc) {
+        List<SectorEntityToken> entities = allEntities(loc);
+        if (entities == null)
+            return false;
+        // Known terrains match by identity; only the other entities need a type check
+        int terrains = 0;
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            SectorEntityToken e = entities.get(i);
+            if (terrains < knownCount && known[terrains] == e) {
+                terrains++;
+            } else if (e instanceof CampaignTerrainAPI) {
+                return true;
+            }
+        }
+        return terrains != knownCount;
+    }
+
+    private void recordKnown(LocationAPI loc) {
+        List<SectorEntityToken> entities = allEntities(loc);
+        if (entities == null)
+            return;
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            SectorEntityToken e = entities.get(i);
+            if (!(e instanceof CampaignTerrainAPI))
+                continue;
+            if (knownCount == known.length) {
+                CampaignTerrainAPI[] grown = new CampaignTerrainAPI[knownCount * 2];
+                System.arraycopy(known, 0, grown, 0, knownCount);
+                known = grown;
+            }
+            known[knownCount++] = (CampaignTerrainAPI) e;
+        }
+    }
+
+    private static List<SectorEntityToken> allEntities(LocationAPI loc) {
+        try {
+            return loc.getAllEntities();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    // Exactly the vanilla class: subclasses (black holes, modded coronas) may
+    // override containment, so they stay with the probes
+    static boolean isVanillaCorona(CampaignTerrainAPI t) {
+        if (t == null)
+            return false;
+        try {
+            Object plugin = t.getPlugin();
+            return plugin != null && plugin.getClass() == StarCoronaTerrainPlugin.class;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
+    static boolean looksCorona(CampaignTerrainAPI t) {
+        return looksLike(t, "corona");
+    }
+
+    static boolean looksNebula(CampaignTerrainAPI t) {
+        return looksLike(t, "nebula");
+    }
+
+    // Match on the terrain type first, then on the plugin class name
+    private static boolean looksLike(CampaignTerrainAPI t, String word) {
+        if (t == null)
+            return false;
+        try {
+            String type = t.getType();
+            if (type != null && type.toLowerCase(Locale.ROOT).contains(word))
+                return true;
+        } catch (Throwable ignored) {
+        }
+        try {
+            Object plugin = t.getPlugin();
+            if (plugin != null) {
+                return plugin.getClass().getName().toLowerCase(Locale.ROOT).contains(word);
+            }
+        } catch (Throwable ignored) {
+        }
+        return false;
+    }
+}
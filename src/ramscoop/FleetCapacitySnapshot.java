@@ -0,0 +1,57 @@
+package ramscoop;
+
+/**
+ * Cached fleet capacity: max fuel, max cargo and minimum crew. The game
+ * computes these from the fleet's members, so they are only re-queried when
+ * the composition fingerprint changes (a different fleet or fleet data object,
+ * or a different member count) or the snapshot is older than
+ * {@link #REVALIDATE_SECONDS}. The age limit picks up refits and damage, which
+ * change the values without changing the member count; the members are not
+ * hashed because listing them allocates a copy every time.
+ * <p>
+ * Fuel, supplies, crew and free cargo space change with the cargo rather than
+ * the composition and are still read every tick. This class deliberately has
+ * no Starsector API dependencies.
+ */
+final class FleetCapacitySnapshot {
+
+    /** Longest a snapshot is used before the values are re-queried. */
+    static final float REVALIDATE_SECONDS = 2f;
+
+    private Object fleet = null;
+    private Object fleetData = null;
+    private int members = -1;
+    private float age = 0f;
+
+    float maxFuel;
+    float maxCapacity;
+    float minCrew;
+
+    /**
+     * Age the snapshot by {@code seconds} and report whether it must be
+     * refreshed for this fleet before use.
+     */
+    boolean isStale(Object fleet, Object fleetData, int members, float seconds) {
+        age += seconds;
+        return fleet != this.fleet || fleetData != this.fleetData || members != this.members
+                || age >= REVALIDATE_SECONDS;
+    }
+
+    /** Store freshly queried values for the given fingerprint. */
+    void set(Object fleet, Object fleetData, int members, float maxFuel, float maxCapacity, float minCrew) {
+        this.fleet = fleet;
+        this.fleetData = fleetData;
+        this.members = members;
+        this.maxFuel = maxFuel;
+        this.maxCapacity = maxCapacity;
+        this.minCrew = minCrew;
+        age = 0f;
+    }
+
+    /** Force a refresh on the next {@link #isStale} check. */
+    void invalidate() {
+        fleet = null;
+        fleetData = null;
+        members = -1;
+    }
+}
@@ -0,0 +1,305 @@
+package ramscoop;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fuel and supplies generated for the player fleet, per campaign day and per
+ * star system, kept in the sector's persistent data so it survives saves.
+ * <p>
+ * Storage is fixed-size primitive arrays: a ring of the last {@link #DAYS}
+ * days split by source (nebula fuel, nebula supplies, corona fuel, deep
+ * hyperspace fuel), and
+ * running totals for up to {@link #SYSTEMS} systems, where a new system
+ * replaces the one credited longest ago (hyperspace is not a system and only
+ * has the per-day column). The save footprint therefore stays
+ * the same however long the campaign runs, and recording a tick allocates
+ * nothing.
+ * <p>
+ * The arrays live in a plain map under {@link #PERSISTENT_KEY}, so they are
+ * updated in place and saved with the sector, and the save holds only JDK
+ * types: it still loads if the mod is removed. Days are counted from the
+ * first timestamp the ledger saw ({@link #start}). Updated from the game
+ * thread only. This class deliberately has no Starsector API dependencies.
+ */
+public final class GenerationLedger {
+
+    /** Key in {@code SectorAPI.getPersistentData()}. */
+    public static final String PERSISTENT_KEY = "ramscoop_generation_ledger";
+    /** Days kept in the ring (a power of two). */
+    public static final int DAYS = 128;
+    /** Systems with their own totals. */
+    public static final int SYSTEMS = 32;
+
+    // Clock timestamp of day 0 in element 0; Long.MIN_VALUE until started
+    private final long[] epoch;
+
+    // Ring rows, indexed by day & (DAYS - 1); dayOfRow is -1 for unused rows
+    private final int[] dayOfRow;
+    private final float[] nebulaFuel;
+    private final float[] nebulaSupplies;
+    private final float[] coronaFuel;
+    private final float[] hyperspaceFuel;
+
+    // Per-system totals since the system got its slot
+    private final String[] systemIds;
+    private final int[] systemLastDay;
+    private final float[] systemNebulaFuel;
+    private final float[] systemNebulaSupplies;
+    private final float[] systemCoronaFuel;
+
+    // Last system looked up
+    private String lastSystemId;
+    private int lastSystemSlot;
+
+    /** A ledger that is not stored anywhere (tests, or before a game is loaded). */
+    public GenerationLedger() {
+        this(new HashMap<String, Object>());
+    }
+
+    /**
+     * A ledger whose arrays live in {@code data}; missing or wrongly sized
+     * arrays are created there.
+     */
+    GenerationLedger(Map<String, Object> data) {
+        epoch = longs(data, "epoch", 1, Long.MIN_VALUE);
+        dayOfRow = ints(data, "dayOfRow", DAYS, -1);
+        nebulaFuel = floats(data, "nebulaFuel", DAYS);
+        nebulaSupplies = floats(data, "nebulaSupplies", DAYS);
+        coronaFuel = floats(data, "coronaFuel", DAYS);
+        hyperspaceFuel = floats(data, "hyperspaceFuel", DAYS);
+        systemIds = strings(data, "systemIds", SYSTEMS);
+        systemLastDay = ints(data, "systemLastDay", SYSTEMS, 0);
+        systemNebulaFuel = floats(data, "systemNebulaFuel", SYSTEMS);
+        systemNebulaSupplies = floats(data, "systemNebulaSupplies", SYSTEMS);
+        systemCoronaFuel = floats(data, "systemCoronaFuel", SYSTEMS);
+    }
+
+    /** The ledger kept in a sector's persistent data, created there if missing. */
+    @SuppressWarnings("unchecked")
+    public static GenerationLedger in(Map<String, Object> persistentData) {
+        Object data = persistentData.get(PERSISTENT_KEY);
+        if (!(data instanceof Map)) {
+            data = new HashMap<String, Object>();
+            persistentData.put(PERSISTENT_KEY, data);
+        }
+        return new GenerationLedger((Map<String, Object>) data);
+    }
+
+    /** Set day 0 to {@code timestamp} unless the ledger has already started. */
+    void start(long timestamp) {
+        if (epoch[0] == Long.MIN_VALUE) {
+            epoch[0] = timestamp;
+        }
+    }
+
+    boolean isStarted() {
+        return epoch[0] != Long.MIN_VALUE;
+    }
+
+    /** Timestamp of day 0 (only meaningful once {@link #isStarted()}). */
+    long getEpoch() {
+        return epoch[0];
+    }
+
+    /** Day number for a time {@code daysSinceEpoch} days after day 0. */
+    static int dayNumber(float daysSinceEpoch) {
+        return daysSinceEpoch <= 0f ? 0 : (int) daysSinceEpoch;
+    }
+
+    /** Credit nebula generation on {@code day} to {@code systemId} (may be null). */
+    void recordNebula(int day, String systemId, float fuel, float supplies) {
+        int row = row(day);
+        nebulaFuel[row] += fuel;
+        nebulaSupplies[row] += supplies;
+        int slot = systemSlot(systemId, day);
+        if (slot >= 0) {
+            systemNebulaFuel[slot] += fuel;
+            systemNebulaSupplies[slot] += supplies;
+        }
+    }
+
+    /** Credit corona fuel on {@code day} to {@code systemId} (may be null). */
+    void recordCorona(int day, String systemId, float fuel) {
+        int row = row(day);
+        coronaFuel[row] += fuel;
+        int slot = systemSlot(systemId, day);
+        if (slot >= 0) {
+            systemCoronaFuel[slot] += fuel;
+        }
+    }
+
+    /** Credit deep-hyperspace fuel on {@code day}. */
+    void recordHyperspace(int day, float fuel) {
+        hyperspaceFuel[row(day)] += fuel;
+    }
+
+    /** Newest day with a row, or -1 if nothing was recorded. */
+    public int getLatestDay() {
+        int latest = -1;
+        for (int i = 0; i < DAYS; i++) {
+            if (dayOfRow[i] > latest) {
+                latest = dayOfRow[i];
+            }
+        }
+        return latest;
+    }
+
+    /** Nebula fuel generated on {@code day}; 0 if that day is not (or no longer) in the ring. */
+    public float getNebulaFuel(int day) {
+        int row = day & (DAYS - 1);
+        return dayOfRow[row] == day ? nebulaFuel[row] : 0f;
+    }
+
+    public float getNebulaSupplies(int day) {
+        int row = day & (DAYS - 1);
+        return dayOfRow[row] == day ? nebulaSupplies[row] : 0f;
+    }
+
+    public float getCoronaFuel(int day) {
+        int row = day & (DAYS - 1);
+        return dayOfRow[row] == day ? coronaFuel[row] : 0f;
+    }
+
+    public float getHyperspaceFuel(int day) {
+        int row = day & (DAYS - 1);
+        return dayOfRow[row] == day ? hyperspaceFuel[row] : 0f;
+    }
+
+    /** System whose totals are in {@code slot} (0 to SYSTEMS - 1), or null if the slot is unused. */
+    public String getSystemId(int slot) {
+        return systemIds[slot];
+    }
+
+    public float getSystemNebulaFuel(int slot) {
+        return systemNebulaFuel[slot];
+    }
+
+    public float getSystemNebulaSupplies(int slot) {
+        return systemNebulaSupplies[slot];
+    }
+
+    public float getSystemCoronaFuel(int slot) {
+        return systemCoronaFuel[slot];
+    }
+
+    /** Human-readable summary of the last {@code days} days and the per-system totals. */
+    public String summary(int days) {
+        int latest = getLatestDay();
+        float nf = 0f;
+        float ns = 0f;
+        float cf = 0f;
+        float hf = 0f;
+        for (int d = Math.max(0, latest - Math.min(days, DAYS) + 1); d <= latest; d++) {
+            nf += getNebulaFuel(d);
+            ns += getNebulaSupplies(d);
+            cf += getCoronaFuel(d);
+            hf += getHyperspaceFuel(d);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT,
+                "[Ramscoop] Generation over the last %d days: nebula fuel=%.1f supplies=%.1f, corona fuel=%.1f,"
+                        + " hyperspace fuel=%.1f",
+                days, nf, ns, cf, hf));
+        for (int i = 0; i < SYSTEMS; i++) {
+            if (systemIds[i] != null) {
+                sb.append(String.format(Locale.ROOT, "%n  %-24s nebula fuel=%.1f supplies=%.1f, corona fuel=%.1f",
+                        systemIds[i], systemNebulaFuel[i], systemNebulaSupplies[i], systemCoronaFuel[i]));
+            }
+        }
+        return sb.toString();
+    }
+
+    // Row for day, cleared if it still holds an older day
+    private int row(int day) {
+        int row = day & (DAYS - 1);
+        if (dayOfRow[row] != day) {
+            dayOfRow[row] = day;
+            nebulaFuel[row] = 0f;
+            nebulaSupplies[row] = 0f;
+            coronaFuel[row] = 0f;
+            hyperspaceFuel[row] = 0f;
+        }
+        return row;
+    }
+
+    private int systemSlot(String systemId, int day) {
+        if (systemId == null)
+            return -1;
+        int slot;
+        if (systemId == lastSystemId) {
+            slot = lastSystemSlot;
+        } else {
+            slot = findOrClaim(systemId);
+            lastSystemId = systemId;
+            lastSystemSlot = slot;
+        }
+        systemLastDay[slot] = day;
+        return slot;
+    }
+
+    // Existing slot, else an empty one, else the system credited longest ago
+    private int findOrClaim(String systemId) {
+        int free = -1;
+        int oldest = 0;
+        for (int i = 0; i < SYSTEMS; i++) {
+            String id = systemIds[i];
+            if (id == null) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (id.equals(systemId)) {
+                return i;
+            } else if (systemLastDay[i] < systemLastDay[oldest]) {
+                oldest = i;
+            }
+        }
+        int slot = free >= 0 ? free : oldest;
+        systemIds[slot] = systemId;
+        systemLastDay[slot] = 0;
+        systemNebulaFuel[slot] = 0f;
+        systemNebulaSupplies[slot] = 0f;
+        systemCoronaFuel[slot] = 0f;
+        return slot;
+    }
+
+    private static long[] longs(Map<String, Object> data, String key, int length, long initial) {
+        Object v = data.get(key);
+        if (v instanceof long[] && ((long[]) v).length == length)
+            return (long[]) v;
+        long[] a = new long[length];
+        Arrays.fill(a, initial);
+        data.put(key, a);
+        return a;
+    }
+
+    private static int[] ints(Map<String, Object> data, String key, int length, int initial) {
+        Object v = data.get(key);
+        if (v instanceof int[] && ((int[]) v).length == length)
+            return (int[]) v;
+        int[] a = new int[length];
+        Arrays.fill(a, initial);
+        data.put(key, a);
+        return a;
+    }
+
+    private static float[] floats(Map<String, Object> data, String key, int length) {
+        Object v = data.get(key);
+        if (v instanceof float[] && ((float[]) v).length == length)
+            return (float[]) v;
+        float[] a = new float[length];
+        data.put(key, a);
+        return a;
+    }
+
+    private static String[] strings(Map<String, Object> data, String key, int length) {
+        Object v = data.get(key);
+        if (v instanceof String[] && ((String[]) v).length == length)
+            return (String[]) v;
+        String[] a = new String[length];
+        data.put(key, a);
+        return a;
+    }
+}
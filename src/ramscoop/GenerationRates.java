@@ -0,0 +1,64 @@
+package ramscoop;
+
+/**
+ * Per-fleet generation rates and caps derived from the config snapshot and the
+ * fleet's capacity. They only change when the fleet's max fuel / max cargo or
+ * the config change, so they are recomputed on those changes instead of on
+ * every tick. Crew-dependent supply rates are left to {@link SupplyMode}.
+ */
+final class GenerationRates {
+
+    private RamscoopConfig config = null;
+    private float maxFuel = -1f;
+    private float maxCapacity = -1f;
+
+    // Fuel per day (whole units, floored as before) and fuel targets (cap - margin)
+    float nebulaFuelPerDay;
+    float coronaFuelPerDay;
+    float hyperspaceFuelPerDay;
+    float nebulaFuelTarget;
+    float coronaFuelTarget;
+    float hyperspaceFuelTarget;
+    // Supply cap and rates
+    float supplyCap;
+    float suppliesPerCrew;
+    float noCrewPercentPerDay;
+    float noCrewFlatPerDay;
+    SupplyMode supplyMode = SupplyMode.NONE;
+
+    /**
+     * Refresh the cached values if the config or the fleet capacity changed.
+     * Returns true if anything was recomputed.
+     */
+    boolean update(RamscoopConfig cfg, float maxFuel, float maxCapacity) {
+        if (cfg == config && maxFuel == this.maxFuel && maxCapacity == this.maxCapacity)
+            return false;
+        config = cfg;
+        this.maxFuel = maxFuel;
+        this.maxCapacity = maxCapacity;
+        nebulaFuelPerDay = (float) Math.floor((double) (maxFuel * cfg.fuel_per_day));
+        coronaFuelPerDay = (float) Math.floor((double) (maxFuel * cfg.corona_fuel_per_day));
+        hyperspaceFuelPerDay = (float) Math.floor((double) (maxFuel * cfg.hyperspace_fuel_per_day));
+        nebulaFuelTarget = cfg.nebulaFuelTarget(maxFuel);
+        coronaFuelTarget = cfg.coronaFuelTarget(maxFuel);
+        hyperspaceFuelTarget = cfg.hyperspaceFuelTarget(maxFuel);
+        supplyCap = cfg.supplyCap(maxCapacity);
+        suppliesPerCrew = cfg.supplies_per_crew;
+        noCrewPercentPerDay = (float) Math.floor((double) (maxCapacity * cfg.no_crew_rate_percent));
+        noCrewFlatPerDay = cfg.no_crew_rate_flat;
+        supplyMode = cfg.supply_mode;
+        return true;
+    }
+
+    /** Supplies per day for the current crew under the configured mode. */
+    float suppliesPerDay(float crew, float minCrew) {
+        return supplyMode.suppliesPerDay(this, crew, minCrew);
+    }
+
+    /** Forget the cached inputs so the next update recomputes. */
+    void invalidate() {
+        config = null;
+        maxFuel = -1f;
+        maxCapacity = -1f;
+    }
+}
@@ -0,0 +1,100 @@
+package ramscoop;
+
+import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
+import com.fs.starfarer.api.campaign.LocationAPI;
+import com.fs.starfarer.api.impl.campaign.terrain.BaseTiledTerrain;
+import com.fs.starfarer.api.impl.campaign.terrain.HyperspaceTerrainPlugin;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deep-hyperspace detection in constant time. Hyperspace keeps its clouds in
+ * the tile grid of a single {@link HyperspaceTerrainPlugin}; that terrain is
+ * found once per location (the only pass over the terrain list) and afterwards
+ * a query is an index computation and one array read at the fleet position.
+ * The grid itself is re-read on every query, so clouds that form or dissipate
+ * are seen at once and nothing is allocated.
+ * <p>
+ * The grid is centred on the terrain entity and empty cells are negative,
+ * the same layout {@link NebulaDetector} reads for nebulae.
+ */
+final class HyperspaceCloudGrid {
+
+    private LocationAPI location = null;
+    private CampaignTerrainAPI terrain = null;
+    private BaseTiledTerrain plugin = null;
+
+    /**
+     * Make sure the grid belongs to {@code loc}; looks the hyperspace terrain up
+     * again on a location change or once the cached terrain has expired.
+     */
+    void update(LocationAPI loc) {
+        if (loc == location && (terrain == null || !terrain.isExpired()))
+            return;
+        location = loc;
+        terrain = null;
+        plugin = null;
+        if (loc == null)
+            return;
+        List<CampaignTerrainAPI> all = loc.getTerrainCopy();
+        if (all == null)
+            return;
+        for (int i = 0, n = all.size(); i < n; i++) {
+            CampaignTerrainAPI t = all.get(i);
+            if (isHyperspaceTerrain(t)) {
+                terrain = t;
+                plugin = (BaseTiledTerrain) t.getPlugin();
+                return;
+            }
+        }
+    }
+
+    /** True if the location has a hyperspace tile grid to query. */
+    boolean hasGrid() {
+        return plugin != null;
+    }
+
+    /** True if the point lies in a deep-hyperspace cloud cell. */
+    boolean inClouds(float x, float y) {
+        if (plugin == null)
+            return false;
+        try {
+            int[][] tiles = plugin.getTiles();
+            float size = plugin.getTileSize();
+            if (tiles == null || tiles.length == 0 || tiles[0] == null || size <= 0f)
+                return false;
+            float left = terrain.getLocation().x - tiles.length * size / 2f;
+            float bottom = terrain.getLocation().y - tiles[0].length * size / 2f;
+            int xi = (int) Math.floor((x - left) / size);
+            int yi = (int) Math.floor((y - bottom) / size);
+            if (xi < 0 || yi < 0 || xi >= tiles.length || yi >= tiles[xi].length)
+                return false;
+            return tiles[xi][yi] >= 0;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
+    /** Forget the cached terrain; the next update looks it up again. */
+    void clear() {
+        location = null;
+        terrain = null;
+        plugin = null;
+    }
+
+    // The vanilla plugin class, or a tiled terrain of type "hyperspace"
+    private static boolean isHyperspaceTerrain(CampaignTerrainAPI t) {
+        if (t == null)
+            return false;
+        try {
+            Object p = t.getPlugin();
+            if (p instanceof HyperspaceTerrainPlugin)
+                return true;
+            String type = t.getType();
+            return p instanceof BaseTiledTerrain && type != null
+                    && type.toLowerCase(Locale.ROOT).contains("hyperspace");
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ramscoop;
+
+import com.fs.starfarer.api.Global;
+import org.apache.log4j.Logger;
+
+/**
+ * Binds {@link RamscoopLog} to the game's log4j logger (starsector.log).
+ */
+final class Log4jLogSink implements RamscoopLog.Sink {
+
+    private final Logger logger;
+
+    Log4jLogSink(Class<?> owner) {
+        this.logger = Global.getLogger(owner);
+    }
+
+    /** Facade for {@code owner} writing to starsector.log. */
+    static RamscoopLog logFor(Class<?> owner) {
+        return new RamscoopLog(new Log4jLogSink(owner));
+    }
+
+    public boolean isEnabled(RamscoopLog.Level level) {
+        switch (level) {
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            default:
+                return true;
+        }
+    }
+
+    public void write(RamscoopLog.Level level, String message, Throwable t) {
+        switch (level) {
+            case DEBUG:
+                logger.debug(message, t);
+                break;
+            case INFO:
+                logger.info(message, t);
+                break;
+            case WARN:
+                logger.warn(message, t);
+                break;
+            default:
+                logger.error(message, t);
+        }
+    }
+}
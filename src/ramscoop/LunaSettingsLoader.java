@@ -0,0 +1,198 @@
+// Generated by .github/scripts/generate-settings-loader.py from
+// data/config/LunaSettings.csv. Do not edit; change the CSV or the generator's
+// binding table and run `npm run generate:settings`.
+package ramscoop;
+
+import java.awt.Color;
+import lunalib.lunaSettings.LunaSettings;
+
+/**
+ * Reads every LunaLib setting of this mod into the {@link ModPlugin} loading
+ * fields. Each key is fetched once; numbers are clamped to the CSV's slider
+ * range and percent sliders are converted to fractions. Legacy keys are read
+ * only when the current key has no value. A key that cannot be read keeps the
+ * field's previous value, except the required ones, which fail the load.
+ */
+final class LunaSettingsLoader {
+
+    private LunaSettingsLoader() {
+    }
+
+    static void load() {
+        Boolean b;
+        Double d;
+        Integer i;
+        String s;
+        Color c;
+        b = readBoolean("ramscoop_enable_fuel");
+        if (b == null)
+            throw new IllegalStateException("LunaLib setting 'ramscoop_enable_fuel' is not available");
+        ModPlugin.enable_fuel = b;
+        b = readBoolean("ramscoop_enable_supplies");
+        if (b == null)
+            throw new IllegalStateException("LunaLib setting 'ramscoop_enable_supplies' is not available");
+        ModPlugin.enable_supplies = b;
+        d = readDouble("nebula_fuel_per_day");
+        if (d == null)
+            throw new IllegalStateException("LunaLib setting 'nebula_fuel_per_day' is not available");
+        ModPlugin.fuel_per_day = (float) clamp(d, 0.0, 100.0) / 100f;
+        b = readBoolean("ramscoop_toggle_default_on");
+        if (b != null)
+            ModPlugin.scoop_toggle_default_on = b;
+        b = readBoolean("ramscoop_enable_npc_fleets");
+        if (b != null)
+            ModPlugin.enable_npc_fleets = b;
+        i = readInt("ramscoop_npc_fleets_per_frame");
+        if (i != null)
+            ModPlugin.npc_fleets_per_frame = clamp(i, 1, 100);
+        d = readDouble("nebula_percent_fuel_limit");
+        if (d != null)
+            ModPlugin.nebula_percent_fuel_limit = (float) clamp(d, 0.0, 100.0) / 100f;
+        d = readDouble("nebula_hard_fuel_limit");
+        if (d != null)
+            ModPlugin.nebula_hard_fuel_limit = (float) clamp(d, 0.0, 100000.0);
+        d = readDouble("nebula_fuel_cap_margin");
+        if (d != null)
+            ModPlugin.nebula_fuel_cap_margin = (float) clamp(d, 0.0, 1000.0);
+        d = readDouble("ramscoop_percent_supply_limit");
+        if (d != null)
+            ModPlugin.percent_supply_limit = (float) clamp(d, 0.1, 1.0);
+        d = readDouble("ramscoop_hard_supply_limit");
+        if (d != null)
+            ModPlugin.hard_supply_limit = (float) clamp(d, 0.0, 10000.0);
+        d = readDouble("ramscoop_supply_per_crew");
+        if (d != null)
+            ModPlugin.supplies_per_crew = (float) clamp(d, 0.0, 100.0);
+        s = readString("nebula_crew_usage");
+        if (s == null)
+            s = readString("ramscoop_crew_usage");
+        if (s != null)
+            ModPlugin.crew_usage = s;
+        s = readString("nebula_no_crew_gen");
+        if (s == null)
+            s = readString("ramscoop_no_crew_gen");
+        if (s != null)
+            ModPlugin.no_crew_gen = s;
+        d = readDouble("nebula_no_crew_rate_percent");
+        if (d == null)
+            d = readDouble("ramscoop_no_crew_rate_percent");
+        if (d != null)
+            ModPlugin.no_crew_rate_percent = (float) clamp(d, 0.0, 100.0) / 100f;
+        d = readDouble("nebula_no_crew_rate_flat");
+        if (d == null)
+            d = readDouble("ramscoop_no_crew_rate_flat");
+        if (d != null)
+            ModPlugin.no_crew_rate_flat = (float) clamp(d, 0.0, 1000.0);
+        b = readBoolean("corona_enable_fuel");
+        if (b != null)
+            ModPlugin.corona_enable_fuel = b;
+        d = readDouble("corona_fuel_per_day");
+        if (d != null)
+            ModPlugin.corona_fuel_per_day = (float) clamp(d, 0.0, 100.0) / 100f;
+        b = readBoolean("corona_caps_reuse");
+        if (b != null)
+            ModPlugin.corona_caps_reuse = b;
+        d = readDouble("corona_percent_fuel_limit");
+        if (d != null)
+            ModPlugin.corona_percent_fuel_limit = (float) clamp(d, 0.0, 100.0) / 100f;
+        d = readDouble("corona_hard_fuel_limit");
+        if (d != null)
+            ModPlugin.corona_hard_fuel_limit = (float) clamp(d, 0.0, 100000.0);
+        d = readDouble("corona_fuel_cap_margin");
+        if (d != null)
+            ModPlugin.corona_fuel_cap_margin = (float) clamp(d, 0.0, 1000.0);
+        b = readBoolean("hyperspace_enable_fuel");
+        if (b != null)
+            ModPlugin.hyperspace_enable_fuel = b;
+        d = readDouble("hyperspace_fuel_per_day");
+        if (d != null)
+            ModPlugin.hyperspace_fuel_per_day = (float) clamp(d, 0.0, 100.0) / 100f;
+        d = readDouble("hyperspace_percent_fuel_limit");
+        if (d != null)
+            ModPlugin.hyperspace_percent_fuel_limit = (float) clamp(d, 0.0, 100.0) / 100f;
+        d = readDouble("hyperspace_hard_fuel_limit");
+        if (d != null)
+            ModPlugin.hyperspace_hard_fuel_limit = (float) clamp(d, 0.0, 100000.0);
+        d = readDouble("hyperspace_fuel_cap_margin");
+        if (d != null)
+            ModPlugin.hyperspace_fuel_cap_margin = (float) clamp(d, 0.0, 1000.0);
+        b = readBoolean("ramscoop_enable_visual_feedback");
+        if (b != null)
+            ModPlugin.enable_visual_feedback = b;
+        d = readDouble("ramscoop_floating_text_scale");
+        if (d != null)
+            ModPlugin.floating_text_duration = (float) clamp(d, 0.1, 3.0);
+        b = readBoolean("ramscoop_notify_nebula_entry");
+        if (b != null)
+            ModPlugin.notify_nebula_entry = b;
+        c = readColor("ramscoop_color_nebula_active_v2");
+        if (c != null)
+            ModPlugin.color_nebula_active = c;
+        b = readBoolean("ramscoop_notify_nebula_exit");
+        if (b != null)
+            ModPlugin.notify_nebula_exit = b;
+        c = readColor("ramscoop_color_nebula_inactive_v2");
+        if (c != null)
+            ModPlugin.color_nebula_inactive = c;
+        b = readBoolean("ramscoop_notify_corona_entry");
+        if (b != null)
+            ModPlugin.notify_corona_entry = b;
+        c = readColor("ramscoop_color_corona_active_v2");
+        if (c != null)
+            ModPlugin.color_corona_active = c;
+        b = readBoolean("ramscoop_notify_corona_exit");
+        if (b != null)
+            ModPlugin.notify_corona_exit = b;
+        c = readColor("ramscoop_color_corona_inactive_v2");
+        if (c != null)
+            ModPlugin.color_corona_inactive = c;
+    }
+
+    private static Boolean readBoolean(String key) {
+        try {
+            return LunaSettings.getBoolean(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Double readDouble(String key) {
+        try {
+            return LunaSettings.getDouble(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Integer readInt(String key) {
+        try {
+            return LunaSettings.getInt(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static String readString(String key) {
+        try {
+            return LunaSettings.getString(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Color readColor(String key) {
+        try {
+            return LunaSettings.getColor(ModPlugin.MOD_ID, key);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    private static int clamp(int v, int min, int max) {
+        return Math.max(min, Math.min(max, v));
+    }
+}
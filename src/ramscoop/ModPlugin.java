@@ -3,13 +3,16 @@ package ramscoop;
 import com.fs.starfarer.api.BaseModPlugin;
 import com.fs.starfarer.api.EveryFrameScript;
 import com.fs.starfarer.api.Global;
-import org.apache.log4j.Logger;
+import com.fs.starfarer.api.campaign.SectorAPI;
 import org.json.JSONObject;
 import lunalib.lunaSettings.LunaSettings;
+import lunalib.lunaSettings.LunaSettingsListener;
 import java.awt.Color;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ModPlugin extends BaseModPlugin {
-    private static final Logger LOG = Global.getLogger(ModPlugin.class);
+    private static final RamscoopLog LOG = Log4jLogSink.logFor(ModPlugin.class);
     public static final String MOD_ID = "m561_ramscoop";
 
     // Default constant values (fallbacks if LunaLib/settings.json not available)
@@ -21,9 +24,12 @@ public class ModPlugin extends BaseModPlugin {
     private static final float DEFAULT_HARD_FUEL_LIMIT = 0.0f; // disabled by default
     private static final float DEFAULT_FUEL_CAP_MARGIN = 0.0f;
     private static final float DEFAULT_CORONA_FUEL_PER_DAY = 0.25f; // 25% max fuel per day
+    private static final float DEFAULT_HYPERSPACE_FUEL_PER_DAY = 0.02f; // 2% max fuel per day
+    private static final float DEFAULT_HYPERSPACE_PERCENT_FUEL_LIMIT = 0.1f; // 10% of max fuel
     private static final float DEFAULT_NO_CREW_RATE = 0.1f;
     private static final String DEFAULT_CREW_USAGE = "extra";
     private static final String DEFAULT_NO_CREW_GEN = "percent";
+    private static final int DEFAULT_NPC_FLEETS_PER_FRAME = 10;
 
     // Runtime settings (loaded from LunaLib or settings.json, defaults above used
     // as fallback)
@@ -54,6 +60,15 @@ public class ModPlugin extends BaseModPlugin {
     public static boolean corona_enable_fuel = true;
     public static float corona_fuel_per_day = DEFAULT_CORONA_FUEL_PER_DAY;
     public static boolean corona_caps_reuse = true;
+    // Deep hyperspace settings (own caps, never reused from the nebula)
+    public static boolean hyperspace_enable_fuel = true;
+    public static float hyperspace_fuel_per_day = DEFAULT_HYPERSPACE_FUEL_PER_DAY;
+    public static float hyperspace_percent_fuel_limit = DEFAULT_HYPERSPACE_PERCENT_FUEL_LIMIT;
+    public static float hyperspace_hard_fuel_limit = DEFAULT_HARD_FUEL_LIMIT;
+    public static float hyperspace_fuel_cap_margin = DEFAULT_FUEL_CAP_MARGIN;
+    // NPC fleets (round-robin, bounded number of fleets per frame)
+    public static boolean enable_npc_fleets = true;
+    public static int npc_fleets_per_frame = DEFAULT_NPC_FLEETS_PER_FRAME;
     // Visual feedback
     public static boolean enable_visual_feedback = true;
     public static float floating_text_duration = 0.7f;
@@ -71,9 +86,33 @@ public class ModPlugin extends BaseModPlugin {
     public static Color color_corona_active = Color.LIGHT_GRAY;
     public static Color color_corona_inactive = Color.LIGHT_GRAY;
 
+    // Immutable snapshot of the fields above, rebuilt after every load/reload and
+    // swapped in as a single reference so the runtime script never reads a
+    // half-applied reload
+    private static volatile RamscoopConfig config = RamscoopConfig.DEFAULTS;
+
     // Track if LunaLib is being used and if we've successfully loaded settings
     private static boolean lunaLibReady = false;
     private static boolean settingsLoaded = false;
+    // Set by the LunaLib settings listener when the player saves changes in the
+    // LunaLib menu; reloadSettings() only re-reads LunaLib when this is set
+    private static volatile boolean lunaSettingsDirty = true;
+    private static boolean lunaListenerRegistered = false;
+
+    // Per-phase tick timings and counters; off unless enabled below or with
+    // -Dramscoop.metrics=true in the game's JVM options
+    private static final TickMetrics METRICS = new TickMetrics();
+    private static final String METRICS_PROPERTY = "ramscoop.metrics";
+
+    // settings.json, parsed once per application session (null until first use)
+    private static SettingsJson settingsJson = null;
+
+    // Generation ledger of the current game; a detached one until a game is loaded
+    private static GenerationLedger ledger = new GenerationLedger();
+
+    // The player script of the current game; holds pending fuel/supplies that
+    // must reach the cargo before a save
+    private static Ramscoop playerScript = null;
 
     // Debug flag - set to false for production builds
     private static final boolean DEBUG_MODE = false;
@@ -85,14 +124,48 @@ public class ModPlugin extends BaseModPlugin {
             }
         } catch (Exception e) {
             // Critical errors should always be reported
-            System.out.println("Ramscoop: CRITICAL ERROR in constructor: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error(e, "[Ramscoop] CRITICAL ERROR in constructor: %s", e.getMessage());
         }
     }
 
     @Override
     public void onApplicationLoad() {
         // No legacy color migration needed - only using new Color keys
+        registerLunaSettingsListener();
+        try {
+            if (Boolean.getBoolean(METRICS_PROPERTY)) {
+                METRICS.setEnabled(true);
+                LOG.info("[Ramscoop] Tick metrics enabled (%s)", METRICS_PROPERTY);
+            }
+        } catch (Throwable ignored) {
+        }
+    }
+
+    /**
+     * Register for LunaLib change notifications so settings are re-read only when
+     * the player actually changes them. If registration fails (LunaLib missing or
+     * too old) reloadSettings() keeps the periodic refresh as a fallback.
+     */
+    private static void registerLunaSettingsListener() {
+        try {
+            if (Global.getSettings().getModManager().isModEnabled("lunalib")) {
+                LunaSettings.addSettingsListener(new SettingsChangeListener());
+                lunaListenerRegistered = true;
+            }
+        } catch (Throwable t) {
+            LOG.warn("[Ramscoop] Could not register LunaLib settings listener; using periodic refresh: %s",
+                    t.getMessage());
+        }
+    }
+
+    /** Marks LunaLib settings dirty when this mod's settings are saved. */
+    private static final class SettingsChangeListener implements LunaSettingsListener {
+        @Override
+        public void settingsChanged(String modID) {
+            if (MOD_ID.equals(modID)) {
+                lunaSettingsDirty = true;
+            }
+        }
     }
 
     // Simple readiness: treat LunaLib as ready if the mod is enabled; API calls
@@ -102,11 +175,12 @@ public class ModPlugin extends BaseModPlugin {
     }
 
     private static void loadSettings() {
-        // Minimal logging
+        // Minimal logging; these lines repeat on every retry while LunaLib is not
+        // ready, so they are rate-limited
         try {
             // Check if LunaLib is ready
             boolean lunaLibEnabled = Global.getSettings().getModManager().isModEnabled("lunalib");
-            LOG.info("[Ramscoop] LunaLib enabled: " + lunaLibEnabled);
+            LOG.infoLimited("load.lunalib", "[Ramscoop] LunaLib enabled: %s", lunaLibEnabled);
 
             if (lunaLibEnabled && isLunaLibReady()) {
                 // Seed from legacy settings first so missing LunaLib keys fall back to
@@ -118,30 +192,138 @@ public class ModPlugin extends BaseModPlugin {
                 loadLunaLibSettings();
                 lunaLibReady = true;
                 settingsLoaded = true;
-                LOG.info("[Ramscoop] Loaded settings from LunaLib");
+                lunaSettingsDirty = false;
+                LOG.infoLimited("load.source", "[Ramscoop] Loaded settings from LunaLib");
             } else if (lunaLibEnabled) {
                 // LunaLib is enabled but not ready yet - use settings.json as a baseline
-                LOG.info("[Ramscoop] LunaLib not ready yet; using settings.json until it becomes ready");
+                LOG.infoLimited("load.waiting", "[Ramscoop] LunaLib not ready yet; using settings.json until it becomes ready");
                 try {
                     loadLegacySettings();
                     settingsLoaded = true;
-                    LOG.info("[Ramscoop] Baseline settings from settings.json applied while waiting for LunaLib");
+                    LOG.infoLimited("load.source",
+                            "[Ramscoop] Baseline settings from settings.json applied while waiting for LunaLib");
                 } catch (Throwable t) {
-                    LOG.info("[Ramscoop] No settings.json baseline available; keeping defaults");
+                    LOG.infoLimited("load.source", "[Ramscoop] No settings.json baseline available; keeping defaults");
                 }
             } else {
                 // Fallback to settings.json
                 loadLegacySettings();
                 settingsLoaded = true;
-                LOG.info("[Ramscoop] Loaded settings from settings.json (LunaLib not available)");
+                LOG.infoLimited("load.source", "[Ramscoop] Loaded settings from settings.json (LunaLib not available)");
             }
         } catch (Exception exception) {
-            LOG.error("[Ramscoop] Error loading settings", exception);
-            exception.printStackTrace();
+            LOG.error(exception, "[Ramscoop] Error loading settings");
             LOG.info("[Ramscoop] Using default values");
             settingsLoaded = true; // Mark as loaded so we don't keep retrying on error
         }
-        LOG.info("[Ramscoop] Settings load complete");
+        publishConfig();
+        LOG.infoLimited("load.complete", "[Ramscoop] Settings load complete");
+    }
+
+    /**
+     * Build an immutable snapshot from the current runtime fields and publish it.
+     * Called once at the end of each load/reload, never mid-way through.
+     */
+    private static void publishConfig() {
+        RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+        b.enable_fuel = enable_fuel;
+        b.enable_supplies = enable_supplies;
+        b.fuel_per_day = fuel_per_day;
+        b.supplies_per_crew = supplies_per_crew;
+        b.percent_supply_limit = percent_supply_limit;
+        b.hard_supply_limit = hard_supply_limit;
+        b.nebula_percent_fuel_limit = nebula_percent_fuel_limit;
+        b.nebula_hard_fuel_limit = nebula_hard_fuel_limit;
+        b.nebula_fuel_cap_margin = nebula_fuel_cap_margin;
+        b.corona_enable_fuel = corona_enable_fuel;
+        b.corona_fuel_per_day = corona_fuel_per_day;
+        b.corona_caps_reuse = corona_caps_reuse;
+        b.corona_percent_fuel_limit = corona_percent_fuel_limit;
+        b.corona_hard_fuel_limit = corona_hard_fuel_limit;
+        b.corona_fuel_cap_margin = corona_fuel_cap_margin;
+        b.hyperspace_enable_fuel = hyperspace_enable_fuel;
+        b.hyperspace_fuel_per_day = hyperspace_fuel_per_day;
+        b.hyperspace_percent_fuel_limit = hyperspace_percent_fuel_limit;
+        b.hyperspace_hard_fuel_limit = hyperspace_hard_fuel_limit;
+        b.hyperspace_fuel_cap_margin = hyperspace_fuel_cap_margin;
+        b.enable_npc_fleets = enable_npc_fleets;
+        b.npc_fleets_per_frame = npc_fleets_per_frame;
+        b.crew_usage = crew_usage;
+        b.no_crew_gen = no_crew_gen;
+        b.no_crew_rate_percent = no_crew_rate_percent;
+        b.no_crew_rate_flat = no_crew_rate_flat;
+        b.scoop_toggle_default_on = scoop_toggle_default_on;
+        b.enable_visual_feedback = enable_visual_feedback;
+        b.floating_text_duration = floating_text_duration;
+        b.notify_nebula_entry = notify_nebula_entry;
+        b.notify_nebula_exit = notify_nebula_exit;
+        b.notify_corona_entry = notify_corona_entry;
+        b.notify_corona_exit = notify_corona_exit;
+        b.color_toggle_active = color_toggle_active;
+        b.color_toggle_inactive = color_toggle_inactive;
+        b.color_nebula_active = color_nebula_active;
+        b.color_nebula_inactive = color_nebula_inactive;
+        b.color_corona_active = color_corona_active;
+        b.color_corona_inactive = color_corona_inactive;
+        config = b.build();
+    }
+
+    /**
+     * Current settings snapshot. Never null; returns defaults until the first load
+     * completes. Callers should read it once per tick and use that instance
+     * throughout.
+     */
+    public static RamscoopConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Tick instrumentation of the player script. Read-only use from outside the
+     * mod (for example a console command) is fine; values are updated on the
+     * game thread.
+     */
+    public static TickMetrics getMetrics() {
+        return METRICS;
+    }
+
+    /**
+     * Turn the tick instrumentation on or off; counts are kept until
+     * {@link #resetMetrics()}. Call on the game thread (console commands run there).
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        METRICS.setEnabled(enabled);
+    }
+
+    public static void resetMetrics() {
+        METRICS.reset();
+    }
+
+    /** Write the current tick metrics to the log. */
+    public static void dumpMetrics() {
+        LOG.info(METRICS.summary());
+    }
+
+    /**
+     * Bind the ledger to the sector's persistent data; must run before the
+     * player script is created. Package-private for the campaign simulator.
+     */
+    static void loadLedger(SectorAPI sector) {
+        try {
+            ledger = GenerationLedger.in(sector.getPersistentData());
+        } catch (Throwable t) {
+            LOG.warn("[Ramscoop] Generation ledger unavailable; not recording this session: %s", t.getMessage());
+            ledger = new GenerationLedger();
+        }
+    }
+
+    /** Per-day, per-system generation of the player fleet in the current game. */
+    public static GenerationLedger getLedger() {
+        return ledger;
+    }
+
+    /** Write the ledger's last {@code days} days and per-system totals to the log. */
+    public static void dumpLedger(int days) {
+        LOG.info(ledger.summary(days));
     }
 
     private static void setColorsFromSelections(Color nebulaActive, Color nebulaInactive, Color coronaActive,
@@ -231,7 +413,7 @@ public class ModPlugin extends BaseModPlugin {
                 return new Color(r, g, b, a);
             }
         } catch (Exception e) {
-            LOG.warn("[Ramscoop] parseHexColor failed for '" + hexColor + "': " + e.getMessage());
+            LOG.warn("[Ramscoop] parseHexColor failed for '%s': %s", hexColor, e.getMessage());
         }
         return fallback;
     }
@@ -262,237 +444,56 @@ public class ModPlugin extends BaseModPlugin {
             try {
                 Color c = LunaSettings.getColor(MOD_ID, key);
                 if (c != null) {
-                    LOG.info(String.format("[Ramscoop] LunaLib stored (Color) for '%s' -> #%02X%02X%02X alpha=%d",
-                            key, c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha()));
+                    LOG.info("[Ramscoop] LunaLib stored (Color) for '%s' -> #%02X%02X%02X alpha=%d", key, c.getRed(),
+                            c.getGreen(), c.getBlue(), c.getAlpha());
                 } else {
-                    LOG.info(String.format("[Ramscoop] LunaLib stored (Color) for '%s' -> null", key));
+                    LOG.info("[Ramscoop] LunaLib stored (Color) for '%s' -> null", key);
                 }
             } catch (Throwable t) {
-                LOG.info(String.format("[Ramscoop] LunaLib getColor('%s') threw: %s", key,
-                        t.getClass().getSimpleName()));
+                LOG.info("[Ramscoop] LunaLib getColor('%s') threw: %s", key, t.getClass().getSimpleName());
             }
 
             // Try reading as String (legacy hex storage)
             try {
                 String s = LunaSettings.getString(MOD_ID, key);
                 if (s != null) {
-                    LOG.info(String.format("[Ramscoop] LunaLib stored (String) for '%s' -> '%s'", key, s));
+                    LOG.info("[Ramscoop] LunaLib stored (String) for '%s' -> '%s'", key, s);
                 } else {
-                    LOG.info(String.format("[Ramscoop] LunaLib stored (String) for '%s' -> null", key));
+                    LOG.info("[Ramscoop] LunaLib stored (String) for '%s' -> null", key);
                 }
             } catch (Throwable t) {
-                LOG.info(String.format("[Ramscoop] LunaLib getString('%s') threw: %s", key,
-                        t.getClass().getSimpleName()));
+                LOG.info("[Ramscoop] LunaLib getString('%s') threw: %s", key, t.getClass().getSimpleName());
             }
         } catch (Throwable t) {
-            LOG.warn("[Ramscoop] Failed to inspect LunaLib value for key '" + key + "': " + t.getMessage());
+            LOG.warn("[Ramscoop] Failed to inspect LunaLib value for key '%s': %s", key, t.getMessage());
         }
     }
 
+    /**
+     * Read the LunaLib values through the generated {@link LunaSettingsLoader}
+     * (one fetch per key, clamped to the CSV slider ranges), then derive the
+     * fields that follow from them.
+     */
     private static void loadLunaLibSettings() {
         try {
-            enable_fuel = LunaSettings.getBoolean(MOD_ID, "ramscoop_enable_fuel");
-            enable_supplies = LunaSettings.getBoolean(MOD_ID, "ramscoop_enable_supplies");
-            // UI provides 0..100 percent per day; convert to 0..1 fraction
-            fuel_per_day = LunaSettings.getDouble(MOD_ID, "nebula_fuel_per_day").floatValue() / 100f; // Matches CSV key
-                                                                                                      // for nebula
-            // New fuel limiting settings via LunaLib (with safe defaults if missing)
-            // Nebula caps via UI (percent sliders)
-            try {
-                nebula_percent_fuel_limit = LunaSettings.getDouble(MOD_ID, "nebula_percent_fuel_limit").floatValue()
-                        / 100f;
-            } catch (Throwable ignored) {
-            }
-            try {
-                nebula_hard_fuel_limit = LunaSettings.getDouble(MOD_ID, "nebula_hard_fuel_limit").floatValue();
-            } catch (Throwable ignored) {
-            }
-            try {
-                nebula_fuel_cap_margin = LunaSettings.getDouble(MOD_ID, "nebula_fuel_cap_margin").floatValue();
-            } catch (Throwable ignored) {
-            }
-
-            // Supply limit settings with null-handling (fixed: nebula_* → ramscoop_* key
-            // names)
-            try {
-                percent_supply_limit = LunaSettings.getDouble(MOD_ID, "ramscoop_percent_supply_limit").floatValue();
-            } catch (Throwable ignored) {
-            }
-            try {
-                hard_supply_limit = LunaSettings.getDouble(MOD_ID, "ramscoop_hard_supply_limit").floatValue();
-            } catch (Throwable ignored) {
-            }
-            try {
-                supplies_per_crew = LunaSettings.getDouble(MOD_ID, "ramscoop_supply_per_crew").floatValue();
-            } catch (Throwable ignored) {
-            }
-            // Supply settings now live under Nebula as duplicates; read either key
-            try {
-                crew_usage = LunaSettings.getString(MOD_ID, "nebula_crew_usage");
-            } catch (Throwable e1) {
-                try {
-                    crew_usage = LunaSettings.getString(MOD_ID, "ramscoop_crew_usage");
-                } catch (Throwable ignored) {
-                }
-            }
-            try {
-                no_crew_gen = LunaSettings.getString(MOD_ID, "nebula_no_crew_gen");
-            } catch (Throwable e2) {
-                try {
-                    no_crew_gen = LunaSettings.getString(MOD_ID, "ramscoop_no_crew_gen");
-                } catch (Throwable ignored) {
-                }
-            }
-            // Read percent (0..100) and flat values separately. Percent is converted to
-            // fraction.
-            try {
-                double p = LunaSettings.getDouble(MOD_ID, "nebula_no_crew_rate_percent");
-                no_crew_rate_percent = (float) (p / 100.0);
-                no_crew_rate = no_crew_rate_percent; // keep compatibility field in sync
-            } catch (Throwable e3) {
-                try {
-                    double p = LunaSettings.getDouble(MOD_ID, "ramscoop_no_crew_rate_percent");
-                    no_crew_rate_percent = (float) (p / 100.0);
-                    no_crew_rate = no_crew_rate_percent;
-                } catch (Throwable ignored) {
-                }
-            }
-            try {
-                double f = LunaSettings.getDouble(MOD_ID, "nebula_no_crew_rate_flat");
-                no_crew_rate_flat = (float) f;
-            } catch (Throwable e4) {
-                try {
-                    double f = LunaSettings.getDouble(MOD_ID, "ramscoop_no_crew_rate_flat");
-                    no_crew_rate_flat = (float) f;
-                } catch (Throwable ignored) {
-                }
-            }
-            // Corona (UI provides percent/day for fuel rate)
-            try {
-                corona_enable_fuel = LunaSettings.getBoolean(MOD_ID, "corona_enable_fuel");
-            } catch (Throwable ignored) {
-            }
-            try {
-                corona_fuel_per_day = LunaSettings.getDouble(MOD_ID, "corona_fuel_per_day").floatValue() / 100f;
-            } catch (Throwable ignored) {
-            }
-            try {
-                corona_caps_reuse = LunaSettings.getBoolean(MOD_ID, "corona_caps_reuse");
-            } catch (Throwable ignored) {
-            }
-            // Corona caps via UI (percent slider for soft cap)
-            try {
-                corona_percent_fuel_limit = LunaSettings.getDouble(MOD_ID, "corona_percent_fuel_limit").floatValue()
-                        / 100f;
-            } catch (Throwable ignored) {
-            }
-            try {
-                corona_hard_fuel_limit = LunaSettings.getDouble(MOD_ID, "corona_hard_fuel_limit").floatValue();
-            } catch (Throwable ignored) {
-            }
-            try {
-                corona_fuel_cap_margin = LunaSettings.getDouble(MOD_ID, "corona_fuel_cap_margin").floatValue();
-            } catch (Throwable ignored) {
-            }
-            try {
-                scoop_toggle_default_on = LunaSettings.getBoolean(MOD_ID, "ramscoop_toggle_default_on");
-                // Apply immediately at runtime so UI changes take effect without reload
-                try {
-                    com.fs.starfarer.api.campaign.CampaignFleetAPI fleet = Global.getSector().getPlayerFleet();
-                    if (fleet != null) {
-                        fleet.getMemoryWithoutUpdate().set("$ramscoop_enabled", scoop_toggle_default_on);
-                    }
-                } catch (Throwable ignored2) {
-                }
-            } catch (Throwable ignored) {
-            }
-            try {
-                notify_nebula_entry = LunaSettings.getBoolean(MOD_ID, "ramscoop_notify_nebula_entry");
-            } catch (Throwable ignored) {
-            }
-            try {
-                notify_nebula_exit = LunaSettings.getBoolean(MOD_ID, "ramscoop_notify_nebula_exit");
-            } catch (Throwable ignored) {
-            }
-            try {
-                notify_corona_entry = LunaSettings.getBoolean(MOD_ID, "ramscoop_notify_corona_entry");
-            } catch (Throwable ignored) {
-            }
-            try {
-                notify_corona_exit = LunaSettings.getBoolean(MOD_ID, "ramscoop_notify_corona_exit");
-            } catch (Throwable ignored) {
-            }
-            try {
-                enable_visual_feedback = LunaSettings.getBoolean(MOD_ID, "ramscoop_enable_visual_feedback");
-            } catch (Throwable ignored) {
-            }
-            try {
-                floating_text_duration = LunaSettings.getDouble(MOD_ID, "ramscoop_floating_text_scale").floatValue();
-            } catch (Throwable ignored) {
-            }
-            try {
-                // First, log raw stored LunaLib values for inspection (helps diagnose HSV
-                // picker issues)
+            // Log raw stored LunaLib values for inspection (helps diagnose HSV
+            // picker issues)
+            if (DEBUG_MODE) {
                 logRawLunaValue("ramscoop_color_nebula_active_v2");
                 logRawLunaValue("ramscoop_color_nebula_inactive_v2");
                 logRawLunaValue("ramscoop_color_corona_active_v2");
                 logRawLunaValue("ramscoop_color_corona_inactive_v2");
+            }
+            LunaSettingsLoader.load();
+            no_crew_rate = no_crew_rate_percent; // keep compatibility field in sync
+            // Toggle colors follow the nebula colors
+            setColorsFromSelections(color_nebula_active, color_nebula_inactive, color_corona_active,
+                    color_corona_inactive);
 
-                // First try LunaLib's Color API (preferred - provides the HSV picker UI)
-                Color nebulaActive = null;
-                Color nebulaInactive = null;
-                Color coronaActive = null;
-                Color coronaInactive = null;
-                // No preset radio values: rely on LunaLib Color pickers and hex fallbacks
-
-                try {
-                    // Prefer the new v2 keys to avoid reading old malformed stored values
-                    nebulaActive = LunaSettings.getColor(MOD_ID, "ramscoop_color_nebula_active_v2");
-                    // nebulaActive read from LunaLib
-                } catch (Throwable t) {
-                    // not fatal, we'll try fallback below
-                }
-                try {
-                    nebulaInactive = LunaSettings.getColor(MOD_ID, "ramscoop_color_nebula_inactive_v2");
-                    // nebulaInactive read from LunaLib
-                } catch (Throwable t) {
-                }
-                try {
-                    coronaActive = LunaSettings.getColor(MOD_ID, "ramscoop_color_corona_active_v2");
-                    // coronaActive read from LunaLib
-                } catch (Throwable t) {
-                }
-                try {
-                    coronaInactive = LunaSettings.getColor(MOD_ID, "ramscoop_color_corona_inactive_v2");
-                    // coronaInactive read from LunaLib
-                } catch (Throwable t) {
-                }
-
-                // If any of the above are null (LunaLib didn't provide a Color), use defaults
-                if (nebulaActive == null) {
-                    nebulaActive = color_nebula_active; // use default
-                }
-                if (nebulaInactive == null) {
-                    nebulaInactive = color_nebula_inactive; // use default
-                }
-                if (coronaActive == null) {
-                    coronaActive = color_corona_active; // use default
-                }
-                if (coronaInactive == null) {
-                    coronaInactive = color_corona_inactive; // use default
-                }
-
-                // Allow user-selected presets (radio buttons). If the preset is not Custom,
-                // apply the preset (explicit user intent). If the preset is Custom or
-                // missing, preserve any LunaLib Color value already read above.
-                // Preset radio options removed: rely solely on LunaLib Color pickers and
-                // legacy hex string fallbacks above.
-
-                setColorsFromSelections(nebulaActive, nebulaInactive, coronaActive, coronaInactive);
-
-                // Debug: log resolved colors so we can see what colors are actually being used
+            // Debug: log resolved colors so we can see what colors are actually being used
+            if (DEBUG_MODE) {
                 try {
-                    LOG.info(String.format(
+                    LOG.info(
                             "[Ramscoop] Resolved colors - nebulaActive: #%02X%02X%02X alpha=%d, nebulaInactive: #%02X%02X%02X alpha=%d, coronaActive: #%02X%02X%02X alpha=%d, coronaInactive: #%02X%02X%02X alpha=%d",
                             color_nebula_active.getRed(), color_nebula_active.getGreen(), color_nebula_active.getBlue(),
                             color_nebula_active.getAlpha(),
@@ -501,129 +502,107 @@ public class ModPlugin extends BaseModPlugin {
                             color_corona_active.getRed(), color_corona_active.getGreen(), color_corona_active.getBlue(),
                             color_corona_active.getAlpha(),
                             color_corona_inactive.getRed(), color_corona_inactive.getGreen(),
-                            color_corona_inactive.getBlue(), color_corona_inactive.getAlpha()));
+                            color_corona_inactive.getBlue(), color_corona_inactive.getAlpha());
                 } catch (Throwable ignored) {
                 }
-            } catch (Throwable t) {
-                LOG.warn("[Ramscoop] Error reading color settings (falling back to defaults): " + t.getMessage());
             }
-
-            // Debug logging
-            LOG.info(
-                    "[Ramscoop] Final settings from LunaLib -> fuel=" + enable_fuel +
-                            ", supplies=" + enable_supplies +
-                            ", fuel_per_day=" + fuel_per_day +
-                            ", nebula_percent_fuel_limit=" + nebula_percent_fuel_limit +
-                            ", nebula_hard_fuel_limit=" + nebula_hard_fuel_limit +
-                            ", nebula_fuel_cap_margin=" + nebula_fuel_cap_margin +
-                            ", corona_percent_fuel_limit=" + corona_percent_fuel_limit +
-                            ", corona_hard_fuel_limit=" + corona_hard_fuel_limit +
-                            ", corona_fuel_cap_margin=" + corona_fuel_cap_margin +
-                            ", percent_supply_limit=" + percent_supply_limit +
-                            ", hard_supply_limit=" + hard_supply_limit +
-                            ", crew_usage=" + crew_usage +
-                            ", no_crew_gen=" + no_crew_gen +
-                            ", no_crew_rate=" + no_crew_rate +
-                            ", notify_nebula_entry=" + notify_nebula_entry +
-                            ", notify_nebula_exit=" + notify_nebula_exit +
-                            ", notify_corona_entry=" + notify_corona_entry +
-                            ", notify_corona_exit=" + notify_corona_exit);
         } catch (Exception e) {
-            LOG.warn("[Ramscoop] Failed to load LunaLib settings: " + e.getMessage(), e);
+            // Reported (rate-limited) by the caller, which retries
             throw new RuntimeException("Failed to load LunaLib settings", e);
         }
     }
 
-    private static void loadLegacySettings() {
+    /**
+     * settings.json of this session, parsed and validated on first use. The
+     * file cannot change while the game runs, so later loads (another save,
+     * a reload while LunaLib is not ready) reuse it without any JSON work.
+     */
+    static SettingsJson getSettingsJson() {
+        SettingsJson json = settingsJson;
+        if (json == null) {
+            json = parseSettingsJson();
+            settingsJson = json;
+        }
+        return json;
+    }
+
+    private static SettingsJson parseSettingsJson() {
         try {
             JSONObject config = Global.getSettings().loadJSON("settings.json", MOD_ID);
-            enable_fuel = config.getBoolean("enable_fuel");
-            enable_supplies = config.getBoolean("enable_supplies");
-
-            // Handle fuel_per_day (might not exist in older settings.json)
-            if (config.has("fuel_per_day")) {
-                fuel_per_day = (float) config.getDouble("fuel_per_day");
-            }
-            // Optional new fuel limit settings (legacy JSON)
-            if (config.has("nebula_percent_fuel_limit"))
-                nebula_percent_fuel_limit = (float) config.getDouble("nebula_percent_fuel_limit");
-            if (config.has("nebula_hard_fuel_limit"))
-                nebula_hard_fuel_limit = (float) config.getDouble("nebula_hard_fuel_limit");
-            if (config.has("nebula_fuel_cap_margin"))
-                nebula_fuel_cap_margin = (float) config.getDouble("nebula_fuel_cap_margin");
-
-            percent_supply_limit = (float) config.getDouble("percent_supply_limit");
-            hard_supply_limit = (float) config.getDouble("hard_supply_limit");
-
-            // Legacy 'supply_per_crew' removed: new key is 'ramscoop_supply_per_crew'
-            // (LunaLib)
-            // Accept new nebula_* keys or legacy names
-            if (config.has("nebula_crew_usage"))
-                crew_usage = config.get("nebula_crew_usage").toString();
-            else
-                crew_usage = config.get("crew_usage").toString();
-            if (config.has("nebula_no_crew_gen"))
-                no_crew_gen = config.get("nebula_no_crew_gen").toString();
-            else
-                no_crew_gen = config.get("no_crew_gen").toString();
-            if (config.has("nebula_no_crew_rate"))
-                no_crew_rate = (float) config.getDouble("nebula_no_crew_rate");
-            else
-                no_crew_rate = (float) config.getDouble("no_crew_rate");
-            if (config.has("scoop_toggle_default_on")) {
-                try {
-                    scoop_toggle_default_on = config.getBoolean("scoop_toggle_default_on");
-                } catch (Throwable ignored) {
+            Map<String, Object> raw = new HashMap<String, Object>();
+            for (String key : SettingsJson.KEYS) {
+                if (config.has(key)) {
+                    raw.put(key, config.get(key));
                 }
             }
-            // Corona legacy
-            if (config.has("corona_enable_fuel"))
-                corona_enable_fuel = config.getBoolean("corona_enable_fuel");
-            if (config.has("corona_fuel_per_day"))
-                corona_fuel_per_day = (float) config.getDouble("corona_fuel_per_day");
-            if (config.has("corona_caps_reuse"))
-                corona_caps_reuse = config.getBoolean("corona_caps_reuse");
-            if (config.has("corona_percent_fuel_limit"))
-                corona_percent_fuel_limit = (float) config.getDouble("corona_percent_fuel_limit");
-            if (config.has("corona_hard_fuel_limit"))
-                corona_hard_fuel_limit = (float) config.getDouble("corona_hard_fuel_limit");
-            if (config.has("corona_fuel_cap_margin"))
-                corona_fuel_cap_margin = (float) config.getDouble("corona_fuel_cap_margin");
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load legacy settings", e);
+            SettingsJson json = new SettingsJson(raw);
+            for (String problem : json.problems()) {
+                LOG.warn("[Ramscoop] settings.json: ignoring %s", problem);
+            }
+            return json;
+        } catch (Throwable t) {
+            LOG.warn("[Ramscoop] Failed to load settings.json: %s", t.getMessage());
+            return SettingsJson.MISSING;
         }
     }
 
+    private static void loadLegacySettings() {
+        SettingsJson json = getSettingsJson();
+        if (!json.isLoaded())
+            throw new IllegalStateException("settings.json is not available");
+        enable_fuel = json.getBoolean("enable_fuel", enable_fuel);
+        enable_supplies = json.getBoolean("enable_supplies", enable_supplies);
+        // The shipped file uses nebula_fuel_per_day; fuel_per_day is the older name
+        fuel_per_day = json.getFloat("nebula_fuel_per_day", json.getFloat("fuel_per_day", fuel_per_day));
+        nebula_percent_fuel_limit = json.getFloat("nebula_percent_fuel_limit", nebula_percent_fuel_limit);
+        nebula_hard_fuel_limit = json.getFloat("nebula_hard_fuel_limit", nebula_hard_fuel_limit);
+        nebula_fuel_cap_margin = json.getFloat("nebula_fuel_cap_margin", nebula_fuel_cap_margin);
+        percent_supply_limit = json.getFloat("percent_supply_limit", percent_supply_limit);
+        hard_supply_limit = json.getFloat("hard_supply_limit", hard_supply_limit);
+        supplies_per_crew = json.getFloat("ramscoop_supply_per_crew", supplies_per_crew);
+        // Accept new nebula_* keys or legacy names
+        crew_usage = json.getString("nebula_crew_usage", json.getString("crew_usage", crew_usage));
+        no_crew_gen = json.getString("nebula_no_crew_gen", json.getString("no_crew_gen", no_crew_gen));
+        no_crew_rate = json.getFloat("nebula_no_crew_rate", json.getFloat("no_crew_rate", no_crew_rate));
+        no_crew_rate_percent = no_crew_rate; // a fraction here, like the LunaLib value after conversion
+        scoop_toggle_default_on = json.getBoolean("scoop_toggle_default_on", scoop_toggle_default_on);
+        // Corona
+        corona_enable_fuel = json.getBoolean("corona_enable_fuel", corona_enable_fuel);
+        corona_fuel_per_day = json.getFloat("corona_fuel_per_day", corona_fuel_per_day);
+        corona_caps_reuse = json.getBoolean("corona_caps_reuse", corona_caps_reuse);
+        corona_percent_fuel_limit = json.getFloat("corona_percent_fuel_limit", corona_percent_fuel_limit);
+        corona_hard_fuel_limit = json.getFloat("corona_hard_fuel_limit", corona_hard_fuel_limit);
+        corona_fuel_cap_margin = json.getFloat("corona_fuel_cap_margin", corona_fuel_cap_margin);
+        // Deep hyperspace
+        hyperspace_enable_fuel = json.getBoolean("hyperspace_enable_fuel", hyperspace_enable_fuel);
+        hyperspace_fuel_per_day = json.getFloat("hyperspace_fuel_per_day", hyperspace_fuel_per_day);
+        hyperspace_percent_fuel_limit = json.getFloat("hyperspace_percent_fuel_limit", hyperspace_percent_fuel_limit);
+        hyperspace_hard_fuel_limit = json.getFloat("hyperspace_hard_fuel_limit", hyperspace_hard_fuel_limit);
+        hyperspace_fuel_cap_margin = json.getFloat("hyperspace_fuel_cap_margin", hyperspace_fuel_cap_margin);
+        // NPC fleets
+        enable_npc_fleets = json.getBoolean("enable_npc_fleets", enable_npc_fleets);
+        npc_fleets_per_frame = json.getInt("npc_fleets_per_frame", npc_fleets_per_frame);
+    }
+
     @Override
     public void onGameLoad(boolean newGame) {
         LOG.info("[Ramscoop] onGameLoad()");
         // Load settings once here
         loadSettings();
-        // Log a single-line snapshot for grep
-        LOG.info("[Ramscoop] Snapshot onGameLoad -> fuel=" + enable_fuel +
-                ", supplies=" + enable_supplies +
-                ", fuel_per_day=" + fuel_per_day +
-                ", nebula_percent_fuel_limit=" + nebula_percent_fuel_limit +
-                ", nebula_hard_fuel_limit=" + nebula_hard_fuel_limit +
-                ", nebula_fuel_cap_margin=" + nebula_fuel_cap_margin +
-                ", corona_percent_fuel_limit=" + corona_percent_fuel_limit +
-                ", corona_hard_fuel_limit=" + corona_hard_fuel_limit +
-                ", corona_fuel_cap_margin=" + corona_fuel_cap_margin +
-                ", percent_supply_limit=" + percent_supply_limit +
-                ", hard_supply_limit=" + hard_supply_limit +
-                ", crew_usage=" + crew_usage +
-                ", no_crew_gen=" + no_crew_gen +
-                ", no_crew_rate=" + no_crew_rate +
-                ", enable_visual_feedback=" + enable_visual_feedback +
-                ", notify_nebula_entry=" + notify_nebula_entry);
+        // Log a single-line snapshot for grep (every setting; changed keys are
+        // logged by reloadSettings())
+        LOG.info("[Ramscoop] Snapshot onGameLoad -> %s", config);
+        loadLedger(Global.getSector());
         // Start the runtime script
-        Global.getSector().addTransientScript(new Ramscoop());
+        playerScript = new Ramscoop();
+        Global.getSector().addTransientScript(playerScript);
+        Global.getSector().addTransientScript(new NpcRamscoop());
         // Initialize runtime toggle state in player fleet memory
         try {
             com.fs.starfarer.api.campaign.CampaignFleetAPI fleet = Global.getSector().getPlayerFleet();
             if (fleet != null) {
                 fleet.getMemoryWithoutUpdate().set("$ramscoop_enabled", scoop_toggle_default_on);
-                LOG.info("[Ramscoop] Initial toggle state set: " + scoop_toggle_default_on);
+                LOG.info("[Ramscoop] Initial toggle state set: %s", scoop_toggle_default_on);
             }
         } catch (Throwable t) {
             // Non-fatal
@@ -632,26 +611,57 @@ public class ModPlugin extends BaseModPlugin {
         LOG.info("[Ramscoop] initialization complete");
     }
 
+    @Override
+    public void beforeGameSave() {
+        // The runtime script is transient; write out the fuel/supplies it has
+        // generated but not yet added to cargo so they are saved
+        try {
+            if (playerScript != null) {
+                playerScript.flushPending();
+            }
+        } catch (Throwable t) {
+            LOG.warn("[Ramscoop] Failed to flush pending generation before save: %s", t.getMessage());
+        }
+    }
+
     /**
-     * Public method for reloading settings - can be called by Ramscoop periodically
-     * This method will retry LunaLib loading if it wasn't ready before
+     * Public method for reloading settings - called by Ramscoop periodically.
+     * With LunaLib this is change-driven: the LunaLib values are only re-read
+     * after the settings listener reports a change (or on every call if the
+     * listener could not be registered), and only settings that actually changed
+     * are logged and applied to the running game.
      */
     public static void reloadSettings() {
-        // If LunaLib is present, try to refresh LunaLib-backed settings every time
-        // this method is called. This allows runtime toggles (from the LunaLib UI)
-        // to be applied to the player's fleet memory without requiring a reload.
+        reloadSettings(true);
+    }
+
+    /**
+     * Like {@link #reloadSettings()}, but when {@code fallbackDue} is false only
+     * a change reported by the LunaLib listener is picked up. The fallback
+     * reloads (no listener, LunaLib not ready yet, nothing loaded) are full
+     * reads, so callers polling often pass true only every few seconds.
+     */
+    static void reloadSettings(boolean fallbackDue) {
         try {
             if (Global.getSettings().getModManager().isModEnabled("lunalib")) {
-                LOG.info("[Ramscoop] Reloading LunaLib settings (runtime refresh)");
+                boolean changeDriven = lunaLibReady && lunaListenerRegistered;
+                if (changeDriven ? !lunaSettingsDirty : !fallbackDue) {
+                    return; // Nothing changed since the last read, or not due yet
+                }
+                lunaSettingsDirty = false;
+                RamscoopConfig before = config;
                 try {
                     // Load only the LunaLib-driven values (less heavy than full load)
                     loadLunaLibSettings();
                     lunaLibReady = true;
                     settingsLoaded = true;
-                    LOG.info("[Ramscoop] LunaLib settings reloaded successfully");
+                    publishConfig();
+                    applyChangedSettings(before, config);
                 } catch (Throwable t) {
                     // Don't throw - we'll retry later. Keep existing values and log.
-                    LOG.warn("[Ramscoop] Failed to reload LunaLib settings: " + t.getMessage());
+                    lunaSettingsDirty = true;
+                    Throwable cause = t.getCause() != null ? t.getCause() : t;
+                    LOG.warnLimited("reload", t, "[Ramscoop] Failed to reload LunaLib settings: %s", cause.getMessage());
                 }
                 return;
             }
@@ -661,12 +671,36 @@ public class ModPlugin extends BaseModPlugin {
 
         // If LunaLib isn't enabled or wasn't available, fall back to attempting a
         // full settings load when nothing has been loaded yet.
+        if (!fallbackDue) {
+            return;
+        }
         if (!settingsLoaded) {
-            System.out.println("Ramscoop: No settings loaded yet, attempting to load...");
-            LOG.info("[Ramscoop] No settings loaded yet, attempting to load...");
+            LOG.infoLimited("reload.retry", "[Ramscoop] No settings loaded yet, attempting to load...");
             loadSettings();
-        } else {
-            LOG.info("[Ramscoop] Settings already loaded, LunaLib ready: " + lunaLibReady);
+        } else if (DEBUG_MODE) {
+            LOG.info("[Ramscoop] Settings already loaded, LunaLib ready: %s", lunaLibReady);
+        }
+    }
+
+    /**
+     * Log and apply the settings that differ between two snapshots. Runtime side
+     * effects (currently only the scoop toggle default) are applied only when
+     * their own value changed, so a reload never overrides an in-game toggle.
+     */
+    private static void applyChangedSettings(RamscoopConfig before, RamscoopConfig after) {
+        String changes = after.describeChanges(before);
+        if (changes.isEmpty())
+            return;
+        LOG.info("[Ramscoop] LunaLib settings changed: %s", changes);
+        if (before.scoop_toggle_default_on != after.scoop_toggle_default_on) {
+            // Apply immediately at runtime so UI changes take effect without reload
+            try {
+                com.fs.starfarer.api.campaign.CampaignFleetAPI fleet = Global.getSector().getPlayerFleet();
+                if (fleet != null) {
+                    fleet.getMemoryWithoutUpdate().set("$ramscoop_enabled", after.scoop_toggle_default_on);
+                }
+            } catch (Throwable ignored) {
+            }
         }
     }
 
@@ -688,21 +722,7 @@ public class ModPlugin extends BaseModPlugin {
      * Log comprehensive settings status for debugging
      */
     public static void logSettingsStatus() {
-        System.out.println("=== RAMSCOOP SETTINGS STATUS ===");
-        LOG.info("[Ramscoop] === SETTINGS STATUS ===");
-        System.out.println("Settings loaded: " + settingsLoaded);
-        System.out.println("LunaLib ready: " + lunaLibReady);
-        System.out.println("Current values:");
-        System.out.println("  enable_fuel: " + enable_fuel);
-        System.out.println("  enable_supplies: " + enable_supplies);
-        System.out.println("  fuel_per_day: " + fuel_per_day);
-        System.out.println("  supplies_per_crew: " + supplies_per_crew);
-        System.out.println("  percent_supply_limit: " + percent_supply_limit);
-        System.out.println("  hard_supply_limit: " + hard_supply_limit);
-        System.out.println("  crew_usage: " + crew_usage);
-        System.out.println("  no_crew_gen: " + no_crew_gen);
-        System.out.println("  no_crew_rate: " + no_crew_rate);
-        System.out.println("================================");
-        LOG.info("[Ramscoop] ================================");
+        LOG.info("[Ramscoop] Settings status: loaded=%s, LunaLib ready=%s, current values: %s", settingsLoaded,
+                lunaLibReady, config);
     }
 }
@@ -0,0 +1,116 @@
+package ramscoop;
+
+import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
+import com.fs.starfarer.api.combat.MutableStat.StatMod;
+import com.fs.starfarer.api.impl.campaign.terrain.BaseTiledTerrain;
+import org.lwjgl.util.vector.Vector2f;
+import java.util.Map;
+
+/**
+ * Nebula detection without scanning every burn modifier. Nebula terrain marks
+ * fleets inside it with a max-burn modifier whose source contains
+ * {@code nebula_stat_mod}; once that key has been seen it is cached and checked
+ * with a single map lookup. When the cached key is absent, the nebula terrains
+ * of the current location are queried directly through their tile grid at the
+ * fleet position. Only nebula plugins without a tile grid (not a
+ * {@link BaseTiledTerrain}) fall back to the old scan of all modifiers.
+ */
+final class NebulaDetector {
+
+    // Marker in the source of the max-burn modifier applied by nebula terrain
+    static final String NEBULA_MOD_MARKER = "nebula_stat_mod";
+
+    private static final int OUTSIDE = 0;
+    private static final int INSIDE = 1;
+    private static final int UNKNOWN = 2;
+
+    private String cachedKey = null;
+
+    /**
+     * True if the fleet is inside a nebula.
+     *
+     * @param burnMods the fleet's max-burn multiplier bonuses
+     * @param terrain  terrain index already updated for the fleet's location
+     * @param position fleet position
+     */
+    boolean inNebula(Map<String, StatMod> burnMods, CoronaTerrainIndex terrain, Vector2f position) {
+        if (cachedKey != null && isNebulaMod(burnMods.get(cachedKey)))
+            return true;
+        int state = terrain.getLocation() != null ? gridState(terrain, position.x, position.y) : UNKNOWN;
+        if (state == OUTSIDE)
+            return false;
+        if (state == INSIDE) {
+            // Learn the modifier key for next time; once known, never rescan (the
+            // entry iterator would allocate on every tick)
+            if (cachedKey == null) {
+                learnKey(burnMods);
+            }
+            return true;
+        }
+        // No tile grid to ask: only the modifiers can tell
+        return learnKey(burnMods);
+    }
+
+    /** Forget the cached modifier key. */
+    void clear() {
+        cachedKey = null;
+    }
+
+    String getCachedKey() {
+        return cachedKey;
+    }
+
+    static boolean isNebulaMod(StatMod mod) {
+        return mod != null && mod.source != null && mod.source.contains(NEBULA_MOD_MARKER);
+    }
+
+    // Full scan of the burn modifiers; caches the key of the nebula modifier if present
+    private boolean learnKey(Map<String, StatMod> burnMods) {
+        for (Map.Entry<String, StatMod> e : burnMods.entrySet()) {
+            if (isNebulaMod(e.getValue())) {
+                cachedKey = e.getKey();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // INSIDE if any nebula tile covers the point, UNKNOWN if some nebula has no tile
+    // grid to query, OUTSIDE otherwise (including locations with no nebula at all)
+    private static int gridState(CoronaTerrainIndex terrain, float x, float y) {
+        int result = OUTSIDE;
+        for (int i = 0, n = terrain.nebulaCount(); i < n; i++) {
+            int state = tileState(terrain.getNebula(i), x, y);
+            if (state == INSIDE)
+                return INSIDE;
+            if (state == UNKNOWN) {
+                result = UNKNOWN;
+            }
+        }
+        return result;
+    }
+
+    private static int tileState(CampaignTerrainAPI t, float x, float y) {
+        try {
+            Object plugin = t.getPlugin();
+            if (!(plugin instanceof BaseTiledTerrain))
+                return UNKNOWN;
+            BaseTiledTerrain tiled = (BaseTiledTerrain) plugin;
+            int[][] tiles = tiled.getTiles();
+            float size = tiled.getTileSize();
+            if (tiles == null || tiles.length == 0 || tiles[0] == null || size <= 0f)
+                return UNKNOWN;
+            // The grid is centred on the terrain entity; empty tiles are negative
+            Vector2f centre = t.getLocation();
+            float left = centre.x - tiles.length * size / 2f;
+            float bottom = centre.y - tiles[0].length * size / 2f;
+            int xi = (int) Math.floor((x - left) / size);
+            int yi = (int) Math.floor((y - bottom) / size);
+            if (xi < 0 || yi < 0 || xi >= tiles.length || yi >= tiles[xi].length)
+                return OUTSIDE;
+            return tiles[xi][yi] >= 0 ? INSIDE : OUTSIDE;
+        } catch (Throwable ignored) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ramscoop;
+
+/**
+ * Floating-text cues for the player fleet, queued instead of shown at once.
+ * Each channel (toggle, nebula, corona) holds at most one pending transition;
+ * a transition is shown once it has waited {@link #COALESCE_WINDOW}, and an
+ * opposite transition on the same channel before then cancels both, so a fleet
+ * skimming a nebula edge shows nothing instead of a burst of enter/exit texts.
+ * A channel shows at most one cue per {@link #CHANNEL_COOLDOWN}, and all
+ * channels together at most {@link #MAX_PER_SECOND} per second; held cues stay
+ * pending (and can still be cancelled) until they are allowed.
+ * <p>
+ * All state is preallocated; the clock is the tick time passed to
+ * {@link #advance(float)}. No Starsector API dependencies.
+ */
+final class NotificationQueue {
+
+    static final int TOGGLE = 0;
+    static final int NEBULA = 1;
+    static final int CORONA = 2;
+    static final int CHANNELS = 3;
+    /** Returned by {@link #poll()} when nothing is due. */
+    static final int NONE = -1;
+
+    // Seconds a transition waits for its opposite before it is shown
+    static final float COALESCE_WINDOW = 0.3f;
+    // Minimum seconds between two cues on the same channel
+    static final float CHANNEL_COOLDOWN = 1f;
+    // Cues shown across all channels in any one-second span
+    static final int MAX_PER_SECOND = 2;
+
+    private final boolean[] pending = new boolean[CHANNELS];
+    private final boolean[] pendingOn = new boolean[CHANNELS];
+    private final double[] postedAt = new double[CHANNELS];
+    private final double[] lastShown = new double[CHANNELS];
+    // Times of the most recent cues shown, oldest at 'next'
+    private final double[] recent = new double[MAX_PER_SECOND];
+    private int next = 0;
+    private double now = 0.0;
+    private long coalesced = 0;
+
+    NotificationQueue() {
+        clear();
+    }
+
+    /** Move the queue's clock forward by the tick time. */
+    void advance(float seconds) {
+        if (seconds > 0f) {
+            now += seconds;
+        }
+    }
+
+    /**
+     * Queue a transition. Cancels a pending opposite transition on the same
+     * channel instead; a repeat of the pending one is ignored.
+     */
+    void post(int channel, boolean on) {
+        if (pending[channel]) {
+            if (pendingOn[channel] != on) {
+                pending[channel] = false;
+                coalesced++;
+            }
+            return;
+        }
+        pending[channel] = true;
+        pendingOn[channel] = on;
+        postedAt[channel] = now;
+    }
+
+    /** Drop the pending transition of a channel, if any. */
+    void cancel(int channel) {
+        pending[channel] = false;
+    }
+
+    /**
+     * The next cue to show, encoded as {@code channel * 2 + (on ? 1 : 0)}, or
+     * {@link #NONE}. A returned cue is counted against the cooldown and the
+     * per-second cap, so call this only when the text is actually shown.
+     */
+    int poll() {
+        if (now - recent[next] < 1.0)
+            return NONE;
+        for (int c = 0; c < CHANNELS; c++) {
+            if (!pending[c] || now - postedAt[c] < COALESCE_WINDOW || now - lastShown[c] < CHANNEL_COOLDOWN)
+                continue;
+            pending[c] = false;
+            lastShown[c] = now;
+            recent[next] = now;
+            next = (next + 1) % MAX_PER_SECOND;
+            return c * 2 + (pendingOn[c] ? 1 : 0);
+        }
+        return NONE;
+    }
+
+    /** Drop the pending transitions of all channels; cooldowns still apply. */
+    void cancelAll() {
+        for (int c = 0; c < CHANNELS; c++) {
+            pending[c] = false;
+        }
+    }
+
+    /** True if any channel has a transition waiting. */
+    boolean hasPending() {
+        for (int c = 0; c < CHANNELS; c++) {
+            if (pending[c])
+                return true;
+        }
+        return false;
+    }
+
+    /** Transitions cancelled by their opposite since construction. */
+    long getCoalesced() {
+        return coalesced;
+    }
+
+    /** Drop everything pending and forget cooldowns. */
+    void clear() {
+        for (int c = 0; c < CHANNELS; c++) {
+            pending[c] = false;
+            lastShown[c] = Double.NEGATIVE_INFINITY;
+        }
+        for (int i = 0; i < MAX_PER_SECOND; i++) {
+            recent[i] = Double.NEGATIVE_INFINITY;
+        }
+        next = 0;
+    }
+
+    static int channel(int cue) {
+        return cue >> 1;
+    }
+
+    static boolean isOn(int cue) {
+        return (cue & 1) != 0;
+    }
+}
@@ -0,0 +1,218 @@
+package ramscoop;
+
+import com.fs.starfarer.api.EveryFrameScript;
+import com.fs.starfarer.api.Global;
+import com.fs.starfarer.api.campaign.CampaignClockAPI;
+import com.fs.starfarer.api.campaign.CampaignFleetAPI;
+import com.fs.starfarer.api.campaign.CargoAPI;
+import com.fs.starfarer.api.campaign.LocationAPI;
+import com.fs.starfarer.api.campaign.SectorAPI;
+import org.lwjgl.util.vector.Vector2f;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Scooping for NPC fleets. Walks the sector one location at a time and
+ * processes at most {@code npc_fleets_per_frame} fleets per frame in
+ * round-robin order, so the frame cost stays flat no matter how many fleets
+ * exist. Each fleet remembers the clock timestamp of its last visit and is
+ * credited for all the time since then, so a slower sweep gives fewer, larger
+ * accrual steps rather than less generation.
+ * <p>
+ * Fleets found in a nebula or corona are loaded into an {@link AccrualBatch}
+ * and their deltas computed together once per frame; only non-zero deltas are
+ * written back to cargo. Rates and caps are the same as for the player fleet;
+ * there is no runtime toggle and no visual feedback. Locations with no nebula, corona or star are
+ * skipped without touching their fleets.
+ */
+public class NpcRamscoop implements EveryFrameScript {
+    private static final RamscoopLog LOG = Log4jLogSink.logFor(NpcRamscoop.class);
+
+    // Debug flag - set to false for production builds
+    private static final boolean DEBUG_MODE = false;
+
+    // Credit at most this multiple of the previous sweep's duration, so a fleet
+    // last seen in a skipped location is not paid for its time elsewhere
+    private static final float MAX_CREDIT_SWEEPS = 1.25f;
+
+    // Per-location classification, reused as the walk moves on
+    private final CoronaProbeCache coronaProbes = new CoronaProbeCache();
+    private final CoronaTerrainIndex terrain = new CoronaTerrainIndex();
+    private final NebulaDetector nebulaDetector = new NebulaDetector();
+    private final CoronaRingTable coronaRings = new CoronaRingTable();
+    private final StarProximityTable starTable = new StarProximityTable();
+    // This frame's fleets in scoopable terrain; slot i of the batch is batchFleets[i]
+    private final AccrualBatch batch = new AccrualBatch(64);
+    private CampaignFleetAPI[] batchFleets = new CampaignFleetAPI[64];
+
+    // Last visit timestamp per fleet; entries vanish with despawned fleets
+    private final Map<CampaignFleetAPI, long[]> lastVisit = new WeakHashMap<CampaignFleetAPI, long[]>();
+
+    // Round-robin position: locations snapshot of this sweep, then fleets within one
+    private List<LocationAPI> locations = null;
+    private int locationCursor = 0;
+    private LocationAPI location = null;
+    private boolean locationHasTerrain = false;
+    private int fleetCursor = 0;
+
+    private long sweepStart = Long.MIN_VALUE;
+    private float creditCapDays = 0f;
+
+    public void advance(float amount) {
+        try {
+            RamscoopConfig cfg = ModPlugin.getConfig();
+            if (!cfg.enable_npc_fleets || (!cfg.enable_fuel && !cfg.enable_supplies))
+                return;
+            SectorAPI sector = Global.getSector();
+            if (sector == null)
+                return;
+            CampaignClockAPI clock = sector.getClock();
+
+            if (location == null && !nextLocation(sector, clock))
+                return;
+
+            List<CampaignFleetAPI> fleets = location.getFleets();
+            if (locationHasTerrain) {
+                // Cheap unless a terrain expired or a star orbits
+                terrain.update(location);
+                coronaRings.update(terrain);
+                starTable.update(location, coronaRings);
+                int budget = cfg.npc_fleets_per_frame;
+                while (budget > 0 && fleetCursor < fleets.size()) {
+                    collect(fleets.get(fleetCursor++), clock);
+                    budget--;
+                }
+                flush(cfg);
+            } else {
+                fleetCursor = fleets.size();
+            }
+            // At most one location (and one terrain index rebuild) per frame
+            if (fleetCursor >= fleets.size()) {
+                location = null;
+            }
+        } catch (Exception e) {
+            LOG.warnLimited("advance", "[Ramscoop] NPC scoop error: %s", e.getMessage());
+            location = null;
+            clearBatch();
+        }
+    }
+
+    /**
+     * Move the walk to the next location, starting a new sweep (and taking a
+     * fresh location snapshot) when the previous one is exhausted.
+     */
+    private boolean nextLocation(SectorAPI sector, CampaignClockAPI clock) {
+        if (locations == null || locationCursor >= locations.size()) {
+            long now = clock.getTimestamp();
+            if (sweepStart != Long.MIN_VALUE) {
+                creditCapDays = clock.getElapsedDaysSince(sweepStart) * MAX_CREDIT_SWEEPS;
+                if (DEBUG_MODE) {
+                    LOG.info("[Ramscoop] NPC sweep done: locations=%d, tracked fleets=%d, credit cap days=%s",
+                            locations.size(), lastVisit.size(), creditCapDays);
+                }
+            }
+            sweepStart = now;
+            locations = sector.getAllLocations();
+            locationCursor = 0;
+            if (locations == null || locations.isEmpty())
+                return false;
+        }
+        location = locations.get(locationCursor++);
+        fleetCursor = 0;
+        if (location == null)
+            return false;
+        terrain.update(location);
+        coronaRings.update(terrain);
+        starTable.update(location, coronaRings);
+        locationHasTerrain = terrain.size() > 0 || terrain.hasNebula() || coronaRings.size() > 0
+                || starTable.size() > 0;
+        return true;
+    }
+
+    // Time-stamp the fleet and, if it is in scoopable terrain, load it into the batch
+    private void collect(CampaignFleetAPI fleet, CampaignClockAPI clock) {
+        if (fleet == null || fleet.isPlayerFleet() || fleet.isStationMode() || !fleet.isAlive())
+            return;
+        long now = clock.getTimestamp();
+        long[] last = lastVisit.get(fleet);
+        if (last == null) {
+            // First sighting: start the clock, nothing to credit yet
+            lastVisit.put(fleet, new long[] { now });
+            return;
+        }
+        float days = Math.min(clock.getElapsedDaysSince(last[0]), creditCapDays);
+        last[0] = now;
+        if (days <= 0f)
+            return;
+
+        boolean inCorona = inCorona(fleet);
+        boolean inNebula = !inCorona && nebulaDetector.inNebula(
+                fleet.getStats().getFleetwideMaxBurnMod().getMultBonuses(), terrain, fleet.getLocation());
+        if (!inCorona && !inNebula)
+            return;
+
+        CargoAPI cargo = fleet.getCargo();
+        int slot = batch.add(cargo.getFuel(), cargo.getMaxFuel(), cargo.getSupplies(), cargo.getMaxCapacity(),
+                cargo.getSpaceLeft(), cargo.getCrew(), fleet.getFleetData().getMinCrew(), days, inNebula,
+                inCorona);
+        if (slot == batchFleets.length) {
+            CampaignFleetAPI[] grown = new CampaignFleetAPI[slot * 2];
+            System.arraycopy(batchFleets, 0, grown, 0, slot);
+            batchFleets = grown;
+        }
+        batchFleets[slot] = fleet;
+    }
+
+    // Compute every collected fleet in one pass and write back non-zero deltas
+    private void flush(RamscoopConfig cfg) {
+        int n = batch.size();
+        if (n == 0)
+            return;
+        batch.compute(cfg);
+        for (int i = 0; i < n; i++) {
+            float fuel = batch.fuelDelta(i);
+            float supplies = batch.supplyDelta(i);
+            if (fuel != 0f || supplies != 0f) {
+                CargoAPI cargo = batchFleets[i].getCargo();
+                if (fuel != 0f) {
+                    cargo.addFuel(fuel);
+                }
+                if (supplies != 0f) {
+                    cargo.addSupplies(supplies);
+                }
+            }
+        }
+        clearBatch();
+    }
+
+    private void clearBatch() {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            batchFleets[i] = null;
+        }
+        batch.clear();
+    }
+
+    // Same test as the player script: corona rings and terrain first, then star distance
+    private boolean inCorona(CampaignFleetAPI fleet) {
+        Vector2f p = fleet.getLocation();
+        if (coronaRings.contains(p.x, p.y, fleet.getRadius()))
+            return true;
+        for (int i = 0, n = terrain.size(); i < n; i++) {
+            try {
+                if (coronaProbes.contains(terrain.get(i).getPlugin(), fleet))
+                    return true;
+            } catch (Throwable ignored) {
+            }
+        }
+        return starTable.contains(p.x, p.y);
+    }
+
+    public boolean isDone() {
+        return false;
+    }
+
+    public boolean runWhilePaused() {
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package ramscoop;
+
+/**
+ * Fuel and supplies generated for a fleet but not yet written to its cargo.
+ * Each tick only adds a small fraction of a unit; collecting it here and
+ * moving whole units to the cargo keeps cargo mutations (and the stack/UI
+ * updates they cause) to one per unit instead of one per tick.
+ * <p>
+ * Amounts are kept in double precision, and a take only removes what it
+ * returns, so nothing is lost between flushes. The owner decides when to take
+ * everything (terrain change, cap reached, suspension, save). This class
+ * deliberately has no Starsector API dependencies.
+ */
+final class PendingAccrual {
+
+    private double fuel;
+    private double supplies;
+
+    float fuel() {
+        return (float) fuel;
+    }
+
+    float supplies() {
+        return (float) supplies;
+    }
+
+    boolean isEmpty() {
+        return fuel == 0.0 && supplies == 0.0;
+    }
+
+    void addFuel(float amount) {
+        fuel += amount;
+    }
+
+    void addSupplies(float amount) {
+        supplies += amount;
+    }
+
+    /**
+     * Fuel to write to cargo now: the whole units pending, or everything if
+     * {@code all}. 0 if there is nothing to write.
+     */
+    float takeFuel(boolean all) {
+        double take = all ? fuel : Math.floor(fuel);
+        if (take <= 0.0)
+            return 0f;
+        fuel -= take;
+        return (float) take;
+    }
+
+    /** Supplies to write to cargo now; see {@link #takeFuel}. */
+    float takeSupplies(boolean all) {
+        double take = all ? supplies : Math.floor(supplies);
+        if (take <= 0.0)
+            return 0f;
+        supplies -= take;
+        return (float) take;
+    }
+}
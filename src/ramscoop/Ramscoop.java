@@ -2,67 +2,95 @@ package ramscoop;
 
 import com.fs.starfarer.api.EveryFrameScript;
 import com.fs.starfarer.api.Global;
-import org.apache.log4j.Logger;
 import java.awt.Color;
+import com.fs.starfarer.api.campaign.CampaignClockAPI;
 import com.fs.starfarer.api.campaign.CampaignFleetAPI;
+import com.fs.starfarer.api.campaign.CargoAPI;
 import com.fs.starfarer.api.campaign.FleetDataAPI;
 import com.fs.starfarer.api.combat.MutableStat.StatMod;
-import com.fs.starfarer.api.fleet.MutableFleetStatsAPI;
 import com.fs.starfarer.api.campaign.LocationAPI;
 import com.fs.starfarer.api.campaign.CampaignTerrainAPI;
-import com.fs.starfarer.api.campaign.CampaignTerrainPlugin;
-import com.fs.starfarer.api.campaign.PlanetAPI;
 import org.lwjgl.util.vector.Vector2f;
-import java.util.Locale;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map.Entry;
-import java.util.ArrayList;
-import java.util.List;
-import com.fs.starfarer.api.util.IntervalUtil;
 
 public class Ramscoop implements EveryFrameScript {
-    private static final Logger LOG = Global.getLogger(Ramscoop.class);
+    private static final RamscoopLog LOG = Log4jLogSink.logFor(Ramscoop.class);
 
     // Debug flag - set to false for production builds
     private static final boolean DEBUG_MODE = false;
 
-    // Constants for intervals and defaults
-    private static final float SETTINGS_CHECK_INTERVAL = 10f; // Check settings every 10 seconds
-    private static final float INTERVAL_MIN = 0.09f; // Minimum interval between generation ticks
-    private static final float INTERVAL_MAX = 0.11f; // Maximum interval between generation ticks
-    private static final float DEFAULT_FUEL_PER_DAY = 0.04f;
-    private static final float DEFAULT_SUPPLIES_PER_CREW = 0.1f;
-    private static final float DEFAULT_PERCENT_SUPPLY_LIMIT = 0.35f;
-    private static final float DEFAULT_HARD_SUPPLY_LIMIT = 0.0f;
-    private static final String DEFAULT_CREW_USAGE = "extra";
-    private static final String DEFAULT_NO_CREW_GEN = "percent";
-    private static final float DEFAULT_NO_CREW_RATE = 0.1f;
+    // Constants for intervals
+    // Settings check is a dirty-flag test unless LunaLib reported a change, so it
+    // can run often enough for menu changes to apply within a second
+    private static final float SETTINGS_CHECK_INTERVAL = 1f;
+    // Full re-reads when there is no listener to report changes (LunaLib missing,
+    // not ready or registration failed) stay at the old 10s period
+    private static final float SETTINGS_FALLBACK_INTERVAL = 10f;
 
     private float settingsCheckTimer = 0f;
+    private float settingsFallbackTimer = 0f;
 
-    // Store settings used by generation (updated from ModPlugin periodically)
-    private boolean enable_fuel = true;
-    private boolean enable_supplies = true;
-    private float fuel_per_day = DEFAULT_FUEL_PER_DAY;
-    private float supplies_per_crew = DEFAULT_SUPPLIES_PER_CREW;
-    private float percent_supply_limit = DEFAULT_PERCENT_SUPPLY_LIMIT;
-    private float hard_supply_limit = DEFAULT_HARD_SUPPLY_LIMIT;
-    private String crew_usage = DEFAULT_CREW_USAGE;
-    private String no_crew_gen = DEFAULT_NO_CREW_GEN;
-    private float no_crew_rate = DEFAULT_NO_CREW_RATE;
-
-    // Load legacy config only once if LunaLib is not enabled
-    private boolean jsonLoaded = false;
-
-    private final IntervalUtil interval = new IntervalUtil(INTERVAL_MIN, INTERVAL_MAX);
+    // Base cadence 0.09-0.11s, stretched by time-to-contact when no boundary is near
+    private final AdaptiveTickScheduler scheduler = new AdaptiveTickScheduler();
     private float elapsedSinceTick = 0f;
-    // Cache the last known state of the scoop toggle so we can show visual cues
-    private Boolean lastScoopEnabled = null;
+    // Cache the last known state of the scoop toggle so we can show visual cues;
+    // plain booleans plus a "known" flag, so the tick never boxes
+    private boolean lastScoopEnabled = false;
+    private boolean scoopToggleKnown = false;
     // Cache the last known terrain state so we can show visual cues when
     // entering/exiting
-    private Boolean lastInNebula = null;
-    private Boolean lastInCorona = null;
+    private boolean lastInNebula = false;
+    private boolean lastInCorona = false;
+    private boolean terrainStateKnown = false;
+    // Resolved containsEntity/containsPoint handles per corona plugin class
+    private final CoronaProbeCache coronaProbes = new CoronaProbeCache();
+    // Corona-candidate terrains of the current location (rebuilt on change)
+    private final CoronaTerrainIndex coronaIndex = new CoronaTerrainIndex();
+    // Nebula detection: cached modifier key plus tile-grid query
+    private final NebulaDetector nebulaDetector = new NebulaDetector();
+    // Deep-hyperspace cloud cells, read directly from the hyperspace tile grid
+    private final HyperspaceCloudGrid hyperspaceGrid = new HyperspaceCloudGrid();
+    // Vanilla corona ring geometry of the current location
+    private final CoronaRingTable coronaRings = new CoronaRingTable();
+    // Star centres and squared thresholds of the current location
+    private final StarProximityTable starTable = new StarProximityTable();
+    // Player fleet max fuel/cargo and min crew, keyed on its composition
+    private final FleetCapacitySnapshot capacity = new FleetCapacitySnapshot();
+    // Player fleet rates/caps cached against its capacity and the config snapshot
+    private final GenerationRates rates = new GenerationRates();
+    // Set once the fleet is capped on everything it could generate
+    private final CapSuspension suspension = new CapSuspension();
+    // Phase timings and counters (no-ops unless enabled via ModPlugin)
+    private final TickMetrics metrics = ModPlugin.getMetrics();
+    // Generated fuel/supplies not yet in the cargo of pendingFleet; whole units
+    // are moved over as they accrue, the rest on a terrain change, on
+    // suspension and before a save
+    private final PendingAccrual pending = new PendingAccrual();
+    private CampaignFleetAPI pendingFleet = null;
+    // Terrain the pending amounts were generated in (-1 none yet)
+    private int accrualTerrain = -1;
+    // Catch-up: where the fleet was parked at the last evaluation (null if it
+    // was not) and the terrain state found there
+    private LocationAPI catchUpLoc = null;
+    private float catchUpX;
+    private float catchUpY;
+    private boolean evalInNebula = false;
+    private boolean evalInCorona = false;
+    private boolean evalInClouds = false;
+    // Movement below this (world units) still counts as parked
+    private static final float PARKED_EPSILON = 1f;
+    // Per-day, per-system record of what was generated (saved with the sector)
+    private final GenerationLedger ledger = ModPlugin.getLedger();
+    private static final int TERRAIN_NONE = 0;
+    private static final int TERRAIN_NEBULA = 1;
+    private static final int TERRAIN_CORONA = 2;
+    private static final int TERRAIN_HYPERSPACE = 3;
+
+    // Floating-text cues: coalesced, cooled down and rate-capped before shown
+    private final NotificationQueue notifications = new NotificationQueue();
+    private static final String TEXT_TOGGLE_ACTIVE = "Ramscoop Active";
+    private static final String TEXT_TOGGLE_INACTIVE = "Ramscoop Inactive";
+    private static final String TEXT_TERRAIN_ACTIVE = "Ramscoop:Active";
+    private static final String TEXT_TERRAIN_INACTIVE = "Ramscoop:Inactive";
 
     // (Removed) Pending blue-transition floating texts - this feature was removed
 
@@ -78,113 +106,68 @@ public class Ramscoop implements EveryFrameScript {
     }
 
     public boolean isNebula(StatMod mod) {
-        return mod != null && mod.source != null && mod.source.contains("nebula_stat_mod");
-    }
-
-    private void loadSettingsFromJsonOnceIfNeeded() {
-        if (jsonLoaded)
-            return;
-        try {
-            org.json.JSONObject config = Global.getSettings().loadJSON("settings.json", "m561_ramscoop");
-            enable_fuel = config.getBoolean("enable_fuel");
-            enable_supplies = config.getBoolean("enable_supplies");
-            if (config.has("fuel_per_day")) {
-                fuel_per_day = (float) config.getDouble("fuel_per_day");
-            }
-            // Read new JSON key used by the updated UI/schema. Do NOT fall back to
-            // the legacy 'supply_per_crew' key so the legacy menu entry can be
-            // removed cleanly from the CSV/UI without the code depending on it.
-            if (config.has("ramscoop_supply_per_crew")) {
-                supplies_per_crew = (float) config.getDouble("ramscoop_supply_per_crew");
-            }
-            percent_supply_limit = (float) config.getDouble("percent_supply_limit");
-            hard_supply_limit = (float) config.getDouble("hard_supply_limit");
-            crew_usage = config.get("crew_usage").toString();
-            no_crew_gen = config.get("no_crew_gen").toString();
-            no_crew_rate = (float) config.getDouble("no_crew_rate");
-            System.out.println(
-                    "Ramscoop: Settings loaded (settings.json) fuel=" + enable_fuel + " supplies=" + enable_supplies);
-        } catch (Throwable t) {
-            System.out.println("Ramscoop: Failed to load settings.json: " + t.getMessage());
-        } finally {
-            jsonLoaded = true;
-        }
+        return NebulaDetector.isNebulaMod(mod);
     }
 
     // Wrap advance contents in try-catch to fix syntax error
     public void advance(float amount) {
         try {
-            interval.advance(amount);
             elapsedSinceTick += amount;
-            if (!interval.intervalElapsed())
+            if (!scheduler.advance(amount)) {
+                metrics.frame(false);
                 return; // Skip until tick fires
-            float daysElapsed = Global.getSector().getClock().convertToDays(elapsedSinceTick);
+            }
+            metrics.frame(true);
+            float tickSeconds = elapsedSinceTick;
+            CampaignClockAPI clock = Global.getSector().getClock();
+            float daysElapsed = clock.convertToDays(tickSeconds);
             elapsedSinceTick = 0f;
 
-            // Pull settings less often (cache locally; update only on interval)
-            enable_fuel = ModPlugin.enable_fuel;
-            enable_supplies = ModPlugin.enable_supplies;
-            fuel_per_day = ModPlugin.fuel_per_day;
-            supplies_per_crew = ModPlugin.supplies_per_crew;
-            percent_supply_limit = ModPlugin.percent_supply_limit;
-            hard_supply_limit = ModPlugin.hard_supply_limit;
-            crew_usage = ModPlugin.crew_usage;
-            no_crew_gen = ModPlugin.no_crew_gen;
-            no_crew_rate = ModPlugin.no_crew_rate;
-
             // Debug: Always log that we're running (but throttle it)
             // one-time trace per cycle kept minimal
 
             // Periodically retry loading settings if not yet loaded (or LunaLib not yet
             // ready)
-            settingsCheckTimer += amount;
+            settingsCheckTimer += tickSeconds;
+            settingsFallbackTimer += tickSeconds;
             if (settingsCheckTimer >= SETTINGS_CHECK_INTERVAL) {
                 settingsCheckTimer = 0f;
+                boolean fallbackDue = settingsFallbackTimer >= SETTINGS_FALLBACK_INTERVAL;
+                if (fallbackDue) {
+                    settingsFallbackTimer = 0f;
+                }
+                long settingsStart = metrics.start();
                 try {
-                    ramscoop.ModPlugin.reloadSettings();
+                    ramscoop.ModPlugin.reloadSettings(fallbackDue);
                 } catch (Throwable ignored) {
                 }
+                metrics.stop(TickMetrics.Phase.SETTINGS_REFRESH, settingsStart);
             }
 
             CampaignFleetAPI fleet = Global.getSector().getPlayerFleet();
             if (fleet == null) {
                 return;
             }
+            if (fleet != pendingFleet) {
+                // New player fleet: the old one keeps what it generated
+                flushPending();
+                pendingFleet = fleet;
+            }
+
+            // One consistent settings snapshot for the whole tick
+            RamscoopConfig cfg = ModPlugin.getConfig();
 
             // Trimmed per-frame logging
 
+            // Fuel and supplies include what is pending, so caps see the true level
             FleetDataAPI fleetData = fleet.getFleetData();
-            StatMod nebulaMod = null;
-            MutableFleetStatsAPI stats = fleetData.getFleet().getStats();
-            HashMap<String, StatMod> mods = stats.getFleetwideMaxBurnMod().getMultBonuses();
-            float fuel = fleet.getCargo().getFuel();
-            float supplies = fleet.getCargo().getSupplies();
-            float minimumcrew = fleet.getFleetData().getMinCrew();
-            float currentcrew = (float) fleet.getCargo().getCrew();
-            float extracrew = 0.0F;
-            double suppliesperdayd = 0.0D;
+            CargoAPI cargo = fleet.getCargo();
+            float fuel = cargo.getFuel() + pending.fuel();
+            float supplies = cargo.getSupplies() + pending.supplies();
+            int crewCount = cargo.getCrew();
+            float currentcrew = (float) crewCount;
             float suppliesperday = 0.0F;
             float minspace = 0.0F;
-            double fuelperdayd = Math.floor((double) (fleet.getCargo().getMaxFuel() * fuel_per_day));
-            float fuelperday = (float) fuelperdayd;
-            double maxsuppliesd = Math.floor((double) (fleet.getCargo().getMaxCapacity() * percent_supply_limit));
-            float maxpercentsupplies = (float) maxsuppliesd;
-            float maxsupplies = 0.0F;
-
-            // Check for nebula status
-            for (Entry<String, StatMod> mod : mods.entrySet()) {
-                StatMod statMod = mod.getValue();
-                if (this.isNebula(statMod)) {
-                    nebulaMod = statMod;
-                    break;
-                }
-            }
-
-            if (hard_supply_limit == 0.0F) {
-                maxsupplies = maxpercentsupplies;
-            } else {
-                maxsupplies = Math.min(maxpercentsupplies, hard_supply_limit);
-            }
 
             // Restore scoop toggle check (from original line 210)
             boolean scoopEnabled = true;
@@ -194,210 +177,163 @@ public class Ramscoop implements EveryFrameScript {
             }
 
             // If the toggle changed since last check, show a short floating text cue
+            long toggleStart = metrics.start();
             try {
                 // If we don't have a cached value, set it. If we do and it's different,
                 // show the configured floating-text feedback. Use an explicit branch so
                 // the first-time initialization doesn't swallow a user-initiated change.
-                if (lastScoopEnabled == null) {
+                if (!scoopToggleKnown) {
                     lastScoopEnabled = scoopEnabled;
-                } else if (lastScoopEnabled.booleanValue() != scoopEnabled) {
+                    scoopToggleKnown = true;
+                } else if (lastScoopEnabled != scoopEnabled) {
                     // Toggle changed
-                    LOG.info("[Ramscoop] Toggle changed detected: last=" + lastScoopEnabled + " now=" + scoopEnabled);
+                    LOG.info("[Ramscoop] Toggle changed detected: last=%s now=%s", lastScoopEnabled, scoopEnabled);
                     // Only show visual feedback if visual feedback is enabled and the scoop is
                     // currently enabled at runtime (prevents notifications when master
                     // toggle is turned off)
-                    if (ModPlugin.enable_visual_feedback && scoopEnabled) {
-                        // clamp duration
-                        float totalDur = ModPlugin.floating_text_duration;
-                        totalDur = Math.max(0.25f, Math.min(3.0f, totalDur));
-                        if (scoopEnabled) {
-                            // Activation: show cyan immediately, then show blue shortly after
-                            String txtCyan = "Ramscoop Active";
-                            Color colCyan = ModPlugin.color_toggle_active;
-                            try {
-                                fleet.addFloatingText(txtCyan, colCyan, totalDur);
-                            } catch (Throwable ignoreAdd) {
-                                LOG.warn("[Ramscoop] Failed to add cyan floating text: " + ignoreAdd.getMessage());
-                            }
-                            // (Removed) scheduling of delayed blue floating-text is disabled.
-                        } else {
-                            // Deactivation: show grey inactive text
-                            String txtGrey = "Ramscoop Inactive";
-                            Color colGrey = ModPlugin.color_toggle_inactive;
-                            try {
-                                fleet.addFloatingText(txtGrey, colGrey, totalDur);
-                            } catch (Throwable ignoreAdd) {
-                                LOG.warn("[Ramscoop] Failed to add grey floating text: " + ignoreAdd.getMessage());
-                            }
-                        }
+                    if (cfg.enable_visual_feedback && scoopEnabled) {
+                        notifications.post(NotificationQueue.TOGGLE, true);
                     } else {
                         LOG.info("[Ramscoop] Visual feedback disabled; not showing toggle floating text");
                     }
                     lastScoopEnabled = scoopEnabled;
                 }
             } catch (Throwable ignoredToggle) {
-                LOG.warn("[Ramscoop] Exception while handling toggle change: " + ignoredToggle.getMessage());
+                LOG.warnLimited("toggle", "[Ramscoop] Exception while handling toggle change: %s",
+                        ignoredToggle.getMessage());
             }
+            // Show whatever queued cues are due (terrain cues are queued further
+            // down, so they come out on a later tick once their window has passed)
+            notifications.advance(tickSeconds);
+            if (cfg.enable_visual_feedback && scoopEnabled) {
+                showDueNotifications(fleet, cfg);
+            } else {
+                notifications.cancelAll();
+            }
+            // Counted with the terrain cues below as one notifications sample
+            long toggleNanos = metrics.elapsed(toggleStart);
 
             // (Removed) processing of delayed blue floating texts - feature disabled.
 
-            // Restore corona detection and generation (from original lines 214-310), with
-            // caps
-            boolean inCorona = false;
-            try {
-                LocationAPI loc = fleet.getContainingLocation();
-                if (loc != null) {
-                    for (CampaignTerrainAPI t : loc.getTerrainCopy()) {
-                        boolean looksCorona = false;
-                        try {
-                            String type = t.getType();
-                            looksCorona = type != null && type.toLowerCase(Locale.ROOT).contains("corona");
-                        } catch (Throwable ignored2) {
-                        }
-                        if (!looksCorona) {
-                            try {
-                                Object plugin = t.getPlugin();
-                                if (plugin != null) {
-                                    String cn = plugin.getClass().getName().toLowerCase(Locale.ROOT);
-                                    looksCorona = cn.contains("corona");
-                                }
-                            } catch (Throwable ignored3) {
-                            }
-                        }
-                        if (looksCorona) {
-                            try {
-                                Object pluginObj = t.getPlugin();
-                                if (pluginObj != null) {
-                                    // Try containsEntity
-                                    try {
-                                        Class<?> setClazz = Class
-                                                .forName("com.fs.starfarer.api.campaign.SectorEntityToken");
-                                        java.lang.reflect.Method m = pluginObj.getClass().getMethod("containsEntity",
-                                                setClazz);
-                                        Object r = m.invoke(pluginObj, fleet);
-                                        if (r instanceof Boolean && ((Boolean) r)) {
-                                            inCorona = true;
-                                            break;
-                                        }
-                                    } catch (Throwable ignoredCE) {
-                                    }
-                                    // Try containsPoint
-                                    try {
-                                        Class<?> v2 = Class.forName("org.lwjgl.util.vector.Vector2f");
-                                        java.lang.reflect.Method m2 = pluginObj.getClass().getMethod("containsPoint",
-                                                v2);
-                                        Object r2 = m2.invoke(pluginObj, fleet.getLocation());
-                                        if (r2 instanceof Boolean && ((Boolean) r2)) {
-                                            inCorona = true;
-                                            break;
-                                        }
-                                    } catch (Throwable ignoredCP) {
-                                    }
-                                }
-                            } catch (Throwable ignored4) {
-                            }
-                        }
-                    }
-                    // Fallback: distance to star
-                    if (!inCorona) {
-                        try {
-                            java.util.List<PlanetAPI> planets = loc.getPlanets();
-                            for (PlanetAPI p : planets) {
-                                try {
-                                    if (p.isStar()) {
-                                        Vector2f fp = fleet.getLocation();
-                                        Vector2f sp = p.getLocation();
-                                        float dx = fp.x - sp.x;
-                                        float dy = fp.y - sp.y;
-                                        float dist = (float) Math.sqrt(dx * dx + dy * dy);
-                                        float buffer = 1000f;
-                                        if (dist <= p.getRadius() + buffer) {
-                                            inCorona = true;
-                                            break;
-                                        }
-                                    }
-                                } catch (Throwable ignoredStar) {
-                                }
-                            }
-                        } catch (Throwable ignoredPlanets) {
-                        }
+            // Cap-aware suspension: while nothing can be gained, skip all terrain and
+            // generation work until an input that could change the outcome changes
+            LocationAPI currentLoc = fleet.getContainingLocation();
+            float spaceLeft = cargo.getSpaceLeft() - pending.supplies();
+            int memberCount = fleetData.getNumMembers();
+            // Max fuel/cargo and min crew walk the fleet's members; re-queried only
+            // when the composition fingerprint changes or the snapshot ages out.
+            // Also kept fresh while suspended, so a refit that raises max fuel
+            // ends the suspension
+            if (capacity.isStale(fleet, fleetData, memberCount, tickSeconds)) {
+                capacity.set(fleet, fleetData, memberCount, cargo.getMaxFuel(), cargo.getMaxCapacity(),
+                        fleetData.getMinCrew());
+            }
+            if (suspension.isSuspended()) {
+                if (suspension.holds(fuel, supplies, spaceLeft, crewCount, memberCount, capacity.maxFuel,
+                        currentLoc, cfg, scoopEnabled)) {
+                    if (cfg.enable_visual_feedback && scoopEnabled) {
+                        // Nothing to generate, but the enter/exit cues still follow
+                        // the terrain; paced like a normal evaluation, and free while
+                        // parked
+                        boolean hyperspace = currentLoc != null && currentLoc.isHyperspace();
+                        evaluateTerrain(fleet, currentLoc, hyperspace, tickSeconds);
+                        trackTerrainCues(cfg, scoopEnabled, toggleNanos);
+                        scheduleNextEvaluation(fleet, currentLoc, evalInNebula, hyperspace);
+                    } else {
+                        scheduler.scheduleNext(Float.MAX_VALUE, 0f); // only cheap checks; stay slow
+                        // Terrain is not tracked without cues; forget the last state
+                        // so resuming does not fire a stale enter/exit cue
+                        terrainStateKnown = false;
                     }
+                    metrics.suspendedTick();
+                    return;
                 }
-            } catch (Throwable ignored) {
+                suspension.resume();
+                scheduler.reset();
+                catchUpLoc = null;
             }
 
-            // After computing whether we're in a corona, show floating-text cues for
-            // entering/exiting nebula or corona. nebulaMod was calculated earlier.
-            try {
-                boolean nowInNebula = nebulaMod != null;
-                boolean nowInCorona = inCorona;
-                if (ModPlugin.enable_visual_feedback && scoopEnabled) {
-                    float totalDur = ModPlugin.floating_text_duration;
-                    totalDur = Math.max(0.25f, Math.min(3.0f, totalDur));
-                    // Nebula enter/exit (respect per-event toggles)
-                    if (lastInNebula == null) {
-                        lastInNebula = nowInNebula;
-                    } else if (lastInNebula.booleanValue() != nowInNebula) {
-                        boolean show = nowInNebula ? ModPlugin.notify_nebula_entry : ModPlugin.notify_nebula_exit;
-                        if (show) {
-                            String txt = nowInNebula ? "Ramscoop:Active" : "Ramscoop:Inactive";
-                            Color col = nowInNebula ? ModPlugin.color_nebula_active : ModPlugin.color_nebula_inactive;
-                            try {
-                                fleet.addFloatingText(txt, col, totalDur);
-                            } catch (Throwable ignored) {
-                            }
-                        }
-                        lastInNebula = nowInNebula;
-                    }
-
-                    // Corona enter/exit
-                    if (lastInCorona == null) {
-                        lastInCorona = nowInCorona;
-                    } else if (lastInCorona.booleanValue() != nowInCorona) {
-                        boolean show = nowInCorona ? ModPlugin.notify_corona_entry : ModPlugin.notify_corona_exit;
-                        if (show) {
-                            String txt = nowInCorona ? "Ramscoop:Active" : "Ramscoop:Inactive";
-                            Color col = nowInCorona ? ModPlugin.color_corona_active : ModPlugin.color_corona_inactive;
-                            try {
-                                fleet.addFloatingText(txt, col, totalDur);
-                            } catch (Throwable ignored) {
-                            }
-                        }
-                        lastInCorona = nowInCorona;
-                    }
+            float minimumcrew = capacity.minCrew;
+
+            // Capacity-derived rates and caps; recomputed only when capacity or config change
+            rates.update(cfg, capacity.maxFuel, capacity.maxCapacity);
+            float fuelperday = rates.nebulaFuelPerDay;
+            float maxsupplies = rates.supplyCap;
+
+            if (CapSuspension.isSaturated(cfg, rates, scoopEnabled, fuel, supplies, spaceLeft, currentcrew,
+                    minimumcrew)) {
+                if (!pending.isEmpty()) {
+                    // Suspension watches the cargo itself, so settle up first
+                    flushPending();
+                    fuel = cargo.getFuel();
+                    supplies = cargo.getSupplies();
+                    spaceLeft = cargo.getSpaceLeft();
                 }
-            } catch (Throwable ignoredTerrain) {
+                suspension.suspend(fuel, supplies, spaceLeft, crewCount, memberCount, capacity.maxFuel,
+                        currentLoc, cfg, scoopEnabled);
+                metrics.suspendedTick();
+                return;
             }
 
+            // Hyperspace has no coronas, stars or nebulae to scan; the only terrain
+            // that generates there is the cloud grid, looked up at the fleet's cell
+            boolean hyperspace = currentLoc != null && currentLoc.isHyperspace();
+            evaluateTerrain(fleet, currentLoc, hyperspace, tickSeconds);
+            boolean inNebula = evalInNebula;
+            boolean inCorona = evalInCorona;
+            boolean inClouds = evalInClouds;
+            trackTerrainCues(cfg, scoopEnabled, toggleNanos);
+
+            // Leaving or switching terrain settles the pending fractions
+            int terrain = inCorona ? TERRAIN_CORONA
+                    : inNebula ? TERRAIN_NEBULA : inClouds ? TERRAIN_HYPERSPACE : TERRAIN_NONE;
+            if (terrain != accrualTerrain) {
+                flushPending();
+                accrualTerrain = terrain;
+            }
+
+            // Plan the next evaluation before generating (accrual below uses the
+            // full elapsed time, so a stretched interval loses nothing)
+            scheduleNextEvaluation(fleet, currentLoc, inNebula, hyperspace);
+
             // Corona behavior (takes precedence if detected)
+            long generationStart = metrics.start();
             if (inCorona) {
                 float days = daysElapsed;
                 // Fuel: generate faster in corona if enabled
-                if (ModPlugin.corona_enable_fuel && enable_fuel && scoopEnabled) {
-                    float maxFuel = fleet.getCargo().getMaxFuel();
-                    double coronaPerDayD = Math.floor((double) (maxFuel * ModPlugin.corona_fuel_per_day));
-                    float coronaPerDay = (float) coronaPerDayD;
-                    float add = coronaPerDay * days;
-                    // Use corona caps
-                    float coronaSoft = (float) Math.floor(maxFuel * ModPlugin.corona_percent_fuel_limit);
-                    float coronaHard = ModPlugin.corona_hard_fuel_limit;
-                    float coronaMargin = ModPlugin.corona_fuel_cap_margin;
-                    float hardCap = coronaHard > 0f ? coronaHard : Float.MAX_VALUE;
-                    float targetCap = Math.min(maxFuel, Math.min(coronaSoft, hardCap));
-                    float margin = Math.max(0f, coronaMargin);
-                    // Diagnostic log (debug only)
-                    if (DEBUG_MODE) {
-                        LOG.info("[Ramscoop] Corona mode: add=" + add + ", soft=" + coronaSoft + ", hard=" + coronaHard
-                                + ", margin=" + margin + ", fuel=" + fuel + ", target=" + targetCap);
-                    }
-                    if (fuel < targetCap - margin) {
-                        float remaining = Math.max(0f, (targetCap - margin) - fuel);
+                if (cfg.corona_enable_fuel && cfg.enable_fuel && scoopEnabled) {
+                    float add = rates.coronaFuelPerDay * days;
+                    // Corona caps (already resolved to the nebula caps if corona_caps_reuse)
+                    float target = rates.coronaFuelTarget;
+                    if (fuel < target) {
+                        float remaining = target - fuel;
                         float fuelToAdd = Math.min(add, remaining);
                         if (fuelToAdd > 0f) {
-                            fleet.getCargo().addFuel(fuelToAdd);
+                            pending.addFuel(fuelToAdd);
+                            flushFuel(fleet, false);
+                            ledger.recordCorona(ledgerDay(clock), currentLoc == null ? null : currentLoc.getId(),
+                                    fuelToAdd);
+                        }
+                    }
+                }
+                metrics.stop(TickMetrics.Phase.GENERATION, generationStart);
+                return;
+            }
+
+            // Deep hyperspace: fuel only, with its own rate and caps
+            if (inClouds) {
+                if (cfg.hyperspace_enable_fuel && cfg.enable_fuel && scoopEnabled) {
+                    float target = rates.hyperspaceFuelTarget;
+                    if (fuel < target) {
+                        float fuelToAdd = Math.min(rates.hyperspaceFuelPerDay * daysElapsed, target - fuel);
+                        if (fuelToAdd > 0f) {
+                            pending.addFuel(fuelToAdd);
+                            flushFuel(fleet, false);
+                            ledger.recordHyperspace(ledgerDay(clock), fuelToAdd);
                         }
                     }
                 }
+                metrics.stop(TickMetrics.Phase.GENERATION, generationStart);
                 return;
             }
 
@@ -405,88 +341,56 @@ public class Ramscoop implements EveryFrameScript {
             // block
 
             // Nebula block
-            if (nebulaMod != null) {
+            if (inNebula) {
                 float days = daysElapsed; // aggregated time since last tick
+                float fuelAdded = 0f;
+                float suppliesAdded = 0f;
 
                 // Supplies
-                if (!enable_supplies || !scoopEnabled) {
+                if (!cfg.enable_supplies || !scoopEnabled) {
                     if (DEBUG_MODE) {
                         LOG.info("[Ramscoop] Supplies disabled (nebula present or scoop off)");
                     }
                 } else {
-                    // Calculate supplies generation based on crew settings
-                    switch (crew_usage) {
-                        case "nocrew":
-                            switch (no_crew_gen) {
-                                case "percent":
-                                    // Use percent slider (0..100) converted to fraction in ModPlugin
-                                    suppliesperdayd = Math.floor((double) (fleet.getCargo().getMaxCapacity()
-                                            * ModPlugin.no_crew_rate_percent));
-                                    suppliesperday = (float) suppliesperdayd;
-                                    break;
-                                case "flat":
-                                    // Use flat units/day from ModPlugin
-                                    suppliesperday = ModPlugin.no_crew_rate_flat;
-                                    break;
-                            }
-                            break;
-                        case "all":
-                            suppliesperday = currentcrew * supplies_per_crew;
-                            break;
-                        case "extra":
-                            if (currentcrew > minimumcrew) {
-                                extracrew = currentcrew - minimumcrew;
-                                suppliesperday = extracrew * supplies_per_crew;
-                            }
-                            break;
-                    }
+                    // Calculate supplies generation based on the resolved crew mode
+                    suppliesperday = rates.suppliesPerDay(currentcrew, minimumcrew);
 
                     // Calculate available space for supplies
                     if (supplies < maxsupplies) {
-                        minspace = Math.min(maxsupplies - supplies, fleet.getCargo().getSpaceLeft());
+                        minspace = Math.min(maxsupplies - supplies, spaceLeft);
                     } else {
-                        minspace = fleet.getCargo().getSpaceLeft();
+                        minspace = spaceLeft;
                     }
 
                     // Add supplies based on available space
-                    if (fleet.getCargo().getSpaceLeft() > 0.0F && suppliesperday > 0.0F && supplies < maxsupplies) {
+                    if (spaceLeft > 0.0F && suppliesperday > 0.0F && supplies < maxsupplies) {
                         float suppliesToAdd;
                         if (suppliesperday * days < minspace) {
                             suppliesToAdd = suppliesperday * days;
-                            fleet.getCargo().addSupplies(suppliesToAdd);
                         } else {
                             suppliesToAdd = minspace;
-                            fleet.getCargo().addSupplies(suppliesToAdd);
-                        }
-                        // Debug logging only
-                        if (DEBUG_MODE && suppliesToAdd > 0.5f) {
-                            LOG.info("[Ramscoop] Added supplies: " + suppliesToAdd);
                         }
+                        pending.addSupplies(suppliesToAdd);
+                        flushSupplies(fleet, false);
+                        suppliesAdded = suppliesToAdd;
                     }
                 }
 
                 // Fuel (move try inside)
                 try {
-                    if (enable_fuel && scoopEnabled) {
+                    if (cfg.enable_fuel && scoopEnabled) {
                         // No need to redeclare days; use the one above
-                        float maxFuel = fleet.getCargo().getMaxFuel();
-                        float nebSoft = (float) Math.floor(maxFuel * ModPlugin.nebula_percent_fuel_limit);
-                        float nebHardCfg = ModPlugin.nebula_hard_fuel_limit;
-                        float nebMargin = ModPlugin.nebula_fuel_cap_margin;
-                        float hardCap = nebHardCfg > 0f ? nebHardCfg : Float.MAX_VALUE;
-                        float targetCap = Math.min(maxFuel, Math.min(nebSoft, hardCap));
-                        float margin = Math.max(0f, nebMargin);
-                        if (fuel < targetCap - margin) {
-                            float remaining = Math.max(0f, (targetCap - margin) - fuel);
+                        float target = rates.nebulaFuelTarget;
+                        if (fuel < target) {
+                            float remaining = target - fuel;
                             float fuelToAdd = Math.min(fuelperday * days, remaining);
                             if (fuelToAdd > 0f) {
-                                fleet.getCargo().addFuel(fuelToAdd);
-                                if (DEBUG_MODE && fuelToAdd > 0.5f) {
-                                    LOG.info("[Ramscoop] Added fuel: " + fuelToAdd);
-                                }
+                                pending.addFuel(fuelToAdd);
+                                flushFuel(fleet, false);
+                                fuelAdded = fuelToAdd;
                             }
                         }
-                    } else if (!enable_fuel) {
+                    } else if (!cfg.enable_fuel) {
                         if (DEBUG_MODE) {
                             LOG.info("[Ramscoop] Fuel generation disabled");
                         }
@@ -494,12 +398,245 @@ public class Ramscoop implements EveryFrameScript {
                 } catch (Throwable t) {
                     // Non-fatal
                 }
+                if (fuelAdded > 0f || suppliesAdded > 0f) {
+                    ledger.recordNebula(ledgerDay(clock), currentLoc == null ? null : currentLoc.getId(), fuelAdded,
+                            suppliesAdded);
+                }
             }
+            metrics.stop(TickMetrics.Phase.GENERATION, generationStart);
         } catch (Exception e) {
-            // Use simple println for logging errors to avoid log4j dependency issues
-            System.out.println("Ramscoop: Error in advance method - " + e.getMessage());
-            e.printStackTrace();
+            // Once a minute at most (with the stack trace); a persistent fault
+            // would otherwise log every tick
+            LOG.warnLimited("advance", e, "[Ramscoop] Error in advance method");
+        }
+    }
+
+    /**
+     * Write all pending fuel and supplies, fractions included, to the fleet they
+     * were generated for. ModPlugin calls this before the game is saved, since
+     * this script is transient and its pending amounts would be lost.
+     */
+    public void flushPending() {
+        CampaignFleetAPI fleet = pendingFleet;
+        if (fleet == null || pending.isEmpty())
+            return;
+        flushFuel(fleet, true);
+        flushSupplies(fleet, true);
+    }
+
+    // Ledger day of the current campaign time; the first call starts the ledger
+    private int ledgerDay(CampaignClockAPI clock) {
+        ledger.start(clock.getTimestamp());
+        return GenerationLedger.dayNumber(clock.getElapsedDaysSince(ledger.getEpoch()));
+    }
+
+    // Move the pending whole units (or everything, if all) into the cargo
+    private void flushFuel(CampaignFleetAPI fleet, boolean all) {
+        float add = pending.takeFuel(all);
+        if (add > 0f) {
+            fleet.getCargo().addFuel(add);
+            metrics.cargoMutation();
+        }
+    }
+
+    private void flushSupplies(CampaignFleetAPI fleet, boolean all) {
+        float add = pending.takeSupplies(all);
+        if (add > 0f) {
+            fleet.getCargo().addSupplies(add);
+            metrics.cargoMutation();
+        }
+    }
+
+    /**
+     * Show the queued cues that are due. Texts are constants and the duration
+     * was clamped when the config snapshot was built.
+     */
+    private void showDueNotifications(CampaignFleetAPI fleet, RamscoopConfig cfg) {
+        for (int cue = notifications.poll(); cue != NotificationQueue.NONE; cue = notifications.poll()) {
+            boolean on = NotificationQueue.isOn(cue);
+            String txt;
+            Color col;
+            switch (NotificationQueue.channel(cue)) {
+                case NotificationQueue.TOGGLE:
+                    txt = on ? TEXT_TOGGLE_ACTIVE : TEXT_TOGGLE_INACTIVE;
+                    col = on ? cfg.color_toggle_active : cfg.color_toggle_inactive;
+                    break;
+                case NotificationQueue.NEBULA:
+                    txt = on ? TEXT_TERRAIN_ACTIVE : TEXT_TERRAIN_INACTIVE;
+                    col = on ? cfg.color_nebula_active : cfg.color_nebula_inactive;
+                    break;
+                default:
+                    txt = on ? TEXT_TERRAIN_ACTIVE : TEXT_TERRAIN_INACTIVE;
+                    col = on ? cfg.color_corona_active : cfg.color_corona_inactive;
+                    break;
+            }
+            try {
+                fleet.addFloatingText(txt, col, cfg.floating_text_duration);
+            } catch (Throwable ignoreAdd) {
+                LOG.warnLimited("floatingText", "[Ramscoop] Failed to add floating text: %s", ignoreAdd.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Find the terrain at the fleet's position into evalInNebula, evalInCorona
+     * and evalInClouds. A fleet still parked where the last evaluation left it
+     * keeps that state without scanning. tickSeconds is the time since the
+     * previous evaluation.
+     */
+    private void evaluateTerrain(CampaignFleetAPI fleet, LocationAPI currentLoc, boolean hyperspace,
+            float tickSeconds) {
+        // Terrain index for this location (corona candidates and nebula terrains)
+        long nebulaStart = metrics.start();
+        boolean indexRebuilt = false;
+        if (currentLoc != null && !hyperspace) {
+            indexRebuilt = coronaIndex.update(currentLoc, tickSeconds);
+        }
+
+        // Catch-up: still parked where the last evaluation found the terrain,
+        // and no boundary can have moved, so reuse that state and only accrue
+        // for the elapsed span
+        Vector2f fleetPos = fleet.getLocation();
+        boolean catchUp = !indexRebuilt && currentLoc != null && currentLoc == catchUpLoc
+                && Math.abs(fleetPos.x - catchUpX) < PARKED_EPSILON
+                && Math.abs(fleetPos.y - catchUpY) < PARKED_EPSILON;
+
+        // Nebula status: cached burn-modifier key, then the nebula tile grid; in
+        // hyperspace, the deep-hyperspace cloud cell instead
+        boolean inNebula = false;
+        boolean inClouds = false;
+        if (hyperspace) {
+            hyperspaceGrid.update(currentLoc);
+            inClouds = hyperspaceGrid.inClouds(fleetPos.x, fleetPos.y);
+            metrics.stop(TickMetrics.Phase.NEBULA_DETECTION, nebulaStart);
+        } else if (catchUp) {
+            inNebula = evalInNebula;
+            metrics.catchUpTick();
+        } else {
+            inNebula = nebulaDetector.inNebula(fleet.getStats().getFleetwideMaxBurnMod().getMultBonuses(),
+                    coronaIndex, fleetPos);
+            metrics.stop(TickMetrics.Phase.NEBULA_DETECTION, nebulaStart);
+        }
+
+        // Restore corona detection and generation (from original lines 214-310), with
+        // caps
+        boolean inCorona = catchUp && evalInCorona;
+        try {
+            LocationAPI loc = currentLoc;
+            if (loc != null && !catchUp && !hyperspace) {
+                long scanStart = metrics.start();
+                // Vanilla coronas from their ring geometry; the probes only for
+                // other corona terrain
+                Vector2f fp = fleet.getLocation();
+                coronaRings.update(coronaIndex);
+                inCorona = coronaRings.contains(fp.x, fp.y, fleet.getRadius());
+                for (int i = 0, n = inCorona ? 0 : coronaIndex.size(); i < n; i++) {
+                    CampaignTerrainAPI t = coronaIndex.get(i);
+                    try {
+                        if (coronaProbes.contains(t.getPlugin(), fleet)) {
+                            inCorona = true;
+                            break;
+                        }
+                    } catch (Throwable ignored4) {
+                    }
+                }
+                metrics.stop(TickMetrics.Phase.CORONA_SCAN, scanStart);
+                // Fallback: distance to star (precomputed per-system table)
+                if (!inCorona) {
+                    long starStart = metrics.start();
+                    try {
+                        starTable.update(loc, coronaRings);
+                        inCorona = starTable.contains(fp.x, fp.y);
+                    } catch (Throwable ignoredPlanets) {
+                    }
+                    metrics.stop(TickMetrics.Phase.STAR_FALLBACK, starStart);
+                }
+            }
+        } catch (Throwable ignored) {
+        }
+        evalInNebula = inNebula;
+        evalInCorona = inCorona;
+        evalInClouds = inClouds;
+    }
+
+    /**
+     * Queue the floating-text cues for entering or leaving a nebula or corona,
+     * from the state {@link #evaluateTerrain} found. toggleNanos is the time
+     * already spent on the toggle cue this tick, recorded as one sample.
+     */
+    private void trackTerrainCues(RamscoopConfig cfg, boolean scoopEnabled, long toggleNanos) {
+        // After computing whether we're in a corona, show floating-text cues for
+        // entering/exiting nebula or corona. inNebula was calculated earlier.
+        long cueStart = metrics.start();
+        try {
+            boolean nowInNebula = evalInNebula;
+            boolean nowInCorona = evalInCorona;
+            if (cfg.enable_visual_feedback && scoopEnabled) {
+                // Nebula enter/exit (respect per-event toggles)
+                if (!terrainStateKnown) {
+                    lastInNebula = nowInNebula;
+                } else if (lastInNebula != nowInNebula) {
+                    if (nowInNebula ? cfg.notify_nebula_entry : cfg.notify_nebula_exit) {
+                        notifications.post(NotificationQueue.NEBULA, nowInNebula);
+                    }
+                    lastInNebula = nowInNebula;
+                }
+
+                // Corona enter/exit
+                if (!terrainStateKnown) {
+                    lastInCorona = nowInCorona;
+                } else if (lastInCorona != nowInCorona) {
+                    if (nowInCorona ? cfg.notify_corona_entry : cfg.notify_corona_exit) {
+                        notifications.post(NotificationQueue.CORONA, nowInCorona);
+                    }
+                    lastInCorona = nowInCorona;
+                }
+                terrainStateKnown = true;
+            }
+        } catch (Throwable ignoredTerrain) {
+        }
+        if (cueStart != 0L) {
+            metrics.record(TickMetrics.Phase.NOTIFICATIONS, toggleNanos + metrics.elapsed(cueStart));
+        }
+    }
+
+    /**
+     * Stretch the next interval by time-to-contact with the nearest star
+     * threshold or corona ring edge. Nebula and probe-only (modded) corona
+     * boundaries are not known geometrically, so a moving fleet in a location
+     * with such terrain (or inside a nebula) stays at the base cadence, as does
+     * any fleet in a system with
+     * orbiting stars or rings. A parked fleet elsewhere cannot reach any
+     * boundary: it gets the longest interval and the next evaluation may reuse
+     * this terrain state (catch-up). In hyperspace the
+     * cloud lookup is already constant time and clouds drift, so a parked fleet
+     * only gets the longest interval and a moving one the base cadence.
+     */
+    private void scheduleNextEvaluation(CampaignFleetAPI fleet, LocationAPI loc, boolean inNebula,
+            boolean hyperspace) {
+        float clearance = 0f;
+        float speed = fleet.getVelocity().length();
+        catchUpLoc = null;
+        if (hyperspace) {
+            if (speed < AdaptiveTickScheduler.MIN_SPEED) {
+                clearance = Float.MAX_VALUE;
+            }
+        } else if (loc != null) {
+            coronaRings.update(coronaIndex);
+            starTable.update(loc, coronaRings);
+            if (!starTable.hasMovingStars() && !coronaRings.hasMovingRings()) {
+                Vector2f p = fleet.getLocation();
+                if (speed < AdaptiveTickScheduler.MIN_SPEED) {
+                    clearance = Float.MAX_VALUE;
+                    catchUpLoc = loc;
+                    catchUpX = p.x;
+                    catchUpY = p.y;
+                } else if (!inNebula && !coronaIndex.hasNebula() && coronaIndex.size() == 0) {
+                    clearance = Math.min(starTable.clearance(p.x, p.y), coronaRings.clearance(p.x, p.y));
+                }
+            }
         }
+        scheduler.scheduleNext(clearance, speed);
     }
 
     public boolean isDone() {
@@ -0,0 +1,279 @@
+package ramscoop;
+
+import java.awt.Color;
+
+/**
+ * Immutable snapshot of all Ramscoop settings. ModPlugin builds one after every
+ * load or reload and publishes it with a single volatile reference swap, so a
+ * tick always works from one consistent set of values and never sees a
+ * half-applied reload.
+ * <p>
+ * Derived values are resolved once here instead of on every tick: the floating
+ * text duration is clamped, negative cap margins are zeroed, disabled hard caps
+ * become {@link Float#MAX_VALUE}, and the corona caps point at the nebula caps
+ * when {@code corona_caps_reuse} is set (hyperspace always has its own caps),
+ * and the crew-usage strings resolve to
+ * a {@link SupplyMode}. Rates and percent limits are stored as
+ * fractions (0.04 = 4%).
+ * <p>
+ * This class deliberately has no Starsector API dependencies.
+ */
+public final class RamscoopConfig {
+
+    // Floating-text duration bounds (seconds)
+    static final float MIN_TEXT_DURATION = 0.25f;
+    static final float MAX_TEXT_DURATION = 3.0f;
+
+    // Setting names for the log text, in the order of values()
+    private static final String[] NAMES = {
+            "enable_fuel", "enable_supplies", "fuel_per_day", "supplies_per_crew", "percent_supply_limit",
+            "hard_supply_limit", "nebula_percent_fuel_limit", "nebula_hard_fuel_cap", "nebula_fuel_cap_margin",
+            "corona_enable_fuel", "corona_fuel_per_day", "corona_caps_reuse", "corona_percent_fuel_limit",
+            "corona_hard_fuel_cap", "corona_fuel_cap_margin", "hyperspace_enable_fuel",
+            "hyperspace_fuel_per_day", "hyperspace_percent_fuel_limit", "hyperspace_hard_fuel_cap",
+            "hyperspace_fuel_cap_margin", "enable_npc_fleets", "npc_fleets_per_frame", "crew_usage",
+            "no_crew_gen", "no_crew_rate_percent", "no_crew_rate_flat", "supply_mode",
+            "scoop_toggle_default_on", "enable_visual_feedback", "floating_text_duration",
+            "notify_nebula_entry", "notify_nebula_exit", "notify_corona_entry", "notify_corona_exit",
+            "color_toggle_active", "color_toggle_inactive", "color_nebula_active", "color_nebula_inactive",
+            "color_corona_active", "color_corona_inactive" };
+
+    /** Built from the Builder defaults; used until the first load completes. */
+    public static final RamscoopConfig DEFAULTS = new Builder().build();
+
+    public final boolean enable_fuel;
+    public final boolean enable_supplies;
+    public final float fuel_per_day;
+    public final float supplies_per_crew;
+    public final float percent_supply_limit;
+    public final float hard_supply_limit;
+    // Nebula caps (margin >= 0, disabled hard cap = Float.MAX_VALUE)
+    public final float nebula_percent_fuel_limit;
+    public final float nebula_hard_fuel_cap;
+    public final float nebula_fuel_cap_margin;
+    // Corona rate and resolved caps (nebula caps when corona_caps_reuse is set)
+    public final boolean corona_enable_fuel;
+    public final float corona_fuel_per_day;
+    public final boolean corona_caps_reuse;
+    public final float corona_percent_fuel_limit;
+    public final float corona_hard_fuel_cap;
+    public final float corona_fuel_cap_margin;
+    // Deep hyperspace (cloud cells) rate and caps; fuel only, like the corona
+    public final boolean hyperspace_enable_fuel;
+    public final float hyperspace_fuel_per_day;
+    public final float hyperspace_percent_fuel_limit;
+    public final float hyperspace_hard_fuel_cap;
+    public final float hyperspace_fuel_cap_margin;
+    // NPC fleets: master switch and round-robin budget (fleets per frame, >= 1)
+    public final boolean enable_npc_fleets;
+    public final int npc_fleets_per_frame;
+    // Supply generation modes
+    public final String crew_usage;
+    public final String no_crew_gen;
+    public final float no_crew_rate_percent; // fraction of max cargo per day
+    public final float no_crew_rate_flat; // units per day
+    public final SupplyMode supply_mode; // resolved from crew_usage / no_crew_gen
+    // Runtime toggle default and visual feedback
+    public final boolean scoop_toggle_default_on;
+    public final boolean enable_visual_feedback;
+    public final float floating_text_duration; // clamped to [0.25, 3.0]
+    public final boolean notify_nebula_entry;
+    public final boolean notify_nebula_exit;
+    public final boolean notify_corona_entry;
+    public final boolean notify_corona_exit;
+    public final Color color_toggle_active;
+    public final Color color_toggle_inactive;
+    public final Color color_nebula_active;
+    public final Color color_nebula_inactive;
+    public final Color color_corona_active;
+    public final Color color_corona_inactive;
+
+    private RamscoopConfig(Builder b) {
+        enable_fuel = b.enable_fuel;
+        enable_supplies = b.enable_supplies;
+        fuel_per_day = b.fuel_per_day;
+        supplies_per_crew = b.supplies_per_crew;
+        percent_supply_limit = b.percent_supply_limit;
+        hard_supply_limit = b.hard_supply_limit;
+
+        nebula_percent_fuel_limit = b.nebula_percent_fuel_limit;
+        nebula_hard_fuel_cap = hardCap(b.nebula_hard_fuel_limit);
+        nebula_fuel_cap_margin = Math.max(0f, b.nebula_fuel_cap_margin);
+
+        corona_enable_fuel = b.corona_enable_fuel;
+        corona_fuel_per_day = b.corona_fuel_per_day;
+        corona_caps_reuse = b.corona_caps_reuse;
+        if (b.corona_caps_reuse) {
+            corona_percent_fuel_limit = nebula_percent_fuel_limit;
+            corona_hard_fuel_cap = nebula_hard_fuel_cap;
+            corona_fuel_cap_margin = nebula_fuel_cap_margin;
+        } else {
+            corona_percent_fuel_limit = b.corona_percent_fuel_limit;
+            corona_hard_fuel_cap = hardCap(b.corona_hard_fuel_limit);
+            corona_fuel_cap_margin = Math.max(0f, b.corona_fuel_cap_margin);
+        }
+
+        hyperspace_enable_fuel = b.hyperspace_enable_fuel;
+        hyperspace_fuel_per_day = b.hyperspace_fuel_per_day;
+        hyperspace_percent_fuel_limit = b.hyperspace_percent_fuel_limit;
+        hyperspace_hard_fuel_cap = hardCap(b.hyperspace_hard_fuel_limit);
+        hyperspace_fuel_cap_margin = Math.max(0f, b.hyperspace_fuel_cap_margin);
+
+        enable_npc_fleets = b.enable_npc_fleets;
+        npc_fleets_per_frame = Math.max(1, b.npc_fleets_per_frame);
+
+        crew_usage = b.crew_usage;
+        no_crew_gen = b.no_crew_gen;
+        no_crew_rate_percent = b.no_crew_rate_percent;
+        no_crew_rate_flat = b.no_crew_rate_flat;
+        supply_mode = SupplyMode.resolve(b.crew_usage, b.no_crew_gen);
+
+        scoop_toggle_default_on = b.scoop_toggle_default_on;
+        enable_visual_feedback = b.enable_visual_feedback;
+        floating_text_duration = Math.max(MIN_TEXT_DURATION, Math.min(MAX_TEXT_DURATION, b.floating_text_duration));
+        notify_nebula_entry = b.notify_nebula_entry;
+        notify_nebula_exit = b.notify_nebula_exit;
+        notify_corona_entry = b.notify_corona_entry;
+        notify_corona_exit = b.notify_corona_exit;
+        color_toggle_active = b.color_toggle_active;
+        color_toggle_inactive = b.color_toggle_inactive;
+        color_nebula_active = b.color_nebula_active;
+        color_nebula_inactive = b.color_nebula_inactive;
+        color_corona_active = b.color_corona_active;
+        color_corona_inactive = b.color_corona_inactive;
+    }
+
+    private static float hardCap(float configured) {
+        return configured > 0f ? configured : Float.MAX_VALUE;
+    }
+
+    /**
+     * Nebula fuel target for a fleet: the smallest of max fuel, the percent soft
+     * cap and the hard cap, minus the margin.
+     */
+    public float nebulaFuelTarget(float maxFuel) {
+        float soft = (float) Math.floor(maxFuel * nebula_percent_fuel_limit);
+        return Math.min(maxFuel, Math.min(soft, nebula_hard_fuel_cap)) - nebula_fuel_cap_margin;
+    }
+
+    /** Corona fuel target for a fleet (see {@link #nebulaFuelTarget(float)}). */
+    public float coronaFuelTarget(float maxFuel) {
+        float soft = (float) Math.floor(maxFuel * corona_percent_fuel_limit);
+        return Math.min(maxFuel, Math.min(soft, corona_hard_fuel_cap)) - corona_fuel_cap_margin;
+    }
+
+    /** Deep-hyperspace fuel target for a fleet (see {@link #nebulaFuelTarget(float)}). */
+    public float hyperspaceFuelTarget(float maxFuel) {
+        float soft = (float) Math.floor(maxFuel * hyperspace_percent_fuel_limit);
+        return Math.min(maxFuel, Math.min(soft, hyperspace_hard_fuel_cap)) - hyperspace_fuel_cap_margin;
+    }
+
+    /** Supply cap for a fleet: percent of max cargo, bounded by the hard limit if set. */
+    public float supplyCap(float maxCapacity) {
+        float percent = (float) Math.floor(maxCapacity * percent_supply_limit);
+        return hard_supply_limit == 0.0f ? percent : Math.min(percent, hard_supply_limit);
+    }
+
+    /**
+     * Describe which settings differ from {@code previous} as
+     * {@code "key: old -> new"} pairs separated by commas. Returns an empty string
+     * when nothing changed. Only used on the (rare) reload path.
+     */
+    public String describeChanges(RamscoopConfig previous) {
+        StringBuilder sb = new StringBuilder();
+        if (previous == null || previous == this)
+            return "";
+        Object[] before = previous.values();
+        Object[] after = values();
+        for (int i = 0; i < NAMES.length; i++) {
+            if (before[i] == null ? after[i] != null : !before[i].equals(after[i])) {
+                if (sb.length() > 0)
+                    sb.append(", ");
+                sb.append(NAMES[i]).append(": ").append(before[i]).append(" -> ").append(after[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * All settings as {@code key=value} pairs separated by commas, for the log.
+     * Built on demand only, e.g. when RamscoopLog formats a message that is
+     * actually written.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        Object[] values = values();
+        for (int i = 0; i < NAMES.length; i++) {
+            if (sb.length() > 0)
+                sb.append(", ");
+            sb.append(NAMES[i]).append('=').append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    // Every setting, in the order of NAMES; log text only, so boxing is fine
+    private Object[] values() {
+        return new Object[] {
+                enable_fuel, enable_supplies, fuel_per_day, supplies_per_crew, percent_supply_limit,
+                hard_supply_limit, nebula_percent_fuel_limit, nebula_hard_fuel_cap, nebula_fuel_cap_margin,
+                corona_enable_fuel, corona_fuel_per_day, corona_caps_reuse, corona_percent_fuel_limit,
+                corona_hard_fuel_cap, corona_fuel_cap_margin, hyperspace_enable_fuel, hyperspace_fuel_per_day,
+                hyperspace_percent_fuel_limit, hyperspace_hard_fuel_cap, hyperspace_fuel_cap_margin,
+                enable_npc_fleets, npc_fleets_per_frame, crew_usage, no_crew_gen, no_crew_rate_percent,
+                no_crew_rate_flat, supply_mode, scoop_toggle_default_on, enable_visual_feedback,
+                floating_text_duration, notify_nebula_entry, notify_nebula_exit, notify_corona_entry,
+                notify_corona_exit, color_toggle_active, color_toggle_inactive, color_nebula_active,
+                color_nebula_inactive, color_corona_active, color_corona_inactive };
+    }
+
+    /**
+     * Mutable collector for the raw setting values. Field names and units match
+     * the ModPlugin runtime fields; defaults match ModPlugin's fallbacks.
+     */
+    public static final class Builder {
+        public boolean enable_fuel = true;
+        public boolean enable_supplies = true;
+        public float fuel_per_day = 0.04f;
+        public float supplies_per_crew = 0.1f;
+        public float percent_supply_limit = 0.35f;
+        public float hard_supply_limit = 0.0f;
+        public float nebula_percent_fuel_limit = 1.0f;
+        public float nebula_hard_fuel_limit = 0.0f;
+        public float nebula_fuel_cap_margin = 0.0f;
+        public boolean corona_enable_fuel = true;
+        public float corona_fuel_per_day = 0.25f;
+        public boolean corona_caps_reuse = true;
+        public float corona_percent_fuel_limit = 1.0f;
+        public float corona_hard_fuel_limit = 0.0f;
+        public float corona_fuel_cap_margin = 0.0f;
+        public boolean hyperspace_enable_fuel = true;
+        public float hyperspace_fuel_per_day = 0.02f;
+        public float hyperspace_percent_fuel_limit = 0.1f;
+        public float hyperspace_hard_fuel_limit = 0.0f;
+        public float hyperspace_fuel_cap_margin = 0.0f;
+        public boolean enable_npc_fleets = true;
+        public int npc_fleets_per_frame = 10;
+        public String crew_usage = "extra";
+        public String no_crew_gen = "percent";
+        public float no_crew_rate_percent = 0.1f;
+        public float no_crew_rate_flat = 10.0f;
+        public boolean scoop_toggle_default_on = true;
+        public boolean enable_visual_feedback = true;
+        public float floating_text_duration = 0.7f;
+        public boolean notify_nebula_entry = true;
+        public boolean notify_nebula_exit = true;
+        public boolean notify_corona_entry = true;
+        public boolean notify_corona_exit = true;
+        public Color color_toggle_active = Color.CYAN;
+        public Color color_toggle_inactive = Color.LIGHT_GRAY;
+        public Color color_nebula_active = Color.LIGHT_GRAY;
+        public Color color_nebula_inactive = Color.LIGHT_GRAY;
+        public Color color_corona_active = Color.LIGHT_GRAY;
+        public Color color_corona_inactive = Color.LIGHT_GRAY;
+
+        public RamscoopConfig build() {
+            return new RamscoopConfig(this);
+        }
+    }
+}
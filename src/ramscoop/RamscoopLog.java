@@ -0,0 +1,198 @@
+package ramscoop;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The mod's logging facade. Messages are format strings
+ * ({@link String#format}) that are only formatted once a message is actually
+ * written, so a disabled level or a suppressed message costs a level check
+ * or a map lookup and never builds a string.
+ * <p>
+ * The {@code *Limited} variants rate-limit per message key: the first message
+ * for a key is written, further ones within the interval are only counted,
+ * and the next message written for that key reports how many were
+ * suppressed. Use them for anything that can repeat every tick or on every
+ * settings refresh.
+ * <p>
+ * Not thread-safe; the mod only logs from the game thread. The log4j binding
+ * lives in {@link Log4jLogSink}; this class deliberately has no Starsector API
+ * dependencies.
+ */
+final class RamscoopLog {
+
+    enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    /** Where messages end up. */
+    interface Sink {
+        boolean isEnabled(Level level);
+
+        void write(Level level, String message, Throwable t);
+    }
+
+    /** Default minimum time between two messages with the same key. */
+    static final long DEFAULT_INTERVAL_MILLIS = 60000L;
+
+    // Per-key rate-limit state; keys are string constants, so lookups do not allocate
+    private static final class Limiter {
+        long nextAllowedNanos;
+        int suppressed;
+    }
+
+    private static final LongSupplier SYSTEM_NANOS = new LongSupplier() {
+        public long getAsLong() {
+            return System.nanoTime();
+        }
+    };
+
+    private final Sink sink;
+    private final long intervalNanos;
+    private final LongSupplier clock;
+    private final Map<String, Limiter> limiters = new HashMap<String, Limiter>();
+
+    RamscoopLog(Sink sink) {
+        this(sink, DEFAULT_INTERVAL_MILLIS, SYSTEM_NANOS);
+    }
+
+    /** {@code clock} returns nanoseconds, like {@link System#nanoTime()}. */
+    RamscoopLog(Sink sink, long intervalMillis, LongSupplier clock) {
+        this.sink = sink;
+        this.intervalNanos = intervalMillis * 1000000L;
+        this.clock = clock;
+    }
+
+    boolean isEnabled(Level level) {
+        return sink.isEnabled(level);
+    }
+
+    void debug(String format, Object... args) {
+        log(Level.DEBUG, null, format, args);
+    }
+
+    void info(String message) {
+        if (sink.isEnabled(Level.INFO)) {
+            sink.write(Level.INFO, message, null);
+        }
+    }
+
+    void info(String format, Object... args) {
+        log(Level.INFO, null, format, args);
+    }
+
+    void warn(String message) {
+        if (sink.isEnabled(Level.WARN)) {
+            sink.write(Level.WARN, message, null);
+        }
+    }
+
+    void warn(String format, Object... args) {
+        log(Level.WARN, null, format, args);
+    }
+
+    void warn(Throwable t, String format, Object... args) {
+        log(Level.WARN, t, format, args);
+    }
+
+    void error(Throwable t, String format, Object... args) {
+        log(Level.ERROR, t, format, args);
+    }
+
+    // The rate-limited methods take fixed arguments rather than varargs so a
+    // suppressed call does not even allocate the argument array
+
+    /** INFO, at most once per interval for {@code key}. */
+    void infoLimited(String key, String message) {
+        int suppressed = gate(key, Level.INFO);
+        if (suppressed >= 0) {
+            emit(Level.INFO, null, message, suppressed);
+        }
+    }
+
+    /** INFO, at most once per interval for {@code key}. */
+    void infoLimited(String key, String format, Object arg) {
+        int suppressed = gate(key, Level.INFO);
+        if (suppressed >= 0) {
+            emit(Level.INFO, null, format(format, new Object[] { arg }), suppressed);
+        }
+    }
+
+    /** WARN, at most once per interval for {@code key}. */
+    void warnLimited(String key, String format, Object arg) {
+        int suppressed = gate(key, Level.WARN);
+        if (suppressed >= 0) {
+            emit(Level.WARN, null, format(format, new Object[] { arg }), suppressed);
+        }
+    }
+
+    /** WARN, at most once per interval for {@code key}. */
+    void warnLimited(String key, String format, Object arg1, Object arg2) {
+        int suppressed = gate(key, Level.WARN);
+        if (suppressed >= 0) {
+            emit(Level.WARN, null, format(format, new Object[] { arg1, arg2 }), suppressed);
+        }
+    }
+
+    /** WARN with a stack trace, at most once per interval for {@code key}. */
+    void warnLimited(String key, Throwable t, String message) {
+        int suppressed = gate(key, Level.WARN);
+        if (suppressed >= 0) {
+            emit(Level.WARN, t, message, suppressed);
+        }
+    }
+
+    /** WARN with a stack trace, at most once per interval for {@code key}. */
+    void warnLimited(String key, Throwable t, String format, Object arg) {
+        int suppressed = gate(key, Level.WARN);
+        if (suppressed >= 0) {
+            emit(Level.WARN, t, format(format, new Object[] { arg }), suppressed);
+        }
+    }
+
+    private void log(Level level, Throwable t, String format, Object[] args) {
+        if (sink.isEnabled(level)) {
+            sink.write(level, format(format, args), t);
+        }
+    }
+
+    private void emit(Level level, Throwable t, String message, int suppressed) {
+        if (suppressed > 0) {
+            message = message + " (" + suppressed + " similar suppressed)";
+        }
+        sink.write(level, message, t);
+    }
+
+    // -1 if the level is off, or if the key is inside its interval (counted as
+    // suppressed); otherwise the number suppressed since the last one written
+    private int gate(String key, Level level) {
+        if (!sink.isEnabled(level))
+            return -1;
+        long now = clock.getAsLong();
+        Limiter limiter = limiters.get(key);
+        if (limiter == null) {
+            limiter = new Limiter();
+            limiters.put(key, limiter);
+        } else if (now - limiter.nextAllowedNanos < 0L) {
+            limiter.suppressed++;
+            return -1;
+        }
+        int suppressed = limiter.suppressed;
+        limiter.suppressed = 0;
+        limiter.nextAllowedNanos = now + intervalNanos;
+        return suppressed;
+    }
+
+    private static String format(String format, Object[] args) {
+        if (args == null || args.length == 0)
+            return format;
+        try {
+            return String.format(Locale.ROOT, format, args);
+        } catch (RuntimeException badFormat) {
+            // Never let a logging mistake break the caller
+            return format;
+        }
+    }
+}
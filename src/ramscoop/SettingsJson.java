@@ -0,0 +1,153 @@
+package ramscoop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mod's {@code settings.json}, validated once against the keys the mod
+ * knows. Each known key is kept only if its value has the expected type
+ * (booleans may also be written as "true"/"false" strings, numbers may be any
+ * JSON number); anything else is dropped and reported by {@link #problems()},
+ * so readers never see a malformed value and a missing key is never an error.
+ * <p>
+ * {@link ModPlugin} parses the file into one of these the first time it is
+ * needed and keeps it for the rest of the application session, so loading
+ * another save does no JSON work. No Starsector API dependencies.
+ */
+final class SettingsJson {
+
+    private static final int BOOLEAN = 0;
+    private static final int NUMBER = 1;
+    private static final int INTEGER = 2;
+    private static final int STRING = 3;
+
+    /** Every key the mod reads, so the raw document can be copied without iterating it. */
+    static final String[] KEYS = {
+            "enable_fuel", "enable_supplies", "scoop_toggle_default_on",
+            "nebula_fuel_per_day", "fuel_per_day",
+            "nebula_percent_fuel_limit", "nebula_hard_fuel_limit", "nebula_fuel_cap_margin",
+            "percent_supply_limit", "hard_supply_limit", "ramscoop_supply_per_crew",
+            "nebula_crew_usage", "crew_usage", "nebula_no_crew_gen", "no_crew_gen",
+            "nebula_no_crew_rate", "no_crew_rate",
+            "corona_enable_fuel", "corona_fuel_per_day", "corona_caps_reuse",
+            "corona_percent_fuel_limit", "corona_hard_fuel_limit", "corona_fuel_cap_margin",
+            "hyperspace_enable_fuel", "hyperspace_fuel_per_day",
+            "hyperspace_percent_fuel_limit", "hyperspace_hard_fuel_limit", "hyperspace_fuel_cap_margin",
+            "enable_npc_fleets", "npc_fleets_per_frame" };
+
+    private static final int[] TYPES = {
+            BOOLEAN, BOOLEAN, BOOLEAN,
+            NUMBER, NUMBER,
+            NUMBER, NUMBER, NUMBER,
+            NUMBER, NUMBER, NUMBER,
+            STRING, STRING, STRING, STRING,
+            NUMBER, NUMBER,
+            BOOLEAN, NUMBER, BOOLEAN,
+            NUMBER, NUMBER, NUMBER,
+            BOOLEAN, NUMBER,
+            NUMBER, NUMBER, NUMBER,
+            BOOLEAN, INTEGER };
+
+    /** A document for a missing or unreadable file: no values, {@link #isLoaded()} false. */
+    static final SettingsJson MISSING = new SettingsJson(null);
+
+    private final boolean loaded;
+    private final Map<String, Object> values = new HashMap<String, Object>();
+    private final List<String> problems = new ArrayList<String>();
+
+    /**
+     * Validate the raw values of a parsed file, keyed by name (unknown keys are
+     * ignored); {@code null} for a file that could not be read.
+     */
+    SettingsJson(Map<String, ?> raw) {
+        loaded = raw != null;
+        if (raw == null)
+            return;
+        for (int i = 0; i < KEYS.length; i++) {
+            String key = KEYS[i];
+            if (!raw.containsKey(key))
+                continue;
+            Object value = validate(raw.get(key), TYPES[i]);
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                problems.add(key + " (expected " + typeName(TYPES[i]) + ", got '" + raw.get(key) + "')");
+            }
+        }
+    }
+
+    /** True if the file was read; false for {@link #MISSING}. */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    boolean getBoolean(String key, boolean fallback) {
+        Object v = values.get(key);
+        return v instanceof Boolean ? (Boolean) v : fallback;
+    }
+
+    float getFloat(String key, float fallback) {
+        Object v = values.get(key);
+        return v instanceof Float ? (Float) v : fallback;
+    }
+
+    int getInt(String key, int fallback) {
+        Object v = values.get(key);
+        return v instanceof Integer ? (Integer) v : fallback;
+    }
+
+    String getString(String key, String fallback) {
+        Object v = values.get(key);
+        return v instanceof String ? (String) v : fallback;
+    }
+
+    /** Keys that were present but dropped, with the reason; empty if none. */
+    List<String> problems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    private static Object validate(Object v, int type) {
+        switch (type) {
+            case BOOLEAN:
+                if (v instanceof Boolean)
+                    return v;
+                if ("true".equalsIgnoreCase(String.valueOf(v)))
+                    return Boolean.TRUE;
+                if ("false".equalsIgnoreCase(String.valueOf(v)))
+                    return Boolean.FALSE;
+                return null;
+            case NUMBER:
+                if (v instanceof Number && !Double.isNaN(((Number) v).doubleValue()))
+                    return ((Number) v).floatValue();
+                return null;
+            case INTEGER:
+                if (v instanceof Number && ((Number) v).doubleValue() == Math.rint(((Number) v).doubleValue()))
+                    return ((Number) v).intValue();
+                return null;
+            default:
+                if (v instanceof String && !((String) v).trim().isEmpty())
+                    return ((String) v).trim();
+                return null;
+        }
+    }
+
+    private static String typeName(int type) {
+        switch (type) {
+            case BOOLEAN:
+                return "a boolean";
+            case NUMBER:
+                return "a number";
+            case INTEGER:
+                return "a whole number";
+            default:
+                return "a string";
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ramscoop;
+
+import com.fs.starfarer.api.campaign.LocationAPI;
+import com.fs.starfarer.api.campaign.PlanetAPI;
+import java.util.List;
+
+/**
+ * Per-system table of stars for the corona distance fallback. Built once when
+ * the fleet enters a location: star centres and squared containment thresholds
+ * ({@code (radius + buffer)^2}) live in flat arrays, and a bounding box around
+ * all threshold circles rejects most positions before any per-star work.
+ * Containment is a multiply-add and compare per star, with no square root.
+ * <p>
+ * Stars that orbit something (binary systems) have their centres refreshed on
+ * each update; static stars are never re-read. Stars with a vanilla corona
+ * ring are left to {@link CoronaRingTable}, so the buffer only stands in for
+ * coronas whose geometry is unknown.
+ */
+final class StarProximityTable {
+
+    // Distance beyond the star's radius that still counts as "in the corona"
+    static final float CORONA_BUFFER = 1000f;
+
+    private LocationAPI location = null;
+    private CoronaRingTable rings = null;
+    private int ringsBuiltFrom = -1;
+    private PlanetAPI[] stars = new PlanetAPI[0];
+    private float[] centreX = new float[0];
+    private float[] centreY = new float[0];
+    private float[] reach = new float[0];
+    private float[] reachSq = new float[0];
+    private boolean anyOrbiting = false;
+    private int count = 0;
+
+    // Bounding box of every star's threshold circle
+    private float minX, minY, maxX, maxY;
+
+    /**
+     * Make sure the table describes {@code loc}, leaving out the stars that
+     * {@code rings} (already updated for {@code loc}) covers; rebuilds on a
+     * location or ring change and refreshes orbiting star centres otherwise.
+     */
+    void update(LocationAPI loc, CoronaRingTable rings) {
+        if (loc != location || rings != this.rings || rings.getRebuilds() != ringsBuiltFrom) {
+            this.rings = rings;
+            rebuild(loc);
+            ringsBuiltFrom = rings.getRebuilds();
+        } else if (anyOrbiting) {
+            refreshCentres();
+        }
+    }
+
+    /** True if the point lies within {@code radius + CORONA_BUFFER} of any star. */
+    boolean contains(float x, float y) {
+        if (x < minX || x > maxX || y < minY || y > maxY)
+            return false;
+        for (int i = 0; i < count; i++) {
+            float dx = x - centreX[i];
+            float dy = y - centreY[i];
+            if (dx * dx + dy * dy <= reachSq[i])
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Distance from the point to the nearest threshold circle, inside or outside
+     * (how far the fleet must move before the fallback result can flip). Returns
+     * {@link Float#MAX_VALUE} when the location has no stars. Used for tick
+     * scheduling only, so the square root is acceptable here.
+     */
+    float clearance(float x, float y) {
+        float best = Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float dx = x - centreX[i];
+            float dy = y - centreY[i];
+            float gap = Math.abs((float) Math.sqrt(dx * dx + dy * dy) - reach[i]);
+            if (gap < best) {
+                best = gap;
+            }
+        }
+        return best;
+    }
+
+    /** True if any star orbits, i.e. its threshold circle can move on its own. */
+    boolean hasMovingStars() {
+        return anyOrbiting;
+    }
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        location = null;
+        ringsBuiltFrom = -1;
+        count = 0;
+        anyOrbiting = false;
+        stars = new PlanetAPI[0];
+        emptyBounds();
+    }
+
+    private void rebuild(LocationAPI loc) {
+        clear();
+        location = loc;
+        if (loc == null)
+            return;
+        List<PlanetAPI> planets;
+        try {
+            planets = loc.getPlanets();
+        } catch (Throwable ignored) {
+            return;
+        }
+        int n = 0;
+        PlanetAPI[] found = new PlanetAPI[planets.size()];
+        for (int i = 0; i < planets.size(); i++) {
+            PlanetAPI p = planets.get(i);
+            try {
+                if (p != null && p.isStar() && !rings.surrounds(p)) {
+                    found[n++] = p;
+                }
+            } catch (Throwable ignoredStar) {
+            }
+        }
+        stars = found;
+        count = n;
+        centreX = new float[n];
+        centreY = new float[n];
+        reach = new float[n];
+        reachSq = new float[n];
+        for (int i = 0; i < n; i++) {
+            PlanetAPI star = found[i];
+            float r = star.getRadius() + CORONA_BUFFER;
+            reach[i] = r;
+            reachSq[i] = r * r;
+            if (star.getOrbit() != null) {
+                anyOrbiting = true;
+            }
+        }
+        refreshCentres();
+    }
+
+    private void refreshCentres() {
+        emptyBounds();
+        for (int i = 0; i < count; i++) {
+            float x = stars[i].getLocation().x;
+            float y = stars[i].getLocation().y;
+            centreX[i] = x;
+            centreY[i] = y;
+            float r = reach[i];
+            minX = Math.min(minX, x - r);
+            minY = Math.min(minY, y - r);
+            maxX = Math.max(maxX, x + r);
+            maxY = Math.max(maxY, y + r);
+        }
+    }
+
+    private void emptyBounds() {
+        // An inverted box rejects everything until at least one star is added
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        maxX = -Float.MAX_VALUE;
+        maxY = -Float.MAX_VALUE;
+    }
+}
@@ -0,0 +1,62 @@
+package ramscoop;
+
+/**
+ * Supply-generation strategy resolved from the {@code crew_usage} /
+ * {@code no_crew_gen} settings when the config snapshot is built, so the tick
+ * makes one call on a constant instead of switching on raw strings.
+ */
+public enum SupplyMode {
+    /** Only crew above the fleet's minimum crew generate supplies. */
+    EXTRA_CREW {
+        @Override
+        float suppliesPerDay(GenerationRates rates, float crew, float minCrew) {
+            return crew > minCrew ? (crew - minCrew) * rates.suppliesPerCrew : 0f;
+        }
+    },
+    /** Every crew member generates supplies. */
+    ALL_CREW {
+        @Override
+        float suppliesPerDay(GenerationRates rates, float crew, float minCrew) {
+            return crew * rates.suppliesPerCrew;
+        }
+    },
+    /** Crew ignored; a percentage of max cargo per day. */
+    NO_CREW_PERCENT {
+        @Override
+        float suppliesPerDay(GenerationRates rates, float crew, float minCrew) {
+            return rates.noCrewPercentPerDay;
+        }
+    },
+    /** Crew ignored; a flat number of units per day. */
+    NO_CREW_FLAT {
+        @Override
+        float suppliesPerDay(GenerationRates rates, float crew, float minCrew) {
+            return rates.noCrewFlatPerDay;
+        }
+    },
+    /** Unrecognised settings: generate nothing (matches the old switch fall-through). */
+    NONE {
+        @Override
+        float suppliesPerDay(GenerationRates rates, float crew, float minCrew) {
+            return 0f;
+        }
+    };
+
+    /** Supplies per day for the given crew numbers, using the fleet's cached rates. */
+    abstract float suppliesPerDay(GenerationRates rates, float crew, float minCrew);
+
+    /** Map the raw setting strings onto a strategy; unknown or missing values yield NONE. */
+    public static SupplyMode resolve(String crewUsage, String noCrewGen) {
+        if ("extra".equals(crewUsage))
+            return EXTRA_CREW;
+        if ("all".equals(crewUsage))
+            return ALL_CREW;
+        if ("nocrew".equals(crewUsage)) {
+            if ("percent".equals(noCrewGen))
+                return NO_CREW_PERCENT;
+            if ("flat".equals(noCrewGen))
+                return NO_CREW_FLAT;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,243 @@
+package ramscoop;
+
+import java.util.Locale;
+
+/**
+ * Optional instrumentation for the player tick: a fixed-size latency
+ * histogram per tick phase plus a few counters. Disabled by default; while
+ * disabled every hook is a single field test and nothing is timed or counted.
+ * Enabled, each phase costs two {@code System.nanoTime()} calls and a few
+ * array writes, and nothing is allocated.
+ * <p>
+ * Histogram bucket {@code b} counts durations below {@code 2^(b + 7)} ns (and
+ * at least the previous bucket's bound); the last bucket is open-ended.
+ * Percentiles are therefore reported as bucket upper bounds.
+ * <p>
+ * Updated from the game thread only; readers on other threads may see a
+ * slightly stale mix of values. This class deliberately has no Starsector API
+ * dependencies.
+ */
+public final class TickMetrics {
+
+    /**
+     * Timed phases of one evaluation. Nebula detection includes the check of the
+     * location's terrain index; notifications cover the toggle and terrain
+     * enter/exit cues as one sample.
+     */
+    public enum Phase {
+        SETTINGS_REFRESH("settings refresh"),
+        NEBULA_DETECTION("nebula detection"),
+        CORONA_SCAN("corona scan"),
+        STAR_FALLBACK("star fallback"),
+        GENERATION("generation"),
+        NOTIFICATIONS("notifications");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    public static final int BUCKETS = 24;
+    // Bucket 0 holds everything below 2^MIN_SHIFT ns (128 ns)
+    private static final int MIN_SHIFT = 7;
+    private static final int PHASES = Phase.values().length;
+
+    // Plain field: toggled and read on the game thread, and the JIT may hoist it
+    private boolean enabled = false;
+
+    private final long[][] histogram = new long[PHASES][BUCKETS];
+    private final long[] samples = new long[PHASES];
+    private final long[] totalNanos = new long[PHASES];
+    private final long[] maxNanos = new long[PHASES];
+
+    private long frames;
+    private long ticks;
+    private long skippedFrames;
+    private long suspendedTicks;
+    private long catchUpTicks;
+    private long cargoMutations;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** Start timestamp for a phase, or 0 when disabled (which {@link #stop} ignores). */
+    long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Nanoseconds since {@code start}, or 0 if it came from a disabled {@link #start}. */
+    long elapsed(long start) {
+        return start == 0L ? 0L : System.nanoTime() - start;
+    }
+
+    /** Record the phase that began at {@code start}. */
+    void stop(Phase phase, long start) {
+        if (start == 0L)
+            return;
+        record(phase, System.nanoTime() - start);
+    }
+
+    void record(Phase phase, long nanos) {
+        int p = phase.ordinal();
+        if (nanos < 0L) {
+            nanos = 0L;
+        }
+        histogram[p][bucketOf(nanos)]++;
+        samples[p]++;
+        totalNanos[p] += nanos;
+        if (nanos > maxNanos[p]) {
+            maxNanos[p] = nanos;
+        }
+    }
+
+    /** One frame reached the script; {@code evaluated} is false when the scheduler skipped it. */
+    void frame(boolean evaluated) {
+        if (!enabled)
+            return;
+        frames++;
+        if (evaluated) {
+            ticks++;
+        } else {
+            skippedFrames++;
+        }
+    }
+
+    /** An evaluation ended early because the fleet is suspended at its caps. */
+    void suspendedTick() {
+        if (enabled) {
+            suspendedTicks++;
+        }
+    }
+
+    /** An evaluation reused the previous terrain state because the fleet is parked. */
+    void catchUpTick() {
+        if (enabled) {
+            catchUpTicks++;
+        }
+    }
+
+    /** One addFuel/addSupplies call on the fleet's cargo. */
+    void cargoMutation() {
+        if (enabled) {
+            cargoMutations++;
+        }
+    }
+
+    /** Clear all histograms and counters; the enabled flag is kept. */
+    public void reset() {
+        for (int p = 0; p < PHASES; p++) {
+            for (int b = 0; b < BUCKETS; b++) {
+                histogram[p][b] = 0L;
+            }
+            samples[p] = 0L;
+            totalNanos[p] = 0L;
+            maxNanos[p] = 0L;
+        }
+        frames = 0L;
+        ticks = 0L;
+        skippedFrames = 0L;
+        suspendedTicks = 0L;
+        catchUpTicks = 0L;
+        cargoMutations = 0L;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    /** Frames on which a full evaluation ran. */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    public long getSuspendedTicks() {
+        return suspendedTicks;
+    }
+
+    /** Evaluations that skipped terrain detection for a parked fleet. */
+    public long getCatchUpTicks() {
+        return catchUpTicks;
+    }
+
+    public long getCargoMutations() {
+        return cargoMutations;
+    }
+
+    public long getSamples(Phase phase) {
+        return samples[phase.ordinal()];
+    }
+
+    public long getTotalNanos(Phase phase) {
+        return totalNanos[phase.ordinal()];
+    }
+
+    public long getMaxNanos(Phase phase) {
+        return maxNanos[phase.ordinal()];
+    }
+
+    public long getBucketCount(Phase phase, int bucket) {
+        return histogram[phase.ordinal()][bucket];
+    }
+
+    /** Exclusive upper bound of a bucket in ns; {@code Long.MAX_VALUE} for the last one. */
+    public static long bucketUpperNanos(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + MIN_SHIFT);
+    }
+
+    /**
+     * Upper bound (ns) of the bucket holding the {@code q} quantile of a phase
+     * (0 &lt; q &lt;= 1); the phase maximum if that lies in the last bucket, 0
+     * if there are no samples.
+     */
+    public long percentileNanos(Phase phase, double q) {
+        int p = phase.ordinal();
+        long n = samples[p];
+        if (n == 0L)
+            return 0L;
+        long rank = (long) Math.ceil(q * n);
+        long seen = 0L;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[p][b];
+            if (seen >= rank) {
+                return b == BUCKETS - 1 ? maxNanos[p] : Math.min(bucketUpperNanos(b), maxNanos[p]);
+            }
+        }
+        return maxNanos[p];
+    }
+
+    /** Human-readable multi-line summary for the log. */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT,
+                "[Ramscoop] Tick metrics: frames=%d ticks=%d skipped=%d suspended=%d catch-up=%d cargo mutations=%d",
+                frames, ticks, skippedFrames, suspendedTicks, catchUpTicks, cargoMutations));
+        for (Phase phase : Phase.values()) {
+            int p = phase.ordinal();
+            double mean = samples[p] == 0L ? 0.0 : totalNanos[p] / (double) samples[p];
+            sb.append(String.format(Locale.ROOT,
+                    "%n  %-17s n=%d mean=%.2fus p50<=%.2fus p99<=%.2fus max=%.2fus", phase.label, samples[p],
+                    mean / 1000.0, percentileNanos(phase, 0.5) / 1000.0, percentileNanos(phase, 0.99) / 1000.0,
+                    maxNanos[p] / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    static int bucketOf(long nanos) {
+        int log2 = 63 - Long.numberOfLeadingZeros(nanos | 1L);
+        int b = log2 - MIN_SHIFT + 1;
+        if (b < 0)
+            return 0;
+        return b >= BUCKETS ? BUCKETS - 1 : b;
+    }
+}
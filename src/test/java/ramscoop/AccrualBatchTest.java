@@ -0,0 +1,122 @@
+package ramscoop;
+
+import java.util.Random;
+
+/**
+ * Test for the structure-of-arrays accrual batch: every slot must get the same
+ * fuel and supply deltas as the per-fleet path (GenerationRates / SupplyMode),
+ * for every supply mode, across more than one bitset word, and after the batch
+ * is cleared and reused. No Starsector API dependencies.
+ * Run with: java ramscoop.AccrualBatchTest
+ */
+public class AccrualBatchTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running AccrualBatchTest...");
+
+        try {
+            testMatchesPerFleetPathForEveryMode();
+            testCappedAndOutsideSlotsStayZero();
+            testClearedBatchIsReusable();
+            System.out.println("✅ All AccrualBatchTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 200 random fleets (three bitset words) per mode, compared slot by slot
+     * against GenerationRates
+     */
+    public static void testMatchesPerFleetPathForEveryMode() {
+        String[][] modes = { { "extra", "percent" }, { "all", "percent" }, { "nocrew", "percent" },
+                { "nocrew", "flat" }, { "bogus", "flat" } };
+        Random random = new Random(42);
+        for (String[] mode : modes) {
+            RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+            b.crew_usage = mode[0];
+            b.no_crew_gen = mode[1];
+            b.nebula_percent_fuel_limit = 0.8f;
+            b.corona_caps_reuse = false;
+            b.corona_percent_fuel_limit = 0.6f;
+            RamscoopConfig cfg = b.build();
+
+            AccrualBatch batch = new AccrualBatch(16);
+            float[][] fleets = new float[200][];
+            for (int i = 0; i < fleets.length; i++) {
+                float maxFuel = 100f + random.nextInt(2000);
+                float capacity = 200f + random.nextInt(3000);
+                float[] f = { random.nextFloat() * maxFuel, maxFuel, random.nextFloat() * capacity * 0.4f, capacity,
+                        random.nextFloat() * capacity * 0.3f, random.nextInt(500), random.nextInt(300),
+                        random.nextFloat() * 2f, random.nextInt(3) };
+                fleets[i] = f;
+                batch.add(f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7], f[8] == 1f, f[8] == 2f);
+            }
+            batch.compute(cfg);
+
+            GenerationRates rates = new GenerationRates();
+            for (int i = 0; i < fleets.length; i++) {
+                float[] f = fleets[i];
+                rates.update(cfg, f[1], f[3]);
+                float fuel = 0f;
+                float supplies = 0f;
+                if (f[8] == 2f) {
+                    if (cfg.enable_fuel && cfg.corona_enable_fuel && f[0] < rates.coronaFuelTarget)
+                        fuel = Math.min(rates.coronaFuelPerDay * f[7], rates.coronaFuelTarget - f[0]);
+                } else if (f[8] == 1f) {
+                    float perDay = rates.suppliesPerDay(f[5], f[6]);
+                    if (f[4] > 0f && perDay > 0f && f[2] < rates.supplyCap)
+                        supplies = Math.min(perDay * f[7], Math.min(rates.supplyCap - f[2], f[4]));
+                    if (f[0] < rates.nebulaFuelTarget)
+                        fuel = Math.min(rates.nebulaFuelPerDay * f[7], rates.nebulaFuelTarget - f[0]);
+                }
+                assertEquals(Math.max(0f, fuel), batch.fuelDelta(i), mode[0] + " fuel slot " + i);
+                assertEquals(Math.max(0f, supplies), batch.supplyDelta(i), mode[0] + " supplies slot " + i);
+            }
+        }
+    }
+
+    /**
+     * Fleets at their caps, or in no terrain, produce zero deltas (no write-back)
+     */
+    public static void testCappedAndOutsideSlotsStayZero() {
+        RamscoopConfig cfg = new RamscoopConfig.Builder().build();
+        AccrualBatch batch = new AccrualBatch(4);
+        int capped = batch.add(1000f, 1000f, 350f, 1000f, 500f, 200f, 100f, 1f, true, false);
+        int outside = batch.add(0f, 1000f, 0f, 1000f, 500f, 200f, 100f, 1f, false, false);
+        int noSpace = batch.add(1000f, 1000f, 0f, 1000f, 0f, 200f, 100f, 1f, true, false);
+        batch.compute(cfg);
+        assertEquals(0f, batch.fuelDelta(capped) + batch.supplyDelta(capped), "capped fleet");
+        assertEquals(0f, batch.fuelDelta(outside) + batch.supplyDelta(outside), "fleet outside terrain");
+        assertEquals(0f, batch.supplyDelta(noSpace), "no cargo space");
+    }
+
+    /**
+     * Clearing resets the terrain bits, so reused slots do not inherit old state
+     */
+    public static void testClearedBatchIsReusable() {
+        RamscoopConfig cfg = new RamscoopConfig.Builder().build();
+        AccrualBatch batch = new AccrualBatch(4);
+        batch.add(0f, 1000f, 0f, 1000f, 500f, 200f, 100f, 1f, false, true);
+        batch.compute(cfg);
+        check(batch.fuelDelta(0) > 0f, "corona slot accrues fuel");
+        batch.clear();
+        check(batch.size() == 0, "cleared batch is empty");
+        batch.add(0f, 1000f, 0f, 1000f, 500f, 200f, 100f, 1f, false, false);
+        batch.compute(cfg);
+        assertEquals(0f, batch.fuelDelta(0), "reused slot does not keep the corona bit");
+    }
+
+    private static void assertEquals(float expected, float actual, String what) {
+        if (Math.abs(expected - actual) > 1e-3f) {
+            throw new RuntimeException(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ramscoop;
+
+/**
+ * Test for the cached fleet capacity: it stays valid while the composition
+ * fingerprint is unchanged and goes stale on a new fleet, new fleet data, a
+ * different member count, old age or invalidation. No Starsector API
+ * dependencies.
+ * Run with: java ramscoop.FleetCapacitySnapshotTest
+ */
+public class FleetCapacitySnapshotTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running FleetCapacitySnapshotTest...");
+
+        try {
+            testFreshUntilFingerprintChanges();
+            testAgesOut();
+            testInvalidate();
+            System.out.println("✅ All FleetCapacitySnapshotTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Same fleet, data and member count: no refresh; any change: refresh
+     */
+    public static void testFreshUntilFingerprintChanges() {
+        Object fleet = new Object();
+        Object data = new Object();
+        FleetCapacitySnapshot s = new FleetCapacitySnapshot();
+        check(s.isStale(fleet, data, 30, 0.1f), "empty snapshot is stale");
+        s.set(fleet, data, 30, 500f, 1200f, 180f);
+        check(!s.isStale(fleet, data, 30, 0.1f), "same fingerprint is fresh");
+        check(s.maxFuel == 500f && s.maxCapacity == 1200f && s.minCrew == 180f, "values kept");
+        check(s.isStale(fleet, data, 31, 0.1f), "member added");
+        check(s.isStale(new Object(), data, 30, 0.1f), "different fleet");
+        check(s.isStale(fleet, new Object(), 30, 0.1f), "different fleet data");
+    }
+
+    /**
+     * Refits keep the member count, so the snapshot expires after REVALIDATE_SECONDS
+     */
+    public static void testAgesOut() {
+        Object fleet = new Object();
+        Object data = new Object();
+        FleetCapacitySnapshot s = new FleetCapacitySnapshot();
+        s.set(fleet, data, 5, 100f, 300f, 20f);
+        float tick = 0.1f;
+        int fresh = 0;
+        while (!s.isStale(fleet, data, 5, tick)) {
+            fresh++;
+        }
+        check(fresh >= 18 && fresh <= 20, "expires after about 2 s of ticks: " + fresh);
+        s.set(fleet, data, 5, 100f, 300f, 20f);
+        check(!s.isStale(fleet, data, 5, tick), "set() restarts the age");
+    }
+
+    /**
+     * invalidate() forces a refresh even with an unchanged fingerprint
+     */
+    public static void testInvalidate() {
+        Object fleet = new Object();
+        Object data = new Object();
+        FleetCapacitySnapshot s = new FleetCapacitySnapshot();
+        s.set(fleet, data, 5, 100f, 300f, 20f);
+        s.invalidate();
+        check(s.isStale(fleet, data, 5, 0f), "stale after invalidate");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
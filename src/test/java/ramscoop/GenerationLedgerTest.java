@@ -0,0 +1,114 @@
+package ramscoop;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test for the generation ledger: per-day rows and ring reuse, per-system
+ * totals with eviction of the system credited longest ago, and that the state
+ * lives in the persistent-data map as JDK arrays only. No Starsector API
+ * dependencies.
+ * Run with: java ramscoop.GenerationLedgerTest
+ */
+public class GenerationLedgerTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running GenerationLedgerTest...");
+
+        try {
+            testDaysAndRingReuse();
+            testSystemTotalsAndEviction();
+            testStoredInPersistentData();
+            System.out.println("✅ All GenerationLedgerTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Amounts add up per day and source; a day DAYS later reuses (and clears) the row
+     */
+    public static void testDaysAndRingReuse() {
+        GenerationLedger l = new GenerationLedger();
+        check(l.getLatestDay() == -1, "empty ledger");
+        check(GenerationLedger.dayNumber(-0.5f) == 0 && GenerationLedger.dayNumber(2.9f) == 2, "day numbers");
+        l.recordNebula(0, "sys", 1f, 2f);
+        l.recordNebula(0, "sys", 0.5f, 0.25f);
+        l.recordCorona(0, "sys", 3f);
+        l.recordCorona(1, "sys", 4f);
+        l.recordHyperspace(1, 0.5f);
+        check(l.getNebulaFuel(0) == 1.5f && l.getNebulaSupplies(0) == 2.25f, "nebula day 0");
+        check(l.getCoronaFuel(0) == 3f && l.getCoronaFuel(1) == 4f, "corona per day");
+        check(l.getHyperspaceFuel(1) == 0.5f && l.getHyperspaceFuel(0) == 0f, "hyperspace per day");
+        check(l.getLatestDay() == 1, "latest day");
+
+        l.recordCorona(GenerationLedger.DAYS, "sys", 7f);
+        check(l.getCoronaFuel(GenerationLedger.DAYS) == 7f, "new day in the reused row");
+        check(l.getCoronaFuel(0) == 0f && l.getNebulaFuel(0) == 0f, "old day dropped from the ring");
+        check(l.getCoronaFuel(1) == 4f && l.getHyperspaceFuel(1) == 0.5f, "other rows kept");
+        check(l.summary(30).contains("corona fuel=7.0"), "summary totals only the last 30 days");
+    }
+
+    /**
+     * Up to SYSTEMS systems keep totals; the next one replaces the least recently credited
+     */
+    public static void testSystemTotalsAndEviction() {
+        GenerationLedger l = new GenerationLedger();
+        for (int i = 0; i < GenerationLedger.SYSTEMS; i++) {
+            l.recordNebula(i, "sys" + i, 1f, 1f);
+        }
+        l.recordCorona(100, "sys0", 5f); // sys0 is now the most recent
+        l.recordNebula(101, "new", 2f, 0f);
+        int newSlot = slotOf(l, "new");
+        check(newSlot >= 0, "new system has a slot");
+        check(slotOf(l, "sys1") < 0, "least recently credited system evicted");
+        int s0 = slotOf(l, "sys0");
+        check(s0 >= 0 && l.getSystemNebulaFuel(s0) == 1f && l.getSystemCoronaFuel(s0) == 5f, "sys0 kept");
+        check(l.getSystemNebulaFuel(newSlot) == 2f && l.getSystemCoronaFuel(newSlot) == 0f, "slot reset");
+        l.recordCorona(102, null, 1f);
+        check(l.getCoronaFuel(102) == 1f, "no system still counts per day");
+    }
+
+    /**
+     * A second ledger on the same map sees the same data; the map holds only JDK types
+     */
+    public static void testStoredInPersistentData() {
+        Map<String, Object> persistent = new HashMap<String, Object>();
+        GenerationLedger a = GenerationLedger.in(persistent);
+        a.start(1000L);
+        a.start(2000L);
+        check(a.getEpoch() == 1000L, "epoch set once");
+        a.recordNebula(3, "sys", 1f, 2f);
+
+        GenerationLedger b = GenerationLedger.in(persistent);
+        check(b.isStarted() && b.getEpoch() == 1000L, "epoch persisted");
+        check(b.getNebulaSupplies(3) == 2f && b.getSystemId(0).equals("sys"), "rows persisted");
+
+        Object data = persistent.get(GenerationLedger.PERSISTENT_KEY);
+        check(data instanceof HashMap, "stored as a HashMap");
+        for (Object v : ((Map<?, ?>) data).values()) {
+            Class<?> element = v.getClass().getComponentType();
+            check(element != null && (element.isPrimitive() || element == String.class),
+                    "only primitive or String arrays: " + v.getClass());
+        }
+
+        persistent.put(GenerationLedger.PERSISTENT_KEY, "garbage");
+        GenerationLedger c = GenerationLedger.in(persistent);
+        check(!c.isStarted() && c.getLatestDay() == -1, "unusable data replaced by an empty ledger");
+    }
+
+    private static int slotOf(GenerationLedger l, String id) {
+        for (int i = 0; i < GenerationLedger.SYSTEMS; i++) {
+            if (id.equals(l.getSystemId(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
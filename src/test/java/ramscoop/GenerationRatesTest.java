@@ -0,0 +1,203 @@
+package ramscoop;
+
+/**
+ * Test for the config snapshot and the cached generation rates: cap resolution
+ * (including corona_caps_reuse), supply-mode resolution, the per-mode
+ * supply rates, the cap-suspension saturation test, the inputs that end a
+ * suspension and the change description logged on reload. These classes have no Starsector API dependencies.
+ * Run with: java ramscoop.GenerationRatesTest
+ */
+public class GenerationRatesTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running GenerationRatesTest...");
+
+        try {
+            testFuelTargetsAndCoronaCapReuse();
+            testSupplyCap();
+            testSupplyModeResolution();
+            testSupplyRatesPerMode();
+            testRatesRecomputedOnlyOnChange();
+            testSaturationFollowsEnableFlags();
+            testSuspensionEndsOnRefit();
+            testDescribeChanges();
+            System.out.println("✅ All GenerationRatesTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Fuel target = min(max fuel, floor(max * percent), hard cap) - margin; corona
+     * follows the nebula caps when corona_caps_reuse is set, hyperspace never does
+     */
+    public static void testFuelTargetsAndCoronaCapReuse() {
+        RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+        b.nebula_percent_fuel_limit = 0.5f;
+        b.nebula_hard_fuel_limit = 0f;
+        b.nebula_fuel_cap_margin = 10f;
+        b.corona_percent_fuel_limit = 0.2f;
+        b.corona_hard_fuel_limit = 30f;
+        b.corona_fuel_cap_margin = -5f;
+        b.hyperspace_percent_fuel_limit = 0.1f;
+        b.hyperspace_hard_fuel_limit = 0f;
+        b.hyperspace_fuel_cap_margin = 2f;
+
+        b.corona_caps_reuse = true;
+        RamscoopConfig reuse = b.build();
+        assertEquals(490f, reuse.nebulaFuelTarget(1000f), "nebula target (soft cap - margin)");
+        assertEquals(490f, reuse.coronaFuelTarget(1000f), "corona target reusing nebula caps");
+        assertEquals(98f, reuse.hyperspaceFuelTarget(1000f), "hyperspace target keeps its own caps");
+
+        b.corona_caps_reuse = false;
+        RamscoopConfig own = b.build();
+        assertEquals(30f, own.coronaFuelTarget(1000f), "corona target (hard cap, negative margin ignored)");
+    }
+
+    /**
+     * Supply cap is the floored percent of capacity, bounded by the hard limit when set
+     */
+    public static void testSupplyCap() {
+        RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+        b.percent_supply_limit = 0.2f;
+        b.hard_supply_limit = 0f;
+        assertEquals(200f, b.build().supplyCap(1000f), "percent supply cap");
+        b.hard_supply_limit = 50f;
+        assertEquals(50f, b.build().supplyCap(1000f), "hard supply cap");
+    }
+
+    /**
+     * Crew-usage strings resolve to strategies; unknown values generate nothing
+     */
+    public static void testSupplyModeResolution() {
+        check(SupplyMode.resolve("extra", "percent") == SupplyMode.EXTRA_CREW, "extra");
+        check(SupplyMode.resolve("all", "flat") == SupplyMode.ALL_CREW, "all");
+        check(SupplyMode.resolve("nocrew", "percent") == SupplyMode.NO_CREW_PERCENT, "nocrew/percent");
+        check(SupplyMode.resolve("nocrew", "flat") == SupplyMode.NO_CREW_FLAT, "nocrew/flat");
+        check(SupplyMode.resolve("nocrew", "bogus") == SupplyMode.NONE, "nocrew/unknown");
+        check(SupplyMode.resolve(null, null) == SupplyMode.NONE, "missing crew_usage");
+    }
+
+    /**
+     * Per-mode supply rates match the previous string-switch behaviour
+     */
+    public static void testSupplyRatesPerMode() {
+        RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+        b.supplies_per_crew = 0.1f;
+        b.no_crew_rate_percent = 0.1f;
+        b.no_crew_rate_flat = 7f;
+        GenerationRates rates = new GenerationRates();
+
+        b.crew_usage = "extra";
+        rates.update(b.build(), 100f, 1000f);
+        assertEquals(5f, rates.suppliesPerDay(150f, 100f), "extra crew");
+        assertEquals(0f, rates.suppliesPerDay(80f, 100f), "extra crew below minimum");
+
+        b.crew_usage = "all";
+        rates.update(b.build(), 100f, 1000f);
+        assertEquals(15f, rates.suppliesPerDay(150f, 100f), "all crew");
+
+        b.crew_usage = "nocrew";
+        b.no_crew_gen = "percent";
+        rates.update(b.build(), 100f, 1005f);
+        assertEquals(100f, rates.suppliesPerDay(150f, 100f), "no crew percent (floored)");
+
+        b.no_crew_gen = "flat";
+        rates.update(b.build(), 100f, 1000f);
+        assertEquals(7f, rates.suppliesPerDay(150f, 100f), "no crew flat");
+    }
+
+    /**
+     * Cached rates are only recomputed when the config or the capacity changes
+     */
+    public static void testRatesRecomputedOnlyOnChange() {
+        RamscoopConfig cfg = new RamscoopConfig.Builder().build();
+        GenerationRates rates = new GenerationRates();
+        check(rates.update(cfg, 500f, 1000f), "first update computes");
+        check(!rates.update(cfg, 500f, 1000f), "unchanged inputs are cached");
+        check(rates.update(cfg, 600f, 1000f), "capacity change recomputes");
+        assertEquals(24f, rates.nebulaFuelPerDay, "nebula fuel per day (floor(600 * 0.04))");
+        assertEquals(12f, rates.hyperspaceFuelPerDay, "hyperspace fuel per day (floor(600 * 0.02))");
+        assertEquals(60f, rates.hyperspaceFuelTarget, "hyperspace target (10% of 600)");
+        check(rates.update(new RamscoopConfig.Builder().build(), 600f, 1000f), "new snapshot recomputes");
+    }
+
+    /**
+     * A disabled corona or hyperspace rate cannot keep the fleet out of suspension;
+     * each terrain only counts below its own target
+     */
+    public static void testSaturationFollowsEnableFlags() {
+        RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+        b.enable_supplies = false;
+        b.fuel_per_day = 0f;
+        b.corona_caps_reuse = false;
+        b.corona_percent_fuel_limit = 1f;
+        b.hyperspace_percent_fuel_limit = 1f;
+        b.corona_enable_fuel = false;
+        b.hyperspace_enable_fuel = false;
+        RamscoopConfig cfg = b.build();
+        GenerationRates rates = new GenerationRates();
+        rates.update(cfg, 1000f, 1000f);
+        check(CapSuspension.isSaturated(cfg, rates, true, 100f, 0f, 0f, 0f, 0f),
+                "disabled corona/hyperspace rates do not count");
+
+        b.corona_enable_fuel = true;
+        cfg = b.build();
+        rates.update(cfg, 1000f, 1000f);
+        check(!CapSuspension.isSaturated(cfg, rates, true, 100f, 0f, 0f, 0f, 0f), "enabled corona below target");
+        check(CapSuspension.isSaturated(cfg, rates, true, 1000f, 0f, 0f, 0f, 0f), "corona at its target");
+
+        b.corona_enable_fuel = false;
+        b.hyperspace_enable_fuel = true;
+        cfg = b.build();
+        rates.update(cfg, 1000f, 1000f);
+        check(!CapSuspension.isSaturated(cfg, rates, true, 100f, 0f, 0f, 0f, 0f), "enabled hyperspace below target");
+        check(CapSuspension.isSaturated(cfg, rates, false, 100f, 0f, 0f, 0f, 0f), "toggle off saturates");
+    }
+
+    /**
+     * Gaining fuel keeps the fleet suspended; a refit that changes max fuel ends it
+     */
+    public static void testSuspensionEndsOnRefit() {
+        RamscoopConfig cfg = new RamscoopConfig.Builder().build();
+        Object location = new Object();
+        CapSuspension s = new CapSuspension();
+        s.suspend(900f, 50f, 10f, 400, 12, 1000f, location, cfg, true);
+        check(s.holds(900f, 50f, 10f, 400, 12, 1000f, location, cfg, true), "unchanged inputs hold");
+        check(s.holds(950f, 50f, 10f, 400, 12, 1000f, location, cfg, true), "more fuel still holds");
+        check(!s.holds(900f, 50f, 10f, 400, 12, 1200f, location, cfg, true), "higher max fuel ends it");
+        check(!s.holds(899f, 50f, 10f, 400, 12, 1000f, location, cfg, true), "fuel used ends it");
+        s.resume();
+        check(!s.holds(900f, 50f, 10f, 400, 12, 1000f, location, cfg, true), "resumed does not hold");
+    }
+
+    /**
+     * Only settings that differ are described, each with its old and new value
+     */
+    public static void testDescribeChanges() {
+        RamscoopConfig.Builder b = new RamscoopConfig.Builder();
+        RamscoopConfig before = b.build();
+        check(before.describeChanges(b.build()).isEmpty(), "equal snapshots describe nothing");
+        b.enable_supplies = false;
+        b.color_corona_inactive = java.awt.Color.RED;
+        String changes = b.build().describeChanges(before);
+        check(changes.startsWith("enable_supplies: true -> false, color_corona_inactive: "), "changed keys listed");
+        check(changes.split(", ").length == 2, "unchanged keys left out");
+        check(before.toString().startsWith("enable_fuel=true, enable_supplies=true, "), "toString lists every setting");
+        check(before.toString().endsWith("color_corona_inactive=" + java.awt.Color.LIGHT_GRAY),
+                "toString ends with the last setting");
+    }
+
+    private static void assertEquals(float expected, float actual, String what) {
+        if (Math.abs(expected - actual) > 1e-4f) {
+            throw new RuntimeException(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
@@ -7,15 +7,18 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Test to verify that all LunaSettings fieldIDs used in ModPlugin.java
+ * Test to verify that all LunaSettings fieldIDs read by the generated
+ * LunaSettingsLoader.java (and any direct reads left in ModPlugin.java)
  * match the fieldIDs defined in LunaSettings.csv.
- * This prevents LunaLib configuration mismatches that cause settings to fail.
+ * This prevents LunaLib configuration mismatches that cause settings to fail,
+ * for example a CSV edit without regenerating the loader.
  * Run with: java ramscoop.LunaSettingsKeyAuditTest
  */
 public class LunaSettingsKeyAuditTest {
 
     private static final String CSV_PATH = "data/config/LunaSettings.csv";
     private static final String MOD_PLUGIN_PATH = "src/ramscoop/ModPlugin.java";
+    private static final String LOADER_PATH = "src/ramscoop/LunaSettingsLoader.java";
 
     public static void main(String[] args) {
         System.out.println("Running LunaSettingsKeyAuditTest...");
@@ -31,8 +34,7 @@ public class LunaSettingsKeyAuditTest {
     }
 
     /**
-     * Test that all LunaSettings.get* calls in ModPlugin.java use fieldIDs
-     * that exist in LunaSettings.csv
+     * Test that all fieldIDs read in code exist in LunaSettings.csv
      */
     public static void testAllLunaSettingsKeysExistInCsv() throws IOException {
         Set<String> csvFieldIds = parseCsvFieldIds();
@@ -41,14 +43,14 @@ public class LunaSettingsKeyAuditTest {
         // Check that all fieldIDs used in code exist in CSV
         for (String codeFieldId : codeFieldIds) {
             if (!csvFieldIds.contains(codeFieldId)) {
-                throw new RuntimeException("LunaSettings fieldID '" + codeFieldId + "' used in ModPlugin.java but not found in LunaSettings.csv");
+                throw new RuntimeException("LunaSettings fieldID '" + codeFieldId + "' used in code but not found in LunaSettings.csv");
             }
         }
     }
 
     /**
-     * Test that all fieldIDs in LunaSettings.csv are actually used in ModPlugin.java
-     * (helps catch obsolete CSV entries)
+     * Test that all fieldIDs in LunaSettings.csv are actually read in code
+     * (helps catch obsolete CSV entries and a stale generated loader)
      */
     public static void testAllCsvFieldIdsAreUsedInCode() throws IOException {
         Set<String> csvFieldIds = parseCsvFieldIds();
@@ -65,7 +67,8 @@ public class LunaSettingsKeyAuditTest {
         // Check that all actual CSV fieldIDs are used in code
         for (String csvFieldId : actualCsvFieldIds) {
             if (!codeFieldIds.contains(csvFieldId)) {
-                throw new RuntimeException("LunaSettings fieldID '" + csvFieldId + "' defined in LunaSettings.csv but not used in ModPlugin.java");
+                throw new RuntimeException("LunaSettings fieldID '" + csvFieldId + "' defined in LunaSettings.csv but not read in code"
+                        + " (regenerate with: python3 .github/scripts/generate-settings-loader.py)");
             }
         }
     }
@@ -93,32 +96,42 @@ public class LunaSettingsKeyAuditTest {
     }
 
     /**
-     * Parse fieldIDs from LunaSettings.get* calls in ModPlugin.java
+     * Parse fieldIDs from LunaSettings.get*(MOD_ID, "...") calls in ModPlugin.java
+     * and from the read*("...") calls of the generated loader.
      * Filters out fallback fieldIDs that are no longer in the CSV
      */
     private static Set<String> parseCodeFieldIds() throws IOException {
         Set<String> fieldIds = new HashSet<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(MOD_PLUGIN_PATH))) {
+        collectFieldIds(MOD_PLUGIN_PATH, "LunaSettings.get", "MOD_ID, \"", fieldIds);
+        collectFieldIds(LOADER_PATH, " = read", "(\"", fieldIds);
+        return fieldIds;
+    }
+
+    /**
+     * Add the quoted fieldID following {@code prefix} on every line that
+     * contains {@code marker}
+     */
+    private static void collectFieldIds(String path, String marker, String prefix, Set<String> fieldIds)
+            throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                // Look for LunaSettings.get*(MOD_ID, "fieldId") patterns
-                if (line.contains("LunaSettings.get") && line.contains("MOD_ID")) {
-                    int startQuote = line.indexOf("MOD_ID, \"");
-                    if (startQuote != -1) {
-                        startQuote += 9; // Length of 'MOD_ID, "'
-                        int endQuote = line.indexOf("\"", startQuote);
-                        if (endQuote != -1) {
-                            String fieldId = line.substring(startQuote, endQuote);
-                            // Skip known fallback fieldIDs that are no longer in CSV
-                            if (!isKnownFallbackFieldId(fieldId)) {
-                                fieldIds.add(fieldId);
-                            }
+                if (!line.contains(marker))
+                    continue;
+                int startQuote = line.indexOf(prefix);
+                if (startQuote != -1) {
+                    startQuote += prefix.length();
+                    int endQuote = line.indexOf("\"", startQuote);
+                    if (endQuote != -1) {
+                        String fieldId = line.substring(startQuote, endQuote);
+                        // Skip known fallback fieldIDs that are no longer in CSV
+                        if (!isKnownFallbackFieldId(fieldId)) {
+                            fieldIds.add(fieldId);
                         }
                     }
                 }
             }
         }
-        return fieldIds;
     }
 
     /**
@@ -0,0 +1,132 @@
+package ramscoop;
+
+/**
+ * Test for the floating-text cue queue: cues wait out the coalescing window,
+ * opposite transitions cancel, channels cool down and the per-second cap holds
+ * across channels. No Starsector API dependencies.
+ * Run with: java ramscoop.NotificationQueueTest
+ */
+public class NotificationQueueTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running NotificationQueueTest...");
+
+        try {
+            testShownAfterWindow();
+            testOppositeTransitionsCoalesce();
+            testChannelCooldown();
+            testPerSecondCap();
+            testCancel();
+            System.out.println("✅ All NotificationQueueTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A transition is held for the window, then comes out once with its channel and direction
+     */
+    public static void testShownAfterWindow() {
+        NotificationQueue q = new NotificationQueue();
+        q.post(NotificationQueue.NEBULA, true);
+        check(q.poll() == NotificationQueue.NONE, "held during the window");
+        q.advance(0.1f);
+        check(q.poll() == NotificationQueue.NONE, "still inside the window");
+        q.advance(0.25f);
+        int cue = q.poll();
+        check(cue != NotificationQueue.NONE, "shown after the window");
+        check(NotificationQueue.channel(cue) == NotificationQueue.NEBULA, "nebula channel");
+        check(NotificationQueue.isOn(cue), "entry transition");
+        check(q.poll() == NotificationQueue.NONE, "shown only once");
+        check(!q.hasPending(), "nothing left pending");
+    }
+
+    /**
+     * Skimming an edge: enter/exit pairs inside the window show nothing at all
+     */
+    public static void testOppositeTransitionsCoalesce() {
+        NotificationQueue q = new NotificationQueue();
+        for (int i = 0; i < 20; i++) {
+            q.post(NotificationQueue.NEBULA, i % 2 == 0);
+            q.advance(0.1f);
+            check(q.poll() == NotificationQueue.NONE, "no cue while flapping");
+        }
+        check(q.getCoalesced() == 10, "ten pairs coalesced");
+        check(!q.hasPending(), "pairs cancel out");
+        q.advance(5f);
+        check(q.poll() == NotificationQueue.NONE, "nothing shown afterwards");
+
+        // A repeat of the pending transition does not restart or duplicate it
+        q.post(NotificationQueue.CORONA, true);
+        q.advance(0.2f);
+        q.post(NotificationQueue.CORONA, true);
+        q.advance(0.15f);
+        check(q.poll() != NotificationQueue.NONE, "repeat keeps the first post time");
+        check(q.poll() == NotificationQueue.NONE, "repeat not queued twice");
+    }
+
+    /**
+     * A second cue on the same channel is held until the cooldown has passed
+     */
+    public static void testChannelCooldown() {
+        NotificationQueue q = new NotificationQueue();
+        q.post(NotificationQueue.CORONA, true);
+        q.advance(0.5f);
+        check(q.poll() != NotificationQueue.NONE, "first corona cue");
+        q.post(NotificationQueue.CORONA, false);
+        q.advance(0.5f);
+        check(q.poll() == NotificationQueue.NONE, "corona still cooling down");
+        check(q.hasPending(), "held, not dropped");
+        q.advance(0.6f);
+        int cue = q.poll();
+        check(cue != NotificationQueue.NONE && !NotificationQueue.isOn(cue), "exit shown after the cooldown");
+    }
+
+    /**
+     * At most MAX_PER_SECOND cues in any second, whatever the channel
+     */
+    public static void testPerSecondCap() {
+        NotificationQueue q = new NotificationQueue();
+        q.post(NotificationQueue.TOGGLE, true);
+        q.post(NotificationQueue.NEBULA, true);
+        q.post(NotificationQueue.CORONA, true);
+        q.advance(0.5f);
+        int shown = 0;
+        while (q.poll() != NotificationQueue.NONE) {
+            shown++;
+        }
+        check(shown == NotificationQueue.MAX_PER_SECOND, "capped within the second");
+        check(q.hasPending(), "the rest is held");
+        q.advance(0.5f);
+        check(q.poll() == NotificationQueue.NONE, "cap spans a full second");
+        q.advance(0.5f);
+        int cue = q.poll();
+        check(cue != NotificationQueue.NONE && NotificationQueue.channel(cue) == NotificationQueue.CORONA,
+                "held cue shown once the second has passed");
+    }
+
+    /**
+     * Cancelled transitions never show
+     */
+    public static void testCancel() {
+        NotificationQueue q = new NotificationQueue();
+        q.post(NotificationQueue.NEBULA, true);
+        q.post(NotificationQueue.CORONA, false);
+        q.cancel(NotificationQueue.NEBULA);
+        q.advance(1f);
+        int cue = q.poll();
+        check(cue != NotificationQueue.NONE && NotificationQueue.channel(cue) == NotificationQueue.CORONA,
+                "only the corona cue left");
+        q.post(NotificationQueue.TOGGLE, true);
+        q.cancelAll();
+        q.advance(2f);
+        check(q.poll() == NotificationQueue.NONE, "cancelAll drops everything");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ramscoop;
+
+/**
+ * Test for the pending fuel/supplies accumulator: whole-unit takes keep the
+ * fraction, a full take empties it, and many tiny ticks add up exactly. No
+ * Starsector API dependencies.
+ * Run with: java ramscoop.PendingAccrualTest
+ */
+public class PendingAccrualTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running PendingAccrualTest...");
+
+        try {
+            testWholeUnitsKeepRemainder();
+            testTakeAllEmpties();
+            testNoLossOverManyTicks();
+            System.out.println("✅ All PendingAccrualTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Below one unit nothing is taken; above, only the whole units are
+     */
+    public static void testWholeUnitsKeepRemainder() {
+        PendingAccrual p = new PendingAccrual();
+        p.addFuel(0.75f);
+        check(p.takeFuel(false) == 0f, "less than a unit stays pending");
+        p.addFuel(1.5f);
+        check(p.takeFuel(false) == 2f, "whole units taken");
+        check(Math.abs(p.fuel() - 0.25f) < 1e-6f, "fraction kept");
+        p.addSupplies(3.2f);
+        check(p.takeSupplies(false) == 3f, "whole supplies taken");
+        check(Math.abs(p.supplies() - 0.2f) < 1e-6f, "supply fraction kept");
+        check(!p.isEmpty(), "fractions still pending");
+    }
+
+    /**
+     * A full take returns the fraction as well and leaves nothing behind
+     */
+    public static void testTakeAllEmpties() {
+        PendingAccrual p = new PendingAccrual();
+        check(p.takeFuel(true) == 0f && p.takeSupplies(true) == 0f, "nothing to take");
+        p.addFuel(0.3f);
+        p.addSupplies(1.7f);
+        check(Math.abs(p.takeFuel(true) - 0.3f) < 1e-6f, "fuel fraction taken");
+        check(Math.abs(p.takeSupplies(true) - 1.7f) < 1e-6f, "supplies taken");
+        check(p.isEmpty(), "empty after a full take");
+    }
+
+    /**
+     * 100k ticks of a tiny amount: the units taken plus the final flush equal the sum
+     */
+    public static void testNoLossOverManyTicks() {
+        PendingAccrual p = new PendingAccrual();
+        float perTick = 0.0137f;
+        double expected = 0.0;
+        double taken = 0.0;
+        int takes = 0;
+        for (int i = 0; i < 100000; i++) {
+            p.addFuel(perTick);
+            expected += perTick;
+            float t = p.takeFuel(false);
+            if (t > 0f) {
+                taken += t;
+                takes++;
+            }
+        }
+        taken += p.takeFuel(true);
+        check(Math.abs(taken - expected) < 1e-6, "no fuel lost: " + taken + " vs " + expected);
+        check(takes == (int) Math.floor(expected), "one take per whole unit");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
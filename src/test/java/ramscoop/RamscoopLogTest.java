@@ -0,0 +1,160 @@
+package ramscoop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Test for the logging facade: lazy formatting, per-key rate limiting with a
+ * suppressed count, and that a bad format never throws. Uses a capturing sink
+ * and a manual clock. No Starsector API dependencies.
+ * Run with: java ramscoop.RamscoopLogTest
+ */
+public class RamscoopLogTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running RamscoopLogTest...");
+
+        try {
+            testDisabledLevelNeverFormats();
+            testRateLimitPerKey();
+            testSuppressedCountReported();
+            testBadFormatDoesNotThrow();
+            System.out.println("✅ All RamscoopLogTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A disabled level and a suppressed message never call toString() on the arguments
+     */
+    public static void testDisabledLevelNeverFormats() {
+        CaptureSink sink = new CaptureSink();
+        sink.infoEnabled = false;
+        ManualClock clock = new ManualClock();
+        RamscoopLog log = new RamscoopLog(sink, 1000L, clock);
+        CountingArg arg = new CountingArg();
+
+        log.info("value %s", arg);
+        log.infoLimited("k", "value %s", arg);
+        check(arg.formatted == 0, "disabled INFO is not formatted");
+        check(sink.lines.isEmpty(), "disabled INFO is not written");
+
+        log.warn("value %s", arg);
+        check(arg.formatted == 1 && sink.lines.size() == 1, "enabled WARN is formatted once");
+
+        log.warnLimited("k", "value %s", arg);
+        log.warnLimited("k", "value %s", arg);
+        check(arg.formatted == 2, "suppressed WARN is not formatted");
+
+        RuntimeException boom = new RuntimeException("boom");
+        log.warnLimited("t", boom, "value %s", arg);
+        log.warnLimited("t", boom, "value %s", arg);
+        check(arg.formatted == 3, "suppressed WARN with a throwable is not formatted");
+        check(sink.throwables.get(sink.throwables.size() - 1) == boom, "throwable passed through");
+    }
+
+    /**
+     * One message per key and interval; different keys do not affect each other
+     */
+    public static void testRateLimitPerKey() {
+        CaptureSink sink = new CaptureSink();
+        ManualClock clock = new ManualClock();
+        RamscoopLog log = new RamscoopLog(sink, 1000L, clock);
+
+        log.warnLimited("a", "a %s", 1);
+        log.warnLimited("a", "a %s", 2);
+        log.warnLimited("b", "b %s", 1);
+        check(sink.lines.size() == 2, "second 'a' suppressed, 'b' written");
+        check(sink.lines.get(0).equals("WARN a 1") && sink.lines.get(1).equals("WARN b 1"), "written lines");
+
+        clock.advanceMillis(999L);
+        log.warnLimited("a", "a %s", 3);
+        check(sink.lines.size() == 2, "still inside the interval");
+
+        clock.advanceMillis(1L);
+        log.warnLimited("a", "a %s", 4);
+        check(sink.lines.size() == 3, "written again once the interval has passed");
+    }
+
+    /**
+     * The next message written for a key reports how many were dropped
+     */
+    public static void testSuppressedCountReported() {
+        CaptureSink sink = new CaptureSink();
+        ManualClock clock = new ManualClock();
+        RamscoopLog log = new RamscoopLog(sink, 1000L, clock);
+        RuntimeException boom = new RuntimeException("boom");
+
+        log.warnLimited("advance", boom, "Error in advance");
+        for (int i = 0; i < 5; i++) {
+            log.warnLimited("advance", boom, "Error in advance");
+        }
+        clock.advanceMillis(1000L);
+        log.warnLimited("advance", boom, "Error in advance");
+        check(sink.lines.size() == 2, "two lines written");
+        check(sink.lines.get(1).equals("WARN Error in advance (5 similar suppressed)"), "suppressed count appended");
+        check(sink.throwables.get(1) == boom, "throwable passed through");
+
+        clock.advanceMillis(1000L);
+        log.warnLimited("advance", boom, "Error in advance");
+        check(sink.lines.get(2).equals("WARN Error in advance"), "count reset after it was reported");
+    }
+
+    /**
+     * A format/argument mismatch writes the raw format instead of throwing
+     */
+    public static void testBadFormatDoesNotThrow() {
+        CaptureSink sink = new CaptureSink();
+        RamscoopLog log = new RamscoopLog(sink, 1000L, new ManualClock());
+        log.info("fuel %d", "not a number");
+        check(sink.lines.get(0).equals("INFO fuel %d"), "raw format written");
+        log.info("rate %.2f", 0.5f);
+        check(sink.lines.get(1).equals("INFO rate 0.50"), "locale-independent formatting");
+    }
+
+    private static final class CaptureSink implements RamscoopLog.Sink {
+        boolean infoEnabled = true;
+        final List<String> lines = new ArrayList<String>();
+        final List<Throwable> throwables = new ArrayList<Throwable>();
+
+        public boolean isEnabled(RamscoopLog.Level level) {
+            return level != RamscoopLog.Level.DEBUG && (infoEnabled || level != RamscoopLog.Level.INFO);
+        }
+
+        public void write(RamscoopLog.Level level, String message, Throwable t) {
+            lines.add(level + " " + message);
+            throwables.add(t);
+        }
+    }
+
+    private static final class ManualClock implements LongSupplier {
+        long nanos = 1000000000L;
+
+        void advanceMillis(long millis) {
+            nanos += millis * 1000000L;
+        }
+
+        public long getAsLong() {
+            return nanos;
+        }
+    }
+
+    private static final class CountingArg {
+        int formatted;
+
+        @Override
+        public String toString() {
+            formatted++;
+            return "x";
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
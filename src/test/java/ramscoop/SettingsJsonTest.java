@@ -0,0 +1,101 @@
+package ramscoop;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test for the validated settings.json document: well-typed values are kept,
+ * malformed ones are dropped and reported, fallbacks apply to anything missing,
+ * and an unreadable file yields an empty document. No Starsector API
+ * dependencies.
+ * Run with: java ramscoop.SettingsJsonTest
+ */
+public class SettingsJsonTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running SettingsJsonTest...");
+
+        try {
+            testWellTypedValuesKept();
+            testMalformedValuesDropped();
+            testMissingFile();
+            testKnownKeysOnly();
+            System.out.println("✅ All SettingsJsonTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Values of the expected type come back as read, numbers as floats or ints
+     */
+    public static void testWellTypedValuesKept() {
+        Map<String, Object> raw = new HashMap<String, Object>();
+        raw.put("enable_fuel", Boolean.FALSE);
+        raw.put("enable_supplies", "true");
+        raw.put("nebula_fuel_per_day", Double.valueOf(0.04));
+        raw.put("hard_supply_limit", Integer.valueOf(250));
+        raw.put("npc_fleets_per_frame", Double.valueOf(12.0));
+        raw.put("crew_usage", " all ");
+        SettingsJson json = new SettingsJson(raw);
+        check(json.isLoaded(), "loaded");
+        check(!json.getBoolean("enable_fuel", true), "boolean kept");
+        check(json.getBoolean("enable_supplies", false), "boolean written as a string");
+        check(json.getFloat("nebula_fuel_per_day", 0f) == 0.04f, "number as float");
+        check(json.getFloat("hard_supply_limit", 0f) == 250f, "integer number as float");
+        check(json.getInt("npc_fleets_per_frame", 0) == 12, "whole number as int");
+        check("all".equals(json.getString("crew_usage", null)), "string trimmed");
+        check(json.problems().isEmpty(), "no problems");
+    }
+
+    /**
+     * Wrong types are dropped (the fallback applies) and reported
+     */
+    public static void testMalformedValuesDropped() {
+        Map<String, Object> raw = new HashMap<String, Object>();
+        raw.put("enable_fuel", "yes");
+        raw.put("fuel_per_day", "fast");
+        raw.put("npc_fleets_per_frame", Double.valueOf(2.5));
+        raw.put("no_crew_gen", Integer.valueOf(3));
+        raw.put("corona_fuel_per_day", Double.valueOf(Double.NaN));
+        SettingsJson json = new SettingsJson(raw);
+        check(json.getBoolean("enable_fuel", true), "bad boolean falls back");
+        check(!json.has("fuel_per_day"), "bad number dropped");
+        check(json.getInt("npc_fleets_per_frame", 10) == 10, "fraction is not an int");
+        check("percent".equals(json.getString("no_crew_gen", "percent")), "non-string dropped");
+        check(json.getFloat("corona_fuel_per_day", 0.25f) == 0.25f, "NaN dropped");
+        check(json.problems().size() == 5, "each bad key reported");
+    }
+
+    /**
+     * A file that could not be read has no values and says so
+     */
+    public static void testMissingFile() {
+        check(!SettingsJson.MISSING.isLoaded(), "not loaded");
+        check(SettingsJson.MISSING.getFloat("fuel_per_day", 0.04f) == 0.04f, "fallback");
+        check(new SettingsJson(new HashMap<String, Object>()).isLoaded(), "empty file still loaded");
+    }
+
+    /**
+     * Unknown keys are ignored; the key and type tables line up
+     */
+    public static void testKnownKeysOnly() {
+        Map<String, Object> raw = new HashMap<String, Object>();
+        raw.put("not_a_setting", Boolean.TRUE);
+        SettingsJson json = new SettingsJson(raw);
+        check(!json.has("not_a_setting") && json.problems().isEmpty(), "unknown key ignored");
+        for (String key : SettingsJson.KEYS) {
+            Map<String, Object> one = new HashMap<String, Object>();
+            one.put(key, Boolean.TRUE);
+            SettingsJson j = new SettingsJson(one);
+            check(j.has(key) || j.problems().size() == 1, "every known key validated: " + key);
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ramscoop;
+
+/**
+ * Test for the tick instrumentation: histogram bucketing, percentiles,
+ * counters, and that a disabled instance records nothing. No Starsector API
+ * dependencies.
+ * Run with: java ramscoop.TickMetricsTest
+ */
+public class TickMetricsTest {
+
+    public static void main(String[] args) {
+        System.out.println("Running TickMetricsTest...");
+
+        try {
+            testBucketBoundaries();
+            testPercentilesAndTotals();
+            testDisabledRecordsNothing();
+            testCountersAndReset();
+            System.out.println("✅ All TickMetricsTest tests passed!");
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Every duration lands in the bucket whose upper bound is the next power of two
+     */
+    public static void testBucketBoundaries() {
+        check(TickMetrics.bucketOf(0L) == 0, "0 ns in bucket 0");
+        check(TickMetrics.bucketOf(127L) == 0, "127 ns in bucket 0");
+        check(TickMetrics.bucketOf(128L) == 1, "128 ns in bucket 1");
+        check(TickMetrics.bucketOf(255L) == 1, "255 ns in bucket 1");
+        check(TickMetrics.bucketOf(256L) == 2, "256 ns in bucket 2");
+        check(TickMetrics.bucketOf(Long.MAX_VALUE) == TickMetrics.BUCKETS - 1, "huge values in the last bucket");
+        for (int b = 0; b < TickMetrics.BUCKETS - 1; b++) {
+            long upper = TickMetrics.bucketUpperNanos(b);
+            check(TickMetrics.bucketOf(upper - 1) == b, "just below the bound of bucket " + b);
+            check(TickMetrics.bucketOf(upper) == b + 1, "the bound of bucket " + b + " starts the next");
+        }
+    }
+
+    /**
+     * 90 fast and 10 slow samples: p50 is the fast bucket, p99 the slow one
+     */
+    public static void testPercentilesAndTotals() {
+        TickMetrics m = new TickMetrics();
+        m.setEnabled(true);
+        for (int i = 0; i < 90; i++) {
+            m.record(TickMetrics.Phase.CORONA_SCAN, 300L);
+        }
+        for (int i = 0; i < 10; i++) {
+            m.record(TickMetrics.Phase.CORONA_SCAN, 5000L);
+        }
+        check(m.getSamples(TickMetrics.Phase.CORONA_SCAN) == 100, "sample count");
+        check(m.getTotalNanos(TickMetrics.Phase.CORONA_SCAN) == 90 * 300L + 10 * 5000L, "total time");
+        check(m.getMaxNanos(TickMetrics.Phase.CORONA_SCAN) == 5000L, "max");
+        check(m.percentileNanos(TickMetrics.Phase.CORONA_SCAN, 0.5) == 512L, "p50 is the 256-512 ns bucket bound");
+        check(m.percentileNanos(TickMetrics.Phase.CORONA_SCAN, 0.99) == 5000L, "p99 is capped at the max");
+        check(m.percentileNanos(TickMetrics.Phase.GENERATION, 0.5) == 0L, "empty phase");
+        check(m.getBucketCount(TickMetrics.Phase.CORONA_SCAN, TickMetrics.bucketOf(300L)) == 90, "bucket count");
+        check(m.summary().contains("corona scan"), "summary lists the phases");
+    }
+
+    /**
+     * Disabled: start() returns 0, stop() and the counters do nothing
+     */
+    public static void testDisabledRecordsNothing() {
+        TickMetrics m = new TickMetrics();
+        long start = m.start();
+        check(start == 0L, "disabled start is 0");
+        m.stop(TickMetrics.Phase.GENERATION, start);
+        check(m.elapsed(start) == 0L, "disabled elapsed is 0");
+        m.frame(true);
+        m.frame(false);
+        m.suspendedTick();
+        m.catchUpTick();
+        m.cargoMutation();
+        check(m.getSamples(TickMetrics.Phase.GENERATION) == 0L, "no sample while disabled");
+        check(m.getFrames() == 0L && m.getCargoMutations() == 0L && m.getSuspendedTicks() == 0L
+                && m.getCatchUpTicks() == 0L,
+                "no counts while disabled");
+    }
+
+    /**
+     * Frames split into ticks and skipped frames; reset clears but keeps enabled
+     */
+    public static void testCountersAndReset() {
+        TickMetrics m = new TickMetrics();
+        m.setEnabled(true);
+        m.frame(true);
+        m.frame(false);
+        m.frame(false);
+        m.suspendedTick();
+        m.catchUpTick();
+        m.cargoMutation();
+        m.cargoMutation();
+        m.stop(TickMetrics.Phase.GENERATION, m.start());
+        check(m.getFrames() == 3 && m.getTicks() == 1 && m.getSkippedFrames() == 2, "frame counters");
+        check(m.getSuspendedTicks() == 1 && m.getCatchUpTicks() == 1 && m.getCargoMutations() == 2,
+                "event counters");
+        check(m.getSamples(TickMetrics.Phase.GENERATION) == 1, "timed phase");
+        m.reset();
+        check(m.getFrames() == 0 && m.getCargoMutations() == 0 && m.getCatchUpTicks() == 0,
+                "reset clears counters");
+        check(m.getSamples(TickMetrics.Phase.GENERATION) == 0, "reset clears histograms");
+        check(m.isEnabled(), "reset keeps the enabled flag");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new RuntimeException("Check failed: " + what);
+        }
+    }
+}